@@ -0,0 +1,62 @@
+package com.example.capstone.Benchmarks;
+
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+
+import java.time.LocalDate;
+
+/**
+ * Builds the entity graphs the benchmarks price and serialize
+ */
+final class BenchmarkData {
+    private BenchmarkData(){}
+
+    static User user() {
+        User user = new User();
+        user.setId(1);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        return user;
+    }
+
+    static Driver driver(User user) {
+        Driver driver = new Driver();
+        driver.setId(2);
+        driver.setAge(40);
+        driver.setAddress("1 Main Street");
+        driver.setNumberAccidents(2);
+        driver.setUser(user);
+        return driver;
+    }
+
+    static Vehicle vehicle(User user) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(3);
+        vehicle.setYear(LocalDate.now().getYear() - 7);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        return vehicle;
+    }
+
+    static HomeOwner homeOwner(User user) {
+        HomeOwner homeOwner = new HomeOwner();
+        homeOwner.setId(4);
+        homeOwner.setAge(45);
+        homeOwner.setAddress("1 Main Street");
+        homeOwner.setUser(user);
+        return homeOwner;
+    }
+
+    static Home home(User user) {
+        Home home = new Home();
+        home.setId(5);
+        home.setDateBuilt(LocalDate.now().minusYears(30));
+        home.setValue(400000);
+        home.setDwellingType(DwellingType.SINGLE);
+        home.setHeatingType(HeatingType.WOOD);
+        home.setLocation(Location.RURAL);
+        home.setUser(user);
+        return home;
+    }
+}
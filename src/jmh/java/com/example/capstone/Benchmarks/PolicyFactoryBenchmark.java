@@ -0,0 +1,61 @@
+package com.example.capstone.Benchmarks;
+
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating policies from quotes and renewing policies that are due for renewal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyFactoryBenchmark {
+    private AutoQuote autoQuote;
+    private HomeQuote homeQuote;
+    private AutoPolicy autoPolicy;
+    private HomePolicy homePolicy;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.user();
+        autoQuote = AutoQuoteFactory.createAutoQuote(BenchmarkData.vehicle(user), BenchmarkData.driver(user));
+        homeQuote = HomeQuoteFactory.createHomeQuote(BenchmarkData.home(user), BenchmarkData.homeOwner(user));
+        autoPolicy = AutoPolicyFactory.createAutoPolicy(autoQuote);
+        homePolicy = HomePolicyFactory.createHomePolicy(homeQuote);
+        // move the rating date to 30 days before the policies end, so renewal creates a new policy
+        RatingClock.setInstance(new RatingClock(Clock.offset(Clock.systemDefaultZone(), Duration.ofDays(335))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RatingClock.setInstance(new RatingClock(Clock.systemDefaultZone()));
+    }
+
+    @Benchmark
+    public AutoPolicy createAutoPolicy() {
+        return AutoPolicyFactory.createAutoPolicy(autoQuote);
+    }
+
+    @Benchmark
+    public HomePolicy createHomePolicy() {
+        return HomePolicyFactory.createHomePolicy(homeQuote);
+    }
+
+    @Benchmark
+    public AutoPolicy renewAutoPolicy() {
+        return AutoPolicyFactory.renewAutoPolicy(autoPolicy);
+    }
+
+    @Benchmark
+    public HomePolicy renewHomePolicy() {
+        return HomePolicyFactory.renewHomePolicy(homePolicy);
+    }
+}
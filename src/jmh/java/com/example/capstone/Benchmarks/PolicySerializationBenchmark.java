@@ -0,0 +1,47 @@
+package com.example.capstone.Benchmarks;
+
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of auto and home policy graphs, as the policy endpoints write them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicySerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private AutoPolicy autoPolicy;
+    private HomePolicy homePolicy;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        User user = BenchmarkData.user();
+        autoPolicy = AutoPolicyFactory.createAutoPolicy(
+                AutoQuoteFactory.createAutoQuote(BenchmarkData.vehicle(user), BenchmarkData.driver(user)));
+        autoPolicy.setUser(user);
+        homePolicy = HomePolicyFactory.createHomePolicy(
+                HomeQuoteFactory.createHomeQuote(BenchmarkData.home(user), BenchmarkData.homeOwner(user)));
+        homePolicy.setUser(user);
+    }
+
+    @Benchmark
+    public byte[] serializeAutoPolicy() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(autoPolicy);
+    }
+
+    @Benchmark
+    public byte[] serializeHomePolicy() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(homePolicy);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.capstone.Benchmarks;
+
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures pricing a single auto and home quote
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteFactoryBenchmark {
+    private Driver driver;
+    private Vehicle vehicle;
+    private HomeOwner homeOwner;
+    private Home home;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.user();
+        driver = BenchmarkData.driver(user);
+        vehicle = BenchmarkData.vehicle(user);
+        homeOwner = BenchmarkData.homeOwner(user);
+        home = BenchmarkData.home(user);
+    }
+
+    @Benchmark
+    public AutoQuote createAutoQuote() {
+        return AutoQuoteFactory.createAutoQuote(vehicle, driver);
+    }
+
+    @Benchmark
+    public HomeQuote createHomeQuote() {
+        return HomeQuoteFactory.createHomeQuote(home, homeOwner);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.capstone.Config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Creates the second-level cache regions of the reference entities. Each region holds at most
+ * capstone.cache.&lt;region&gt;.entries entries for capstone.cache.&lt;region&gt;.ttl, falling back to
+ * capstone.cache.default.entries and capstone.cache.default.ttl
+ */
+@Configuration
+public class CacheConfig {
+    /**
+     * Second-level cache regions of the cached entities
+     */
+    public static final List<String> ENTITY_REGIONS = List.of("user", "auto", "home", "driver", "homeowner");
+
+    @Value("${capstone.cache.default.entries:10000}")
+    private long defaultEntries;
+    @Value("${capstone.cache.default.ttl:10m}")
+    private Duration defaultTtl;
+
+    /**
+     * Creates the cache manager with every entity region and the query cache regions. Each application
+     * context gets a cache manager of its own rather than the JVM-wide default one, so a second context in
+     * the same JVM, such as a test context or a devtools restart, neither clashes with the regions of the
+     * first nor closes them
+     * @param environment The environment holding the region settings
+     * @return The cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // Ehcache keys its cache managers by URI and class loader, the URI names a configuration file
+        ClassLoader contextLoader = new ClassLoader(provider.getDefaultClassLoader()) {
+        };
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), contextLoader);
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, region, environment);
+        }
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, environment);
+        // Timestamps decide whether cached query results are stale, so they must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(Long.MAX_VALUE))
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration())));
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate instead of letting it create its own
+     * @param hibernateCacheManager The cache manager
+     * @return The customizer adding the cache manager to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, Environment environment) {
+        long entries = environment.getProperty("capstone.cache." + region + ".entries", Long.class, defaultEntries);
+        Duration ttl = environment.getProperty("capstone.cache." + region + ".ttl", Duration.class, defaultTtl);
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.capstone.Config;
+
+import com.example.capstone.POJOS.RatingClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Brings a database created by earlier versions up to the current mapping before Hibernate's ddl-auto=update
+ * sees it. ddl-auto only adds missing columns, it neither moves data between columns, fills the columns it adds
+ * nor drops the columns an entity no longer maps, so those steps are done here. Every step checks the columns
+ * first, so the migration does nothing on a new or already migrated database and picks up where it stopped if it
+ * was interrupted
+ */
+@Component
+public class LegacySchemaMigration implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(LegacySchemaMigration.class);
+
+    /**
+     * The money columns of each table, once doubles in dollars, now longs in cents in a column named with a
+     * _cents suffix
+     */
+    static final Map<String, List<String>> MONEY_COLUMNS = Map.of(
+            "autoquote", List.of("liability_limit", "deductible", "base_premium", "total_premium"),
+            "autopolicy", List.of("liability_limit", "deductible", "base_premium", "total_premium"),
+            "homequote", List.of("liability_limit", "deductible", "contents_insurance_limit",
+                    "contents_deductible", "base_premium", "total_premium"),
+            "homepolicy", List.of("liability_limit", "deductible", "contents_insurance_limit",
+                    "contents_deductible", "base_premium", "total_premium"));
+
+    /**
+     * The tables holding quotes, which have stored their start and end dates since they were given a validity
+     */
+    static final List<String> QUOTE_TABLES = List.of("autoquote", "homequote");
+
+    /**
+     * The tables holding policies, which have stored their terms since policies were renewed
+     */
+    static final List<String> POLICY_TABLES = List.of("autopolicy", "homepolicy");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        migrate();
+    }
+
+    /**
+     * Runs every step that the database still needs
+     * @throws SQLException if a step fails, the application then does not start
+     */
+    public void migrate() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (Map.Entry<String, List<String>> table : MONEY_COLUMNS.entrySet()) {
+                migrateMoney(connection, table.getKey(), table.getValue());
+            }
+            RatingClock clock = RatingClock.getInstance();
+            for (String table : QUOTE_TABLES) {
+                migrateDates(connection, table, clock.today(), clock.quoteEndDate());
+            }
+            for (String table : POLICY_TABLES) {
+                migrateDates(connection, table, clock.today(), clock.policyEndDate());
+            }
+        }
+    }
+
+    /**
+     * Moves the dollar amounts of a table into its cents columns and drops the dollar columns, which are not
+     * null without a default and would fail every insert of the current mapping
+     */
+    private void migrateMoney(Connection connection, String table, List<String> dollarColumns) throws SQLException {
+        Map<String, Boolean> columns = columns(connection, table);
+        for (String dollars : dollarColumns) {
+            if (!columns.containsKey(dollars)) {
+                continue;
+            }
+            String cents = dollars + "_cents";
+            if (!columns.containsKey(cents)) {
+                execute(connection, "alter table " + table + " add column " + cents + " bigint");
+            }
+            int rows = execute(connection, "update " + table + " set " + cents + " = round(" + dollars + " * 100)");
+            execute(connection, "alter table " + table + " modify column " + cents + " bigint not null");
+            execute(connection, "alter table " + table + " drop column " + dollars);
+            log.info("Moved {} {}.{} amounts to {} in cents", rows, table, dollars, cents);
+        }
+    }
+
+    /**
+     * Adds the start and end date columns to a table saved without them, dates its rows and only then makes the
+     * columns not null. ddl-auto would add them not null at once, which fails on a table that has rows. Until the
+     * dates were stored they were computed on every read as a term starting that day, so the rows are dated with
+     * the term starting on the day of the migration, and the quote reaper and the renewal job pick them up like
+     * any other
+     */
+    private void migrateDates(Connection connection, String table, LocalDate startDate, LocalDate endDate)
+            throws SQLException {
+        Map<String, Boolean> columns = columns(connection, table);
+        if (columns.isEmpty() || Boolean.FALSE.equals(columns.get("start_date"))
+                && Boolean.FALSE.equals(columns.get("end_date"))) {
+            return;
+        }
+        for (String column : List.of("start_date", "end_date")) {
+            if (!columns.containsKey(column)) {
+                execute(connection, "alter table " + table + " add column " + column + " date");
+            }
+        }
+        String version = columns.containsKey("version") ? ", version = version + 1" : "";
+        int rows;
+        try (PreparedStatement statement = connection.prepareStatement("update " + table
+                + " set start_date = ?, end_date = ?" + version + " where start_date is null or end_date is null")) {
+            statement.setDate(1, Date.valueOf(startDate));
+            statement.setDate(2, Date.valueOf(endDate));
+            rows = statement.executeUpdate();
+        }
+        execute(connection, "alter table " + table + " modify column start_date date not null");
+        execute(connection, "alter table " + table + " modify column end_date date not null");
+        log.info("Dated {} {} rows saved without dates from {} to {}", rows, table, startDate, endDate);
+    }
+
+    /**
+     * Gets the columns of a table
+     * @return Whether each column is nullable by its lower case name, empty if the table does not exist yet
+     */
+    private static Map<String, Boolean> columns(Connection connection, String table) throws SQLException {
+        Map<String, Boolean> columns = new HashMap<>();
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(),
+                table, null)) {
+            while (rs.next()) {
+                columns.put(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT),
+                        rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls);
+            }
+        }
+        return columns;
+    }
+
+    private static int execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Makes the entity manager factory wait for the migration, so ddl-auto=update runs on the migrated schema
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnMigration() {
+            super(LegacySchemaMigration.class);
+        }
+    }
+}
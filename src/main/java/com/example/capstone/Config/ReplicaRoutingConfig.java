@@ -0,0 +1,88 @@
+package com.example.capstone.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to the replicas named by capstone.datasource.replica-urls[0],
+ * capstone.datasource.replica-urls[1], ... and writes to spring.datasource.url. The urls are indexed
+ * rather than comma separated because multi-host JDBC urls contain commas. Only active when at least
+ * one replica is configured
+ */
+@Configuration
+@ConditionalOnProperty(name = "capstone.datasource.replica-urls[0]")
+public class ReplicaRoutingConfig {
+    @Value("${capstone.datasource.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+    @Value("${capstone.datasource.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+    @Value("${capstone.datasource.read-your-writes:true}")
+    private boolean readYourWrites;
+
+    /**
+     * Creates the routing data source used by JPA
+     * @param properties The primary data source settings
+     * @param environment The environment holding the replica urls
+     * @return The primary and replicas behind a routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment) {
+        List<String> replicaUrls = Binder.get(environment)
+                .bind("capstone.datasource.replica-urls", Bindable.listOf(String.class)).get();
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName()).url(url.trim())
+                    .username(replicaUsername).password(replicaPassword).build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, readYourWrites);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Tracks the writes of each request, so reads after a write can go to the primary
+     * @return The filter marking the request boundaries
+     */
+    @Bean
+    public OncePerRequestFilter readYourWritesFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                ReplicaRoutingDataSource.beginRequest();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReplicaRoutingDataSource.endRequest();
+                }
+            }
+        };
+    }
+}
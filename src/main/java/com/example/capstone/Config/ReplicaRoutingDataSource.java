@@ -0,0 +1,83 @@
+package com.example.capstone.Config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas, round robin, and everything else to the primary.
+ * Once a request has written, its later reads also go to the primary so it reads its own writes.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is chosen after the
+ * transaction's read-only flag is set
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<boolean[]> REQUEST_WROTE = new ThreadLocal<>();
+
+    private final int replicas;
+    private final boolean readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * A constructor to route between a primary and its replicas
+     * @param primary The primary data source, used for writes
+     * @param replicas The replica data sources, used for read-only transactions
+     * @param readYourWrites Whether reads after a write in the same request go to the primary
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, boolean readYourWrites) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicas = replicas.size();
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * Starts tracking writes for the current request
+     */
+    public static void beginRequest() {
+        REQUEST_WROTE.set(new boolean[1]);
+    }
+
+    /**
+     * Stops tracking writes for the current request
+     */
+    public static void endRequest() {
+        REQUEST_WROTE.remove();
+    }
+
+    /**
+     * Records that the current request has written, for writes committed on another thread
+     * on its behalf
+     */
+    public static void markRequestWrote() {
+        boolean[] requestWrote = REQUEST_WROTE.get();
+        if (requestWrote != null) {
+            requestWrote[0] = true;
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean[] requestWrote = REQUEST_WROTE.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (requestWrote != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                requestWrote[0] = true;
+            }
+            return PRIMARY;
+        }
+        if (readYourWrites && requestWrote != null && requestWrote[0]) {
+            return PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas);
+    }
+}
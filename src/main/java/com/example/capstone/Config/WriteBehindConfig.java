@@ -0,0 +1,65 @@
+package com.example.capstone.Config;
+
+import com.example.capstone.POJOS.AutoQuote;
+import com.example.capstone.POJOS.HomeQuote;
+import com.example.capstone.Service.WriteBehindQuoteBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Creates the write-behind buffers of new quotes when capstone.quotes.write-behind.enabled is true. Without
+ * them new quotes are inserted before their id is returned
+ */
+@Configuration
+@ConditionalOnProperty(name = "capstone.quotes.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${capstone.quotes.write-behind.capacity:10000}")
+    private int capacity;
+    @Value("${capstone.quotes.write-behind.flush-interval:50ms}")
+    private Duration flushInterval;
+    @Value("${capstone.quotes.write-behind.max-batch:50}")
+    private int maxBatch;
+    @Value("${capstone.quotes.write-behind.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${capstone.quotes.write-behind.retry-backoff:100ms}")
+    private Duration retryBackoff;
+    @Value("${capstone.quotes.write-behind.dead-letter-dir:dead-letters}")
+    private Path deadLetterDirectory;
+
+    /**
+     * Creates the write-behind buffer of new auto quotes
+     * @param transactionManager The JPA transaction manager
+     * @param objectMapper Writes dead-lettered quotes
+     * @return The auto quote buffer
+     */
+    @Bean(destroyMethod = "close")
+    public WriteBehindQuoteBuffer<AutoQuote> autoQuoteBuffer(PlatformTransactionManager transactionManager,
+                                                          ObjectMapper objectMapper) {
+        return new WriteBehindQuoteBuffer<>("autoquote-flusher", AutoQuote.class, entityManager, transactionManager,
+                capacity, flushInterval, maxBatch, maxAttempts, retryBackoff, objectMapper, deadLetterDirectory);
+    }
+
+    /**
+     * Creates the write-behind buffer of new home quotes
+     * @param transactionManager The JPA transaction manager
+     * @param objectMapper Writes dead-lettered quotes
+     * @return The home quote buffer
+     */
+    @Bean(destroyMethod = "close")
+    public WriteBehindQuoteBuffer<HomeQuote> homeQuoteBuffer(PlatformTransactionManager transactionManager,
+                                                          ObjectMapper objectMapper) {
+        return new WriteBehindQuoteBuffer<>("homequote-flusher", HomeQuote.class, entityManager, transactionManager,
+                capacity, flushInterval, maxBatch, maxAttempts, retryBackoff, objectMapper, deadLetterDirectory);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.capstone.Config;
+
+import com.example.capstone.DataAccess.AutoPolicyRepository;
+import com.example.capstone.DataAccess.AutoQuoteRepository;
+import com.example.capstone.DataAccess.HomePolicyRepository;
+import com.example.capstone.DataAccess.HomeQuoteRepository;
+import com.example.capstone.POJOS.AutoPolicy;
+import com.example.capstone.POJOS.AutoQuote;
+import com.example.capstone.POJOS.HomePolicy;
+import com.example.capstone.POJOS.HomeQuote;
+import com.example.capstone.Service.WriteCombiner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Creates the write combiners of the quote and policy inserts. Inserts arriving within
+ * capstone.write-combiner.window of each other share a transaction, up to capstone.write-combiner.max-batch
+ * inserts, which should not exceed hibernate.jdbc.batch_size
+ */
+@Configuration
+public class WriteCombinerConfig {
+    @Value("${capstone.write-combiner.window:2ms}")
+    private Duration window;
+    @Value("${capstone.write-combiner.max-batch:50}")
+    private int maxBatch;
+
+    /**
+     * Creates the write combiner of new auto quotes
+     * @param repository The auto quote repository
+     * @param transactionManager The JPA transaction manager
+     * @return The auto quote write combiner
+     */
+    @Bean(destroyMethod = "close")
+    public WriteCombiner<AutoQuote> autoQuoteWriter(AutoQuoteRepository repository,
+                                                    PlatformTransactionManager transactionManager) {
+        return new WriteCombiner<>("autoquote-writer", repository, transactionManager,
+                autoQuote -> autoQuote.setId(null), window, maxBatch);
+    }
+
+    /**
+     * Creates the write combiner of new home quotes
+     * @param repository The home quote repository
+     * @param transactionManager The JPA transaction manager
+     * @return The home quote write combiner
+     */
+    @Bean(destroyMethod = "close")
+    public WriteCombiner<HomeQuote> homeQuoteWriter(HomeQuoteRepository repository,
+                                                    PlatformTransactionManager transactionManager) {
+        return new WriteCombiner<>("homequote-writer", repository, transactionManager,
+                homeQuote -> homeQuote.setId(null), window, maxBatch);
+    }
+
+    /**
+     * Creates the write combiner of new auto policies
+     * @param repository The auto policy repository
+     * @param transactionManager The JPA transaction manager
+     * @return The auto policy write combiner
+     */
+    @Bean(destroyMethod = "close")
+    public WriteCombiner<AutoPolicy> autoPolicyWriter(AutoPolicyRepository repository,
+                                                      PlatformTransactionManager transactionManager) {
+        return new WriteCombiner<>("autopolicy-writer", repository, transactionManager,
+                autoPolicy -> autoPolicy.setId(null), window, maxBatch);
+    }
+
+    /**
+     * Creates the write combiner of new home policies
+     * @param repository The home policy repository
+     * @param transactionManager The JPA transaction manager
+     * @return The home policy write combiner
+     */
+    @Bean(destroyMethod = "close")
+    public WriteCombiner<HomePolicy> homePolicyWriter(HomePolicyRepository repository,
+                                                      PlatformTransactionManager transactionManager) {
+        return new WriteCombiner<>("homepolicy-writer", repository, transactionManager,
+                homePolicy -> homePolicy.setId(null), window, maxBatch);
+    }
+}
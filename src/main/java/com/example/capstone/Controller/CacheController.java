@@ -0,0 +1,44 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.DTO.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Controller
+@RequestMapping(path = RESTNamebook.VERSION_1)
+public class CacheController {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Get Mapping for second-level cache statistics
+     *
+     * @return hit and miss counts of every cache region
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.CACHE)
+    public @ResponseBody List<CacheRegionStats> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            long entries = regionStatistics.getElementCountInMemory();
+            regions.add(new CacheRegionStats(region, hits, misses, regionStatistics.getPutCount(),
+                    entries < 0 ? -1 : entries, hits + misses == 0 ? 0 : (double) hits / (hits + misses)));
+        }
+        return regions;
+    }
+}
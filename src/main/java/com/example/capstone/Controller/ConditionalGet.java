@@ -0,0 +1,136 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.DTO.RowVersion;
+import com.example.capstone.POJOS.RatingClock;
+import com.example.capstone.POJOS.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for the read endpoints. A response carries a strong ETag made of the ids and versions of
+ * the rows it is built from, and a request whose If-None-Match holds the current ETag is answered with
+ * 304 Not Modified before its body is read or serialized
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Builds the ETag of a response made of an entity
+     * @param kind Names the representation, so a live and an archived row never share an ETag
+     * @param id The id of the entity in the response
+     * @param entities The entities the response is built from, the entity itself if it is versioned and then
+     *                 the ones nested in it
+     * @return The quoted ETag
+     */
+    static String eTag(String kind, Integer id, Versioned... entities) {
+        StringBuilder eTag = new StringBuilder("\"").append(kind).append('-').append(id);
+        for (Versioned entity : entities) {
+            if (entity != null) {
+                eTag.append('.').append(entity.getId()).append(':').append(entity.getVersion());
+            } else {
+                eTag.append(".-");
+            }
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * Builds the ETag of a page of a collection, a digest of the id and version of every row in the page, in
+     * order. Any insert, update or delete of a row of the page changes the ETag
+     * @param kind Names the collection
+     * @param rows The ids and versions of the rows of the page, as read by the page query
+     * @return The quoted ETag
+     */
+    static String eTag(String kind, List<RowVersion> rows) {
+        MessageDigest digest = sha256();
+        digest.update(kind.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer row = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+        for (RowVersion version : rows) {
+            digest.update(row.clear().putInt(version.id()).putLong(version.version()).flip());
+        }
+        return "\"" + kind + "-" + rows.size() + "-"
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+    }
+
+    /**
+     * Gets the cache control of a response that may change at any time, caches must check its ETag first
+     * @return private, no-cache
+     */
+    static CacheControl revalidate() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    /**
+     * Gets the cache control of a quote, which may be cached until it expires at the end of its end date
+     * @param endDate The end date of the quote
+     * @param maxAge The longest it may be cached, so a cancellation shows up in time
+     * @return private with a max-age, or no-cache if the quote has expired
+     */
+    static CacheControl until(LocalDate endDate, Duration maxAge) {
+        Duration untilExpiry = endDate == null ? Duration.ZERO : RatingClock.getInstance().untilEndOf(endDate);
+        if (untilExpiry.isNegative() || untilExpiry.isZero()) {
+            return revalidate();
+        }
+        return CacheControl.maxAge(untilExpiry.compareTo(maxAge) < 0 ? untilExpiry : maxAge).cachePrivate();
+    }
+
+    /**
+     * Answers a conditional GET
+     * @param ifNoneMatch The If-None-Match header of the request, or null
+     * @param eTag The current ETag of the response
+     * @param cacheControl The cache control of the response
+     * @param body Reads the body, only called if the ETag does not match
+     * @param <T> body type
+     * @return 304 without a body if the request holds the current ETag, else 200 with the body
+     */
+    static <T> ResponseEntity<T> respond(String ifNoneMatch, String eTag, CacheControl cacheControl, Supplier<T> body) {
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(body.get());
+    }
+
+    /**
+     * Checks an If-None-Match header, with the weak comparison RFC 9110 asks for
+     * @param ifNoneMatch The header, a comma separated list of ETags or *, or null
+     * @param eTag The current ETag
+     * @return true if the header holds the ETag
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform implements SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.Service.ColumnarPolicyExporter;
+import com.example.capstone.Service.PolicyExporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+
+@Controller
+@RequestMapping(path = RESTNamebook.VERSION_1)
+public class ExportController {
+    @Autowired
+    private PolicyExporter policyExporter;
+    @Autowired
+    private ColumnarPolicyExporter columnarPolicyExporter;
+
+    /**
+     * Get Mapping for AutoPolicy export - stream all auto policies, one JSON object per line
+     *
+     * @return all auto policies ordered by id, written as they are read
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.USERS + RESTNamebook.AUTOPOLICIES + RESTNamebook.EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAutoPolicies() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(policyExporter::exportAutoPolicies);
+    }
+
+    /**
+     * Get Mapping for HomePolicy export - stream all home policies, one JSON object per line
+     *
+     * @return all home policies ordered by id, written as they are read
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.USERS + RESTNamebook.HOMEPOLICIES + RESTNamebook.EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHomePolicies() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(policyExporter::exportHomePolicies);
+    }
+
+    /**
+     * Get Mapping for AutoPolicy columnar export - stream all auto policies with their driver and vehicle
+     * rating attributes in the columnar binary format
+     *
+     * @return all auto policies ordered by id, written in row groups as they are read
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.USERS + RESTNamebook.AUTOPOLICIES + RESTNamebook.EXPORT + RESTNamebook.COLUMNAR,
+            produces = ColumnarPolicyExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportAutoPoliciesColumnar() {
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(ColumnarPolicyExporter.MEDIA_TYPE))
+                .body(out -> columnarPolicyExporter.exportAutoPolicies(Channels.newChannel(out)));
+    }
+
+    /**
+     * Get Mapping for HomePolicy columnar export - stream all home policies with their home rating
+     * attributes in the columnar binary format
+     *
+     * @return all home policies ordered by id, written in row groups as they are read
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.USERS + RESTNamebook.HOMEPOLICIES + RESTNamebook.EXPORT + RESTNamebook.COLUMNAR,
+            produces = ColumnarPolicyExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportHomePoliciesColumnar() {
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(ColumnarPolicyExporter.MEDIA_TYPE))
+                .body(out -> columnarPolicyExporter.exportHomePolicies(Channels.newChannel(out)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.DTO.ImportReport;
+import com.example.capstone.Service.BulkImporter;
+import com.example.capstone.Service.ImportRowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@RequestMapping(path = RESTNamebook.VERSION_1)
+public class ImportController {
+    private static final String TEXT_CSV = "text/csv";
+
+    @Autowired
+    private BulkImporter bulkImporter;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Post Mapping for bulk import - import users, homes, autos, drivers or homeowners from a CSV file with a
+     * header row, or from newline-delimited JSON. The fields are named like the parameters of the matching
+     * POST endpoint, plus userId for everything but users. The body is read as it arrives
+     *
+     * @param kind users, homes, autos, drivers or homeowners
+     * @param contentType text/csv or application/x-ndjson
+     * @param body the file
+     * @return the number of rows imported, and the row number and reason of each row that was not
+     * @throws IOException if the body cannot be read
+     */
+    @CrossOrigin(origins = "*")
+    @PostMapping(path = RESTNamebook.IMPORT + "/{kind}", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public @ResponseBody ImportReport importRows(@PathVariable String kind,
+                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                 InputStream body) throws IOException {
+        if (!BulkImporter.isKind(kind)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import kind: " + kind);
+        }
+        try (ImportRowReader reader = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? ImportRowReader.ndjson(body, objectMapper) : ImportRowReader.csv(body)) {
+            return bulkImporter.importRows(kind, reader);
+        }
+    }
+}
@@ -1,20 +1,35 @@
 package com.example.capstone.Controller;
 
+import com.example.capstone.DTO.*;
 import com.example.capstone.DataAccess.*;
 import com.example.capstone.POJOS.*;
+import com.example.capstone.Service.Archiver;
+import com.example.capstone.Service.WriteBehindQuoteBuffer;
+import com.example.capstone.Service.WriteCombiner;
 import com.example.capstone.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.LinkedList;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 
 @Controller
 @RequestMapping(path = RESTNamebook.VERSION_1)
 public class MainController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
@@ -33,28 +48,63 @@ public class MainController {
     private AutoPolicyRepository autoPolicyRepository;
     @Autowired
     private HomePolicyRepository homePolicyRepository;
+    @Autowired
+    private ArchivedAutoQuoteRepository archivedAutoQuoteRepository;
+    @Autowired
+    private ArchivedHomeQuoteRepository archivedHomeQuoteRepository;
+    @Autowired
+    private ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+    @Autowired
+    private ArchivedHomePolicyRepository archivedHomePolicyRepository;
+    @Autowired
+    private Archiver archiver;
+    @Autowired
+    private WriteCombiner<AutoQuote> autoQuoteWriter;
+    @Autowired
+    private WriteCombiner<HomeQuote> homeQuoteWriter;
+    @Autowired
+    private WriteCombiner<AutoPolicy> autoPolicyWriter;
+    @Autowired
+    private WriteCombiner<HomePolicy> homePolicyWriter;
+    @Autowired(required = false)
+    private WriteBehindQuoteBuffer<AutoQuote> autoQuoteBuffer;
+    @Autowired(required = false)
+    private WriteBehindQuoteBuffer<HomeQuote> homeQuoteBuffer;
+    @Value("${capstone.http.quote-max-age:5m}")
+    private Duration quoteMaxAge;
 
     /**
      * Get Mapping for all Users - read all users
      *
-     * @return Iterable of all users
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of users ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS)
-    public @ResponseBody Iterable<User> getAllUsers() {
-        return userRepository.findAll();
+    public @ResponseBody CursorPage<User> getAllUsers(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(userRepository.findAfter(after_id, keyset(pageSize)), pageSize, User::getId);
     }
 
     /**
      * Get Mapping for User based on ID
      *
      * @param user_id user id
-     * @return user object
+     * @param if_none_match ETag of the user the client holds, if any
+     * @return user object, or 304 if the client's user is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}")
-    public @ResponseBody Optional<User> getUserWithId(@PathVariable Integer user_id) {
-        return userRepository.findById(user_id);
+    public ResponseEntity<Optional<User>> getUserWithId(@PathVariable Integer user_id,
+                                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        Optional<User> user = userRepository.findById(user_id);
+        if (user.isEmpty()) {
+            return ResponseEntity.ok(user);
+        }
+        return ConditionalGet.respond(if_none_match, ConditionalGet.eTag("user", user_id, user.get()), ConditionalGet.revalidate(),
+                () -> user);
     }
 
     /**
@@ -85,13 +135,8 @@ public class MainController {
     @CrossOrigin(origins = "*")
     @PutMapping(path = RESTNamebook.USERS + "/{user_id}")
     public @ResponseBody String updateUser(@PathVariable Integer user_id, @RequestParam String name, @RequestParam String email) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
-            user.setName(name);
-            user.setEmail(email);
-            userRepository.save(user);
-            return user.getName() + " has been updated.";
+        if (userRepository.updateById(user_id, name, email) == 1) {
+            return name + " has been updated.";
         } else {
             return "User not found.";
         }
@@ -107,10 +152,8 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}")
     public @ResponseBody String deleteUser(@PathVariable Integer user_id) {
         Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
-            userRepository.deleteById(user_id);
-            return user.getName() + " has been deleted from the database.";
+        if (optionalUser.isPresent() && userRepository.deleteUserById(user_id) == 1) {
+            return optionalUser.get().getName() + " has been deleted from the database.";
         } else {
             return "User not found.";
         }
@@ -119,28 +162,38 @@ public class MainController {
     /**
      * Get Mapping for Home - read all homes
      *
-     * @return all homes
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of homes ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.HOMES)
-    public @ResponseBody Iterable<Home> getAllHomes() {
-        return homeRepository.findAll();
+    public @ResponseBody CursorPage<HomeView> getAllHomes(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(homeRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, HomeView::id);
     }
 
     /**
      * Get Mapping for Home based on ID - read homes by user id
      *
      * @param user_id user id
-     * @return home object
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of homes of the user ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMES)
-    public @ResponseBody Iterable<Home> getAllHomesByUser(@PathVariable(name = "user_id") Integer user_id) {
+    public @ResponseBody CursorPage<HomeView> getAllHomesByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                @RequestParam(defaultValue = "100") int limit) {
         Optional<User> user = userRepository.findById(user_id);
-        Iterable<Home> homes = new LinkedList<>();
+        CursorPage<HomeView> homes = CursorPage.empty();
 
         if (user.isPresent()) {
-            homes = homeRepository.getAllByUserId(user.get().getId());
+            int pageSize = pageSize(limit);
+            homes = CursorPage.of(homeRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                    pageSize, HomeView::id);
         }
         return homes;
     }
@@ -202,22 +255,11 @@ public class MainController {
                                            @RequestParam("dwellingType") String dwellingType,
                                            @RequestParam("heatingType") String heatingType,
                                            @RequestParam("location") String location) {
-
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<Home> optionalHome = homeRepository.findById(home_id);
-            if (optionalHome.isPresent()) {
-                Home home = optionalHome.get();
-                home.setDateBuilt(dateBuilt);
-                home.setValue(value);
-                home.setDwellingType(DwellingType.valueOf(dwellingType));
-                home.setHeatingType(HeatingType.valueOf(heatingType));
-                home.setLocation(Location.valueOf(location));
-                homeRepository.save(home);
-                return "The home has been updated in the database.";
-            } else {
-                return "Home not found.";
-            }
+        if (homeRepository.updateByIdAndUserId(home_id, user_id, dateBuilt, value,
+                DwellingType.valueOf(dwellingType), HeatingType.valueOf(heatingType), Location.valueOf(location)) == 1) {
+            return "The home has been updated in the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Home not found.";
         } else {
             return "User not found.";
         }
@@ -233,15 +275,10 @@ public class MainController {
     @CrossOrigin(origins = "*")
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMES + "/{home_id}")
     public @ResponseBody String deleteHome(@PathVariable Integer user_id, @PathVariable Integer home_id) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<Home> optionalHome = homeRepository.findById(home_id);
-            if (optionalHome.isPresent()) {
-                homeRepository.deleteById(home_id);
-                return "The home has been deleted from the database.";
-            } else {
-                return "Home not found.";
-            }
+        if (homeRepository.deleteByIdAndUserId(home_id, user_id) == 1) {
+            return "The home has been deleted from the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Home not found.";
         } else {
             return "User not found.";
         }
@@ -250,28 +287,38 @@ public class MainController {
     /**
      * Get Mapping for Auto - read all autos
      *
-     * @return Iterable of all autos in database
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of autos ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.AUTOS)
-    public @ResponseBody Iterable<Vehicle> getAllAutos() {
-        return autoRepository.findAll();
+    public @ResponseBody CursorPage<AutoView> getAllAutos(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(autoRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, AutoView::id);
     }
 
     /**
      * Get Mapping for Auto based on ID - read autos by user id
      *
      * @param user_id user id
-     * @return Iterable of all autos by user
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of autos of the user ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.AUTOS)
-    public @ResponseBody Iterable<Vehicle> getAllAutosByUser(@PathVariable(name = "user_id") Integer user_id) {
+    public @ResponseBody CursorPage<AutoView> getAllAutosByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                @RequestParam(defaultValue = "100") int limit) {
         Optional<User> user = userRepository.findById(user_id);
-        Iterable<Vehicle> autos = new LinkedList<>();
+        CursorPage<AutoView> autos = CursorPage.empty();
 
         if (user.isPresent()) {
-            autos = autoRepository.getAllByUserId(user.get().getId());
+            int pageSize = pageSize(limit);
+            autos = CursorPage.of(autoRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                    pageSize, AutoView::id);
         }
         return autos;
     }
@@ -320,19 +367,10 @@ public class MainController {
                                            @RequestParam int year,
                                            @RequestParam String model,
                                            @RequestParam String make) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<Vehicle> optionalAuto = autoRepository.findById(auto_id);
-            if (optionalAuto.isPresent()) {
-                Vehicle vehicle = optionalAuto.get();
-                vehicle.setYear(year);
-                vehicle.setModel(model);
-                vehicle.setMake(make);
-                autoRepository.save(vehicle);
-                return "The auto has been updated in the database.";
-            } else {
-                return "Auto not found.";
-            }
+        if (autoRepository.updateByIdAndUserId(auto_id, user_id, year, model, make) == 1) {
+            return "The auto has been updated in the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Auto not found.";
         } else {
             return "User not found.";
         }
@@ -349,15 +387,10 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.AUTOS + "/{auto_id}")
     public @ResponseBody String deleteAuto(@PathVariable Integer user_id,
                                            @PathVariable Integer auto_id) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<Vehicle> optionalAuto = autoRepository.findById(auto_id);
-            if (optionalAuto.isPresent()) {
-                autoRepository.deleteById(auto_id);
-                return "The auto has been deleted from the database.";
-            } else {
-                return "Auto not found.";
-            }
+        if (autoRepository.deleteByIdAndUserId(auto_id, user_id) == 1) {
+            return "The auto has been deleted from the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Auto not found.";
         } else {
             return "User not found.";
         }
@@ -366,28 +399,38 @@ public class MainController {
     /**
      * Get all drivers - read all drivers
      *
-     * @return return all drivers
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of drivers ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.DRIVERS)
-    public @ResponseBody Iterable<Driver> getAllDrivers() {
-        return driverRepository.findAll();
+    public @ResponseBody CursorPage<DriverView> getAllDrivers(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(driverRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, DriverView::id);
     }
 
     /**
      * Get drivers by ID - read drivers by user id
      *
      * @param user_id user id
-     * @return return all drivers by user ID
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of drivers of the user ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.DRIVERS)
-    public @ResponseBody Iterable<Driver> getAllDriversByUser(@PathVariable(name = "user_id") Integer user_id) {
+    public @ResponseBody CursorPage<DriverView> getAllDriversByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                    @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                    @RequestParam(defaultValue = "100") int limit) {
         Optional<User> user = userRepository.findById(user_id);
-        Iterable<Driver> drivers = new LinkedList<>();
+        CursorPage<DriverView> drivers = CursorPage.empty();
 
         if (user.isPresent()) {
-            drivers = driverRepository.getAllByUserId(user.get().getId());
+            int pageSize = pageSize(limit);
+            drivers = CursorPage.of(driverRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                    pageSize, DriverView::id);
         }
         return drivers;
     }
@@ -436,19 +479,10 @@ public class MainController {
                                              @RequestParam int age,
                                              @RequestParam String address,
                                              @RequestParam int numberAccidents) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<Driver> optionalDriver = driverRepository.findById(driver_id);
-            if (optionalDriver.isPresent()) {
-                Driver driver = optionalDriver.get();
-                driver.setAge(age);
-                driver.setAddress(address);
-                driver.setNumberAccidents(numberAccidents);
-                driverRepository.save(driver);
-                return "The driver has been updated in the database.";
-            } else {
-                return "Driver not found.";
-            }
+        if (driverRepository.updateByIdAndUserId(driver_id, user_id, age, address, numberAccidents) == 1) {
+            return "The driver has been updated in the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Driver not found.";
         } else {
             return "User not found.";
         }
@@ -465,15 +499,10 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.DRIVERS + "/{driver_id}")
     public @ResponseBody String deleteDriver(@PathVariable Integer user_id,
                                              @PathVariable Integer driver_id) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<Driver> optionalDriver = driverRepository.findById(driver_id);
-            if (optionalDriver.isPresent()) {
-                driverRepository.deleteById(driver_id);
-                return "The driver has been deleted from the database.";
-            } else {
-                return "Driver not found.";
-            }
+        if (driverRepository.deleteByIdAndUserId(driver_id, user_id) == 1) {
+            return "The driver has been deleted from the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Driver not found.";
         } else {
             return "User not found.";
         }
@@ -481,27 +510,37 @@ public class MainController {
 
     /**
      * Get all homeowners - read all homeowners
-     * @return return all homeowners
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of homeowners ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.HOMEOWNERS)
-    public @ResponseBody Iterable<HomeOwner> getAllHomeowners() {
-        return homeownerRepository.findAll();
+    public @ResponseBody CursorPage<HomeOwnerView> getAllHomeowners(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                    @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(homeownerRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, HomeOwnerView::id);
     }
 
     /**
      * Get homeowners by ID - read homeowners by user id
      * @param user_id user id
-     * @return return all homeowners by user ID
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of homeowners of the user ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMEOWNERS)
-    public @ResponseBody Iterable<HomeOwner> getAllHomeownersByUser(@PathVariable(name = "user_id") Integer user_id) {
+    public @ResponseBody CursorPage<HomeOwnerView> getAllHomeownersByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                          @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                          @RequestParam(defaultValue = "100") int limit) {
         Optional<User> user = userRepository.findById(user_id);
-        Iterable<HomeOwner> homeowners = new LinkedList<>();
+        CursorPage<HomeOwnerView> homeowners = CursorPage.empty();
 
         if (user.isPresent()) {
-            homeowners = homeownerRepository.getAllByUserId(user.get().getId());
+            int pageSize = pageSize(limit);
+            homeowners = CursorPage.of(homeownerRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                    pageSize, HomeOwnerView::id);
         }
         return homeowners;
     }
@@ -546,18 +585,10 @@ public class MainController {
                                                 @PathVariable(name = "homeowner_id") Integer homeowner_id,
                                                 @RequestParam int age,
                                                 @RequestParam String address) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<HomeOwner> optionalHomeowner = homeownerRepository.findById(homeowner_id);
-            if (optionalHomeowner.isPresent()) {
-                HomeOwner homeowner = optionalHomeowner.get();
-                homeowner.setAge(age);
-                homeowner.setAddress(address);
-                homeownerRepository.save(homeowner);
-                return "The homeowner has been updated in the database.";
-            } else {
-                return "Homeowner not found.";
-            }
+        if (homeownerRepository.updateByIdAndUserId(homeowner_id, user_id, age, address) == 1) {
+            return "The homeowner has been updated in the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Homeowner not found.";
         } else {
             return "User not found.";
         }
@@ -573,15 +604,10 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMEOWNERS + "/{homeowner_id}")
     public @ResponseBody String deleteHomeowner(@PathVariable Integer user_id,
                                                 @PathVariable Integer homeowner_id) {
-        Optional<User> optionalUser = userRepository.findById(user_id);
-        if (optionalUser.isPresent()) {
-            Optional<HomeOwner> optionalHomeowner = homeownerRepository.findById(homeowner_id);
-            if (optionalHomeowner.isPresent()) {
-                homeownerRepository.deleteById(homeowner_id);
-                return "The homeowner has been deleted from the database.";
-            } else {
-                return "Homeowner not found.";
-            }
+        if (homeownerRepository.deleteByIdAndUserId(homeowner_id, user_id) == 1) {
+            return "The homeowner has been deleted from the database.";
+        } else if (userRepository.existsById(user_id)) {
+            return "Homeowner not found.";
         } else {
             return "User not found.";
         }
@@ -589,40 +615,70 @@ public class MainController {
 
     /**
      * Get all auto quotes - read all auto quotes
-     * @return return all auto quotes
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of auto quotes ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS  + RESTNamebook.AUTOQUOTES)
-    public @ResponseBody Iterable<AutoQuote> getAllAutoQuotes() {
-        return autoQuoteRepository.findAll();
+    public @ResponseBody CursorPage<AutoQuoteView> getAllAutoQuotes(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                    @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(autoQuoteRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, AutoQuoteView::id);
     }
 
     /**
      * Get all auto quotes by user - read all auto quotes by user ID
      * @param user_id user id
-     * @return return all auto quotes by user
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @param if_none_match ETag of the page the client holds, if any
+     * @return one page of auto quotes of the user ordered by id, with the cursor of the next page, or 304 if the
+     * client's page is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.AUTOQUOTES)
-    public @ResponseBody Iterable<AutoQuote> getAllAutoQuotesByUser(@PathVariable(name = "user_id") Integer user_id) {
-        Optional<User> user = userRepository.findById(user_id);
-        Iterable<AutoQuote> autoQuotes = new LinkedList<>();
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<AutoQuoteView>> getAllAutoQuotesByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                            @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                            @RequestParam(defaultValue = "100") int limit,
+                                                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        int pageSize = pageSize(limit);
+        // The versions and the page are read in the same transaction, so the ETag always matches the page
+        String eTag = ConditionalGet.eTag("autoquotes", autoQuoteRepository.findVersionsByUserIdAfter(user_id, after_id, keyset(pageSize)));
+        return ConditionalGet.respond(if_none_match, eTag, ConditionalGet.revalidate(), () -> {
+            Optional<User> user = userRepository.findById(user_id);
+            CursorPage<AutoQuoteView> autoQuotes = CursorPage.empty();
 
-        if (user.isPresent()) {
-            autoQuotes = autoQuoteRepository.getAllByUserId(user.get().getId());
-        }
-        return autoQuotes;
+            if (user.isPresent()) {
+                autoQuotes = CursorPage.of(autoQuoteRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                        pageSize, AutoQuoteView::id);
+            }
+            return autoQuotes;
+        });
     }
 
     /**
      * Get an auto quotes by quote ID - read an auto quote by quote ID
      * @param autoquote_id auto id
-     * @return return an auto quote by quote ID
+     * @param if_none_match ETag of the copy the client holds, if any
+     * @return return an auto quote by quote ID, from the archive if it was cancelled or has expired, or 304 if
+     * the client's copy is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS  + RESTNamebook.AUTOQUOTES + "/{autoquote_id}")
-    public @ResponseBody Optional<AutoQuote> getAutoQuoteByID(@PathVariable(name = "autoquote_id") Integer autoquote_id){
-        return autoQuoteRepository.findById(autoquote_id);
+    public ResponseEntity<?> getAutoQuoteByID(@PathVariable(name = "autoquote_id") Integer autoquote_id,
+                                              @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        Optional<AutoQuote> autoQuote = findAutoQuote(autoquote_id);
+        if (autoQuote.isPresent()) {
+            return ConditionalGet.respond(if_none_match, eTag(autoQuote.get()),
+                    ConditionalGet.until(autoQuote.get().getEndDate(), quoteMaxAge), () -> autoQuote);
+        }
+        Optional<ArchivedAutoQuote> archived = archivedAutoQuoteRepository.findById(autoquote_id);
+        if (archived.isEmpty()) {
+            return ResponseEntity.ok(archived);
+        }
+        return ConditionalGet.respond(if_none_match, eTag(archived.get()), ConditionalGet.revalidate(), () -> archived);
     }
 
     /**
@@ -643,7 +699,10 @@ public class MainController {
                 if (auto.isPresent()){
                     AutoQuote autoQuote = AutoQuoteFactory.createAutoQuote(auto.get(), driver.get());
                     autoQuote.setUser(user.get());
-                    autoQuoteRepository.save(autoQuote);
+                    if (autoQuoteBuffer != null) {
+                        return autoQuoteBuffer.add(autoQuote);
+                    }
+                    autoQuoteWriter.save(autoQuote);
                     return autoQuote.getId();
                 } else {
                     return 0;
@@ -656,6 +715,57 @@ public class MainController {
         }
     }
 
+    /**
+     * Post Mapping for AutoQuote - Add a batch of new auto quotes
+     * Users, drivers and autos are loaded with one query each and all quotes are saved in a single batch
+     * @param requests list of user id and auto id pairs, at most 1000
+     * @return one result per request item, holding the auto quote id or 0 if auto is not found,
+     * or -1 if driver is not found, or -2 if user is not found
+     * @throws ResponseStatusException 400 if the batch holds more than 1000 requests
+     */
+    @CrossOrigin(origins = "*")
+    @PostMapping(path = RESTNamebook.USERS + RESTNamebook.AUTOQUOTES + RESTNamebook.BATCH)
+    public @ResponseBody List<QuoteResult> addNewAutoQuotes(@RequestBody List<AutoQuoteRequest> requests) {
+        checkBatchSize(requests);
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> autoIds = new HashSet<>();
+        for (AutoQuoteRequest request : requests) {
+            if (request.userId() != null) userIds.add(request.userId());
+            if (request.autoId() != null) autoIds.add(request.autoId());
+        }
+        Map<Integer, User> users = indexBy(userRepository.findAllById(userIds), User::getId);
+        Map<Integer, Driver> drivers = indexBy(driverRepository.getAllByUserIdIn(userIds), driver -> driver.getUser().getId());
+        Map<Integer, Vehicle> autos = indexBy(autoRepository.findAllById(autoIds), Vehicle::getId);
+
+        AutoQuote[] autoQuotes = new AutoQuote[requests.size()];
+        int[] codes = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            AutoQuoteRequest request = requests.get(i);
+            User user = users.get(request.userId());
+            Driver driver = drivers.get(request.userId());
+            Vehicle auto = autos.get(request.autoId());
+            if (user == null) {
+                codes[i] = -2;
+            } else if (driver == null) {
+                codes[i] = -1;
+            } else if (auto == null) {
+                codes[i] = 0;
+            } else {
+                autoQuotes[i] = AutoQuoteFactory.createAutoQuote(auto, driver);
+                autoQuotes[i].setUser(user);
+            }
+        }
+        autoQuoteRepository.saveAll(Arrays.stream(autoQuotes).filter(Objects::nonNull).toList());
+
+        List<QuoteResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AutoQuoteRequest request = requests.get(i);
+            Integer quoteId = autoQuotes[i] != null ? autoQuotes[i].getId() : codes[i];
+            results.add(new QuoteResult(request.userId(), request.autoId(), quoteId));
+        }
+        return results;
+    }
+
     /**
      * Delete Mapping for AutoQuote based on ID - delete auto quote
      * @param user_id user id
@@ -666,15 +776,13 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.AUTOQUOTES + "/{autoquote_id}")
     public @ResponseBody String deleteAutoQuote(@PathVariable(name = "user_id") Integer user_id,
                                                 @PathVariable(name = "autoquote_id") Integer autoquote_id) {
-        Optional<AutoQuote> autoQuote = autoQuoteRepository.findById(autoquote_id);
-        if (autoQuote.isPresent()){
-            Optional<User> user = userRepository.findById(user_id);
-            if (user.isPresent() && Objects.equals(autoQuote.get().getInsuredPerson().getUser().getId(), user.get().getId())){
-                autoQuoteRepository.deleteById(autoquote_id);
-                return "The auto quote has been cancelled.";
-            } else {
-                return "User not found.";
-            }
+        if (autoQuoteBuffer != null && !autoQuoteBuffer.awaitInserted(autoquote_id)) {
+            return "Auto quote not found.";
+        }
+        if (archiver.archiveAutoQuote(autoquote_id, user_id, ArchiveReason.CANCELLED) == 1) {
+            return "The auto quote has been cancelled.";
+        } else if (autoQuoteRepository.existsById(autoquote_id)) {
+            return "User not found.";
         } else {
             return "Auto quote not found.";
         }
@@ -682,40 +790,70 @@ public class MainController {
 
     /**
      * Get all home quotes - read all home quotes
-     * @return return all home quotes
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of home quotes ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS  + RESTNamebook.HOMEQUOTES)
-    public @ResponseBody Iterable<HomeQuote> getAllHomeQuotes() {
-        return homeQuoteRepository.findAll();
+    public @ResponseBody CursorPage<HomeQuoteView> getAllHomeQuotes(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                    @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(homeQuoteRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, HomeQuoteView::id);
     }
 
     /**
      * Get all home quotes by user - read all home quotes by user ID
      * @param user_id user id
-     * @return return all home quotes by user
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @param if_none_match ETag of the page the client holds, if any
+     * @return one page of home quotes of the user ordered by id, with the cursor of the next page, or 304 if the
+     * client's page is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMEQUOTES)
-    public @ResponseBody Iterable<HomeQuote> getAllHomeQuotesByUser(@PathVariable(name = "user_id") Integer user_id) {
-        Optional<User> user = userRepository.findById(user_id);
-        Iterable<HomeQuote> homeQuotes = new LinkedList<>();
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<HomeQuoteView>> getAllHomeQuotesByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                            @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                            @RequestParam(defaultValue = "100") int limit,
+                                                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        int pageSize = pageSize(limit);
+        // The versions and the page are read in the same transaction, so the ETag always matches the page
+        String eTag = ConditionalGet.eTag("homequotes", homeQuoteRepository.findVersionsByUserIdAfter(user_id, after_id, keyset(pageSize)));
+        return ConditionalGet.respond(if_none_match, eTag, ConditionalGet.revalidate(), () -> {
+            Optional<User> user = userRepository.findById(user_id);
+            CursorPage<HomeQuoteView> homeQuotes = CursorPage.empty();
 
-        if (user.isPresent()) {
-            homeQuotes = homeQuoteRepository.getAllByUserId(user.get().getId());
-        }
-        return homeQuotes;
+            if (user.isPresent()) {
+                homeQuotes = CursorPage.of(homeQuoteRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                        pageSize, HomeQuoteView::id);
+            }
+            return homeQuotes;
+        });
     }
 
     /**
      * Get home quote by id - read a home quote by id
      * @param homequote_id home quote id
-     * @return return home quote by id
+     * @param if_none_match ETag of the copy the client holds, if any
+     * @return return home quote by id, from the archive if it was cancelled or has expired, or 304 if
+     * the client's copy is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS  + RESTNamebook.HOMEQUOTES + "/{homequote_id}")
-    public @ResponseBody Optional<HomeQuote> getHomeQuoteByID(@PathVariable(name = "homequote_id") Integer homequote_id){
-        return homeQuoteRepository.findById(homequote_id);
+    public ResponseEntity<?> getHomeQuoteByID(@PathVariable(name = "homequote_id") Integer homequote_id,
+                                              @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        Optional<HomeQuote> homeQuote = findHomeQuote(homequote_id);
+        if (homeQuote.isPresent()) {
+            return ConditionalGet.respond(if_none_match, eTag(homeQuote.get()),
+                    ConditionalGet.until(homeQuote.get().getEndDate(), quoteMaxAge), () -> homeQuote);
+        }
+        Optional<ArchivedHomeQuote> archived = archivedHomeQuoteRepository.findById(homequote_id);
+        if (archived.isEmpty()) {
+            return ResponseEntity.ok(archived);
+        }
+        return ConditionalGet.respond(if_none_match, eTag(archived.get()), ConditionalGet.revalidate(), () -> archived);
     }
 
     /**
@@ -736,7 +874,10 @@ public class MainController {
                 if (home.isPresent()){
                     HomeQuote homeQuote = HomeQuoteFactory.createHomeQuote(home.get(), homeowner.get());
                     homeQuote.setUser(user.get());
-                    homeQuoteRepository.save(homeQuote);
+                    if (homeQuoteBuffer != null) {
+                        return homeQuoteBuffer.add(homeQuote);
+                    }
+                    homeQuoteWriter.save(homeQuote);
                     return homeQuote.getId();
                 } else {
                     return 0;
@@ -749,6 +890,57 @@ public class MainController {
         }
     }
 
+    /**
+     * Post Mapping for HomeQuote - create a batch of new home quotes
+     * Users, homeowners and homes are loaded with one query each and all quotes are saved in a single batch
+     * @param requests list of user id and home id pairs, at most 1000
+     * @return one result per request item, holding the home quote id or 0 if home is not found,
+     * or -1 if homeowner is not found, or -2 if user is not found
+     * @throws ResponseStatusException 400 if the batch holds more than 1000 requests
+     */
+    @CrossOrigin(origins = "*")
+    @PostMapping(path = RESTNamebook.USERS + RESTNamebook.HOMEQUOTES + RESTNamebook.BATCH)
+    public @ResponseBody List<QuoteResult> addNewHomeQuotes(@RequestBody List<HomeQuoteRequest> requests) {
+        checkBatchSize(requests);
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> homeIds = new HashSet<>();
+        for (HomeQuoteRequest request : requests) {
+            if (request.userId() != null) userIds.add(request.userId());
+            if (request.homeId() != null) homeIds.add(request.homeId());
+        }
+        Map<Integer, User> users = indexBy(userRepository.findAllById(userIds), User::getId);
+        Map<Integer, HomeOwner> homeowners = indexBy(homeownerRepository.getAllByUserIdIn(userIds), homeowner -> homeowner.getUser().getId());
+        Map<Integer, Home> homes = indexBy(homeRepository.findAllById(homeIds), Home::getId);
+
+        HomeQuote[] homeQuotes = new HomeQuote[requests.size()];
+        int[] codes = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            HomeQuoteRequest request = requests.get(i);
+            User user = users.get(request.userId());
+            HomeOwner homeowner = homeowners.get(request.userId());
+            Home home = homes.get(request.homeId());
+            if (user == null) {
+                codes[i] = -2;
+            } else if (homeowner == null) {
+                codes[i] = -1;
+            } else if (home == null) {
+                codes[i] = 0;
+            } else {
+                homeQuotes[i] = HomeQuoteFactory.createHomeQuote(home, homeowner);
+                homeQuotes[i].setUser(user);
+            }
+        }
+        homeQuoteRepository.saveAll(Arrays.stream(homeQuotes).filter(Objects::nonNull).toList());
+
+        List<QuoteResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            HomeQuoteRequest request = requests.get(i);
+            Integer quoteId = homeQuotes[i] != null ? homeQuotes[i].getId() : codes[i];
+            results.add(new QuoteResult(request.userId(), request.homeId(), quoteId));
+        }
+        return results;
+    }
+
     /**
      * Delete Mapping for HomeQuote based on ID - delete home quote
      * @param user_id user id
@@ -759,15 +951,13 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMEQUOTES + "/{homequote_id}")
     public @ResponseBody String deleteHomeQuote(@PathVariable(name = "user_id") Integer user_id,
                                                 @PathVariable(name = "homequote_id") Integer homequote_id) {
-        Optional<HomeQuote> homeQuote = homeQuoteRepository.findById(homequote_id);
-        if (homeQuote.isPresent()) {
-            Optional<User> user = userRepository.findById(user_id);
-            if (user.isPresent() && Objects.equals(homeQuote.get().getInsuredPerson().getUser().getId(), user.get().getId())) {
-                homeQuoteRepository.deleteById(homequote_id);
-                return "The home quote has been cancelled.";
-            } else {
-                return "User not found.";
-            }
+        if (homeQuoteBuffer != null && !homeQuoteBuffer.awaitInserted(homequote_id)) {
+            return "Home quote not found.";
+        }
+        if (archiver.archiveHomeQuote(homequote_id, user_id, ArchiveReason.CANCELLED) == 1) {
+            return "The home quote has been cancelled.";
+        } else if (homeQuoteRepository.existsById(homequote_id)) {
+            return "User not found.";
         } else {
             return "Home quote not found.";
         }
@@ -775,40 +965,69 @@ public class MainController {
 
     /**
      * Get all auto policies - read all auto policies
-     * @return return all auto policies
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of auto policies ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.AUTOPOLICIES)
-    public @ResponseBody Iterable<AutoPolicy> getAllAutoPolicies() {
-        return autoPolicyRepository.findAll();
+    public @ResponseBody CursorPage<AutoPolicyView> getAllAutoPolicies(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                       @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(autoPolicyRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, AutoPolicyView::id);
     }
 
     /**
      * Get all auto policies by user - read all auto policies by user ID
      * @param user_id user id
-     * @return return all auto policies by user
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @param if_none_match ETag of the page the client holds, if any
+     * @return one page of auto policies of the user ordered by id, with the cursor of the next page, or 304 if the
+     * client's page is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.AUTOPOLICIES)
-    public @ResponseBody Iterable<AutoPolicy> getAllAutoPoliciesByUser(@PathVariable(name = "user_id") Integer user_id) {
-        Optional<User> user = userRepository.findById(user_id);
-        Iterable<AutoPolicy> autoPolicies = new LinkedList<>();
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<AutoPolicyView>> getAllAutoPoliciesByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                               @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                               @RequestParam(defaultValue = "100") int limit,
+                                                                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        int pageSize = pageSize(limit);
+        // The versions and the page are read in the same transaction, so the ETag always matches the page
+        String eTag = ConditionalGet.eTag("autopolicies", autoPolicyRepository.findVersionsByUserIdAfter(user_id, after_id, keyset(pageSize)));
+        return ConditionalGet.respond(if_none_match, eTag, ConditionalGet.revalidate(), () -> {
+            Optional<User> user = userRepository.findById(user_id);
+            CursorPage<AutoPolicyView> autoPolicies = CursorPage.empty();
 
-        if (user.isPresent()) {
-            autoPolicies = autoPolicyRepository.getAllByUserId(user.get().getId());
-        }
-        return autoPolicies;
+            if (user.isPresent()) {
+                autoPolicies = CursorPage.of(autoPolicyRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                        pageSize, AutoPolicyView::id);
+            }
+            return autoPolicies;
+        });
     }
 
     /**
      * Get auto policy by id - read an auto policy by id
      * @param autopolicy_id auto policy id
-     * @return return auto policy by id
+     * @param if_none_match ETag of the copy the client holds, if any
+     * @return return auto policy by id, from the archive if it was cancelled or renewed, or 304 if
+     * the client's copy is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.AUTOPOLICIES + "/{autopolicy_id}")
-    public @ResponseBody Optional<AutoPolicy> getAutoPolicyById(@PathVariable(name = "autopolicy_id") Integer autopolicy_id) {
-        return autoPolicyRepository.findById(autopolicy_id);
+    public ResponseEntity<?> getAutoPolicyById(@PathVariable(name = "autopolicy_id") Integer autopolicy_id,
+                                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        Optional<AutoPolicy> autoPolicy = autoPolicyRepository.findById(autopolicy_id);
+        if (autoPolicy.isPresent()) {
+            return ConditionalGet.respond(if_none_match, eTag(autoPolicy.get()), ConditionalGet.revalidate(), () -> autoPolicy);
+        }
+        Optional<ArchivedAutoPolicy> archived = archivedAutoPolicyRepository.findById(autopolicy_id);
+        if (archived.isEmpty()) {
+            return ResponseEntity.ok(archived);
+        }
+        return ConditionalGet.respond(if_none_match, eTag(archived.get()), ConditionalGet.revalidate(), () -> archived);
     }
 
     /**
@@ -822,12 +1041,12 @@ public class MainController {
     public @ResponseBody Integer addNewAutoPolicy(@PathVariable(name = "user_id") Integer user_id,
                                                  @PathVariable(name = "autoquote_id") Integer autoquote_id) {
         Optional<User> user = userRepository.findById(user_id);
-        Optional<AutoQuote> autoQuote = autoQuoteRepository.findById(autoquote_id);
+        Optional<AutoQuote> autoQuote = findAutoQuote(autoquote_id);
         if (user.isPresent()){
             if (autoQuote.isPresent()){
                 AutoPolicy autoPolicy = AutoPolicyFactory.createAutoPolicy(autoQuote.get());
                 autoPolicy.setUser(user.get());
-                autoPolicyRepository.save(autoPolicy);
+                autoPolicyWriter.save(autoPolicy);
                 return autoPolicy.getId();
             } else {
                 return 0;
@@ -854,9 +1073,8 @@ public class MainController {
             if (autoPolicy.isPresent()){
                 AutoPolicy newAutoPolicy = AutoPolicyFactory.renewAutoPolicy(autoPolicy.get());
                 if (!Objects.equals(newAutoPolicy.getId(), autoPolicy.get().getId())) {
-                    autoPolicyRepository.delete(autoPolicy.get());
-                    autoPolicyRepository.save(newAutoPolicy);
-                    return newAutoPolicy.getId();
+                    AutoPolicy saved = archiver.renewAutoPolicy(autoPolicy.get().getId(), newAutoPolicy);
+                    return saved != null ? saved.getId() : -1;
                 } else {
                     return 0;
                 }
@@ -878,15 +1096,10 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.AUTOPOLICIES + "/{autopolicy_id}")
     public @ResponseBody String deleteAutoPolicy(@PathVariable(name = "user_id") Integer user_id,
                                                  @PathVariable(name = "autopolicy_id") Integer autopolicy_id) {
-        Optional<AutoPolicy> autoPolicy = autoPolicyRepository.findById(autopolicy_id);
-        if (autoPolicy.isPresent()) {
-            Optional<User> user = userRepository.findById(user_id);
-            if (user.isPresent() && Objects.equals(autoPolicy.get().getInsuredPerson().getUser().getId(), user.get().getId())) {
-                autoPolicyRepository.deleteById(autopolicy_id);
-                return "The auto policy has been cancelled.";
-            } else {
-                return "User not found.";
-            }
+        if (archiver.archiveAutoPolicy(autopolicy_id, user_id, ArchiveReason.CANCELLED) == 1) {
+            return "The auto policy has been cancelled.";
+        } else if (autoPolicyRepository.existsById(autopolicy_id)) {
+            return "User not found.";
         } else {
             return "Auto policy not found.";
         }
@@ -894,40 +1107,69 @@ public class MainController {
 
     /**
      * Get all home policies - read all home policies
-     * @return return all home policies
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @return one page of home policies ordered by id, with the cursor of the next page
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.HOMEPOLICIES)
-    public @ResponseBody Iterable<HomePolicy> getAllHomePolicies() {
-        return homePolicyRepository.findAll();
+    public @ResponseBody CursorPage<HomePolicyView> getAllHomePolicies(@RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                       @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = pageSize(limit);
+        return CursorPage.of(homePolicyRepository.findViewsAfter(after_id, keyset(pageSize)), pageSize, HomePolicyView::id);
     }
 
     /**
      * Get all home policies by user - read all home policies by user
      * @param user_id user id
-     * @return return all home policies by user ID
+     * @param after_id read items with an id greater than this cursor, 0 for the first page
+     * @param limit page size, at most 1000
+     * @param if_none_match ETag of the page the client holds, if any
+     * @return one page of home policies of the user ordered by id, with the cursor of the next page, or 304 if the
+     * client's page is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMEPOLICIES)
-    public @ResponseBody Iterable<HomePolicy> getAllHomePoliciesByUser(@PathVariable(name = "user_id") Integer user_id) {
-        Optional<User> user = userRepository.findById(user_id);
-        Iterable<HomePolicy> homePolicies = new LinkedList<>();
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<HomePolicyView>> getAllHomePoliciesByUser(@PathVariable(name = "user_id") Integer user_id,
+                                                                               @RequestParam(name = "after_id", defaultValue = "0") Integer after_id,
+                                                                               @RequestParam(defaultValue = "100") int limit,
+                                                                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        int pageSize = pageSize(limit);
+        // The versions and the page are read in the same transaction, so the ETag always matches the page
+        String eTag = ConditionalGet.eTag("homepolicies", homePolicyRepository.findVersionsByUserIdAfter(user_id, after_id, keyset(pageSize)));
+        return ConditionalGet.respond(if_none_match, eTag, ConditionalGet.revalidate(), () -> {
+            Optional<User> user = userRepository.findById(user_id);
+            CursorPage<HomePolicyView> homePolicies = CursorPage.empty();
 
-        if (user.isPresent()) {
-            homePolicies = homePolicyRepository.getAllByUserId(user.get().getId());
-        }
-        return homePolicies;
+            if (user.isPresent()) {
+                homePolicies = CursorPage.of(homePolicyRepository.findViewsByUserIdAfter(user.get().getId(), after_id, keyset(pageSize)),
+                        pageSize, HomePolicyView::id);
+            }
+            return homePolicies;
+        });
     }
 
     /**
      * Get Mapping for HomePolicy based on ID - read home policy by policy id
      * @param homepolicy_id home policy id
-     * @return home policy
+     * @param if_none_match ETag of the copy the client holds, if any
+     * @return home policy, from the archive if it was cancelled or renewed, or 304 if
+     * the client's copy is current
      */
     @CrossOrigin(origins = "*")
     @GetMapping(path = RESTNamebook.USERS + RESTNamebook.HOMEPOLICIES + "/{homepolicy_id}")
-    public @ResponseBody Optional<HomePolicy> getHomePolicyById(@PathVariable(name = "homepolicy_id") Integer homepolicy_id) {
-        return homePolicyRepository.findById(homepolicy_id);
+    public ResponseEntity<?> getHomePolicyById(@PathVariable(name = "homepolicy_id") Integer homepolicy_id,
+                                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String if_none_match) {
+        Optional<HomePolicy> homePolicy = homePolicyRepository.findById(homepolicy_id);
+        if (homePolicy.isPresent()) {
+            return ConditionalGet.respond(if_none_match, eTag(homePolicy.get()), ConditionalGet.revalidate(), () -> homePolicy);
+        }
+        Optional<ArchivedHomePolicy> archived = archivedHomePolicyRepository.findById(homepolicy_id);
+        if (archived.isEmpty()) {
+            return ResponseEntity.ok(archived);
+        }
+        return ConditionalGet.respond(if_none_match, eTag(archived.get()), ConditionalGet.revalidate(), () -> archived);
     }
 
     /**
@@ -941,12 +1183,12 @@ public class MainController {
     public @ResponseBody Integer addNewHomePolicy(@PathVariable(name = "user_id") Integer user_id,
                                                  @PathVariable(name = "homequote_id") Integer homequote_id) {
         Optional<User> user = userRepository.findById(user_id);
-        Optional<HomeQuote> homeQuote = homeQuoteRepository.findById(homequote_id);
+        Optional<HomeQuote> homeQuote = findHomeQuote(homequote_id);
         if (user.isPresent()){
             if (homeQuote.isPresent()){
                 HomePolicy homePolicy = HomePolicyFactory.createHomePolicy(homeQuote.get());
                 homePolicy.setUser(user.get());
-                homePolicyRepository.save(homePolicy);
+                homePolicyWriter.save(homePolicy);
                 return homePolicy.getId();
             } else {
                 return 0;
@@ -973,9 +1215,8 @@ public class MainController {
             if (homePolicy.isPresent()){
                 HomePolicy newHomePolicy = HomePolicyFactory.renewHomePolicy(homePolicy.get());
                 if (!Objects.equals(newHomePolicy.getId(), homePolicy.get().getId())) {
-                    homePolicyRepository.delete(homePolicy.get());
-                    homePolicyRepository.save(newHomePolicy);
-                    return newHomePolicy.getId();
+                    HomePolicy saved = archiver.renewHomePolicy(homePolicy.get().getId(), newHomePolicy);
+                    return saved != null ? saved.getId() : -1;
                 } else {
                     return 0;
                 }
@@ -997,17 +1238,181 @@ public class MainController {
     @DeleteMapping(path = RESTNamebook.USERS + "/{user_id}" + RESTNamebook.HOMEPOLICIES + "/{homepolicy_id}")
     public @ResponseBody String deleteHomePolicy(@PathVariable(name = "user_id") Integer user_id,
                                                  @PathVariable(name = "homepolicy_id") Integer homepolicy_id) {
-        Optional<HomePolicy> homePolicy = homePolicyRepository.findById(homepolicy_id);
-        if (homePolicy.isPresent()) {
-            Optional<User> user = userRepository.findById(user_id);
-            if (user.isPresent()) {
-                homePolicyRepository.deleteById(homepolicy_id);
-                return "The home policy has been cancelled.";
-            } else {
-                return "User not found.";
-            }
+        if (archiver.archiveHomePolicy(homepolicy_id, user_id, ArchiveReason.CANCELLED) == 1) {
+            return "The home policy has been cancelled.";
+        } else if (homePolicyRepository.existsById(homepolicy_id)) {
+            return "User not found.";
         } else {
             return "Home policy not found.";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Clamp a requested page size to the supported range
+     * @param limit requested page size
+     * @return page size between 1 and MAX_PAGE_SIZE
+     */
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Reject a batch larger than MAX_BATCH_SIZE, a batch is saved in one transaction
+     * @param requests batch request items
+     */
+    private static void checkBatchSize(List<?> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch holds at most " + MAX_BATCH_SIZE + " requests, got " + requests.size());
+        }
+    }
+
+    /**
+     * Page request for a keyset query, reading one row more than the page size to detect the last page
+     * @param pageSize page size
+     * @return first page of pageSize + 1 rows, unsorted as the query orders by id
+     */
+    private static Pageable keyset(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * ETag of an auto quote, made of its id and version and the ids and versions
+     * of the driver, vehicle and users in it
+     * @param autoQuote auto quote
+     * @return quoted ETag
+     */
+    private static String eTag(AutoQuote autoQuote) {
+        return ConditionalGet.eTag("autoquote", autoQuote.getId(), autoQuote, autoQuote.getUser(),
+                autoQuote.getInsuredPerson(), nested(autoQuote.getInsuredPerson(), Driver::getUser),
+                autoQuote.getVehicle(), nested(autoQuote.getVehicle(), Vehicle::getUser));
+    }
+
+    /**
+     * ETag of an archived auto quote, made of its id and the ids and versions
+     * of the driver, vehicle and users in it
+     * @param autoQuote archived auto quote
+     * @return quoted ETag
+     */
+    private static String eTag(ArchivedAutoQuote autoQuote) {
+        return ConditionalGet.eTag("archivedautoquote", autoQuote.getId(), autoQuote.getUser(),
+                autoQuote.getDriver(), nested(autoQuote.getDriver(), Driver::getUser),
+                autoQuote.getVehicle(), nested(autoQuote.getVehicle(), Vehicle::getUser));
+    }
+
+    /**
+     * ETag of a home quote, made of its id and version and the ids and versions
+     * of the homeowner, home and users in it
+     * @param homeQuote home quote
+     * @return quoted ETag
+     */
+    private static String eTag(HomeQuote homeQuote) {
+        return ConditionalGet.eTag("homequote", homeQuote.getId(), homeQuote, homeQuote.getUser(),
+                homeQuote.getInsuredPerson(), nested(homeQuote.getInsuredPerson(), HomeOwner::getUser),
+                homeQuote.getHome(), nested(homeQuote.getHome(), Home::getUser));
+    }
+
+    /**
+     * ETag of an archived home quote, made of its id and the ids and versions
+     * of the homeowner, home and users in it
+     * @param homeQuote archived home quote
+     * @return quoted ETag
+     */
+    private static String eTag(ArchivedHomeQuote homeQuote) {
+        return ConditionalGet.eTag("archivedhomequote", homeQuote.getId(), homeQuote.getUser(),
+                homeQuote.getHomeOwner(), nested(homeQuote.getHomeOwner(), HomeOwner::getUser),
+                homeQuote.getHome(), nested(homeQuote.getHome(), Home::getUser));
+    }
+
+    /**
+     * ETag of an auto policy, made of its id and version and the ids and versions
+     * of the driver, vehicle and users in it
+     * @param autoPolicy auto policy
+     * @return quoted ETag
+     */
+    private static String eTag(AutoPolicy autoPolicy) {
+        return ConditionalGet.eTag("autopolicy", autoPolicy.getId(), autoPolicy, autoPolicy.getUser(),
+                autoPolicy.getInsuredPerson(), nested(autoPolicy.getInsuredPerson(), Driver::getUser),
+                autoPolicy.getVehicle(), nested(autoPolicy.getVehicle(), Vehicle::getUser));
+    }
+
+    /**
+     * ETag of an archived auto policy, made of its id and the ids and versions
+     * of the driver, vehicle and users in it
+     * @param autoPolicy archived auto policy
+     * @return quoted ETag
+     */
+    private static String eTag(ArchivedAutoPolicy autoPolicy) {
+        return ConditionalGet.eTag("archivedautopolicy", autoPolicy.getId(), autoPolicy.getUser(),
+                autoPolicy.getDriver(), nested(autoPolicy.getDriver(), Driver::getUser),
+                autoPolicy.getVehicle(), nested(autoPolicy.getVehicle(), Vehicle::getUser));
+    }
+
+    /**
+     * ETag of a home policy, made of its id and version and the ids and versions
+     * of the homeowner, home and users in it
+     * @param homePolicy home policy
+     * @return quoted ETag
+     */
+    private static String eTag(HomePolicy homePolicy) {
+        return ConditionalGet.eTag("homepolicy", homePolicy.getId(), homePolicy, homePolicy.getUser(),
+                homePolicy.getInsuredPerson(), nested(homePolicy.getInsuredPerson(), HomeOwner::getUser),
+                homePolicy.getHome(), nested(homePolicy.getHome(), Home::getUser));
+    }
+
+    /**
+     * ETag of an archived home policy, made of its id and the ids and versions
+     * of the homeowner, home and users in it
+     * @param homePolicy archived home policy
+     * @return quoted ETag
+     */
+    private static String eTag(ArchivedHomePolicy homePolicy) {
+        return ConditionalGet.eTag("archivedhomepolicy", homePolicy.getId(), homePolicy.getUser(),
+                homePolicy.getHomeOwner(), nested(homePolicy.getHomeOwner(), HomeOwner::getUser),
+                homePolicy.getHome(), nested(homePolicy.getHome(), Home::getUser));
+    }
+
+    /**
+     * Read an entity nested in another, which may be missing
+     * @param entity entity, or null
+     * @param nested function returning the nested entity
+     * @return nested entity, or null if the entity is missing
+     */
+    private static <T> Versioned nested(T entity, Function<T, ? extends Versioned> nested) {
+        return entity != null ? nested.apply(entity) : null;
+    }
+
+    /**
+     * Find an auto quote, looking in the write-behind buffer before the database
+     * @param id auto quote id
+     * @return auto quote, or empty if not found
+     */
+    private Optional<AutoQuote> findAutoQuote(Integer id) {
+        Optional<AutoQuote> pending = autoQuoteBuffer != null ? autoQuoteBuffer.find(id) : Optional.empty();
+        return pending.isPresent() ? pending : autoQuoteRepository.findById(id);
+    }
+
+    /**
+     * Find a home quote, looking in the write-behind buffer before the database
+     * @param id home quote id
+     * @return home quote, or empty if not found
+     */
+    private Optional<HomeQuote> findHomeQuote(Integer id) {
+        Optional<HomeQuote> pending = homeQuoteBuffer != null ? homeQuoteBuffer.find(id) : Optional.empty();
+        return pending.isPresent() ? pending : homeQuoteRepository.findById(id);
+    }
+
+    /**
+     * Index entities by a key, keeping the first entity found for each key
+     * @param entities entities to index
+     * @param key function returning the key of an entity
+     * @return map of key to entity
+     */
+    private static <T> Map<Integer, T> indexBy(Iterable<T> entities, Function<T, Integer> key) {
+        Map<Integer, T> index = new HashMap<>();
+        for (T entity : entities) {
+            index.putIfAbsent(key.apply(entity), entity);
+        }
+        return index;
+    }
+}
@@ -12,4 +12,14 @@ public class RESTNamebook {
     public static final String AUTOPOLICIES = "/autopolicies";
     public static final String HOMEPOLICIES = "/homepolicies";
     public static final String RENEW = "/renew";
+    public static final String BATCH = "/batch";
+    public static final String RATES = "/rates";
+    public static final String RELOAD = "/reload";
+    public static final String SIMULATE = "/simulate";
+    public static final String VERSIONS = "/versions";
+    public static final String EXPORT = "/export";
+    public static final String IMPORT = "/import";
+    public static final String COLUMNAR = "/columnar";
+    public static final String CACHE = "/cache";
+    public static final String WRITE_BEHIND = "/writebehind";
 }
@@ -0,0 +1,90 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.DTO.RateVersion;
+import com.example.capstone.DTO.RepricingResult;
+import com.example.capstone.POJOS.RateTable;
+import com.example.capstone.POJOS.RateTables;
+import com.example.capstone.Service.RateTableReloader;
+import com.example.capstone.Service.RepricingSimulator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Controller
+@RequestMapping(path = RESTNamebook.VERSION_1)
+public class RatesController {
+    @Autowired
+    private RateTableReloader rateTableReloader;
+    @Autowired
+    private RepricingSimulator repricingSimulator;
+
+    /**
+     * Get Mapping for the rate table in force
+     *
+     * @return version of the current rate table
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.RATES)
+    public @ResponseBody String getRateVersion() {
+        return RateTables.getCurrent().getVersion();
+    }
+
+    /**
+     * Get Mapping for all rate table versions
+     *
+     * @return every rate table version with the dates it is in force, sorted by effective date
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.RATES + RESTNamebook.VERSIONS)
+    public @ResponseBody List<RateVersion> getRateVersions() {
+        List<RateTable> rateTables = RateTables.getVersions();
+        List<RateVersion> versions = new ArrayList<>(rateTables.size());
+        for (int i = 0; i < rateTables.size(); i++) {
+            LocalDate effectiveFrom = rateTables.get(i).getEffectiveFrom();
+            LocalDate effectiveTo = i + 1 < rateTables.size() ? rateTables.get(i + 1).getEffectiveFrom() : null;
+            versions.add(new RateVersion(rateTables.get(i).getVersion(),
+                    effectiveFrom.equals(LocalDate.MIN) ? null : effectiveFrom, effectiveTo));
+        }
+        return versions;
+    }
+
+    /**
+     * Post Mapping for rate table reload - install the external rate files now
+     *
+     * @return message stating success / failure
+     */
+    @CrossOrigin(origins = "*")
+    @PostMapping(path = RESTNamebook.RATES + RESTNamebook.RELOAD)
+    public @ResponseBody String reloadRates() {
+        try {
+            return "Rate table " + rateTableReloader.reload().getVersion() + " is now in force.";
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            return "Rate table not reloaded: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Post Mapping for rate simulation - reprice every policy with a candidate rate table, nothing is saved
+     *
+     * @param rates candidate rate table, in the rates.properties format
+     * @return premium change distribution of the auto and home policies
+     */
+    @CrossOrigin(origins = "*")
+    @PostMapping(path = RESTNamebook.RATES + RESTNamebook.SIMULATE, consumes = "text/plain")
+    public @ResponseBody RepricingResult simulateRates(@RequestBody String rates) {
+        RateTable candidate;
+        try {
+            candidate = RateTable.parse(rates);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return repricingSimulator.simulate(candidate);
+    }
+}
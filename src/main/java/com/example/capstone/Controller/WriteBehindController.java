@@ -0,0 +1,30 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.DTO.WriteBehindStats;
+import com.example.capstone.Service.WriteBehindQuoteBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Controller
+@RequestMapping(path = RESTNamebook.VERSION_1)
+public class WriteBehindController {
+    @Autowired(required = false)
+    private List<WriteBehindQuoteBuffer<?>> buffers = List.of();
+
+    /**
+     * Get Mapping for write-behind quote buffer statistics
+     *
+     * @return pending, retried and dead-lettered counts of every buffer, empty if write-behind is disabled
+     */
+    @CrossOrigin(origins = "*")
+    @GetMapping(path = RESTNamebook.WRITE_BEHIND)
+    public @ResponseBody List<WriteBehindStats> getWriteBehindStatistics() {
+        return buffers.stream()
+                .map(buffer -> new WriteBehindStats(buffer.getName(), buffer.size(), buffer.getRetried(),
+                        buffer.getDeadLettered(), buffer.getDeadLetterFile().toString()))
+                .toList();
+    }
+}
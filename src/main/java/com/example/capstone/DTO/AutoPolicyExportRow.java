@@ -0,0 +1,22 @@
+package com.example.capstone.DTO;
+
+/**
+ * An auto policy with the rating attributes of its driver and vehicle, as written by the columnar export.
+ * Driver and vehicle attributes are null when the policy has none
+ * @param id policy id
+ * @param userId id of the user
+ * @param driverId id of the insured driver
+ * @param vehicleId id of the insured vehicle
+ * @param driverAge age of the driver
+ * @param numberAccidents number of accidents of the driver
+ * @param vehicleYear year the vehicle was made
+ * @param liabilityLimit liability limit, in cents
+ * @param deductible deductible, in cents
+ * @param basePremium base premium, in cents
+ * @param tax tax factor
+ * @param totalPremium total premium, in cents
+ */
+public record AutoPolicyExportRow(Integer id, Integer userId, Integer driverId, Integer vehicleId, Integer driverAge,
+                                  Integer numberAccidents, Integer vehicleYear, long liabilityLimit, long deductible,
+                                  long basePremium, double tax, long totalPremium) {
+}
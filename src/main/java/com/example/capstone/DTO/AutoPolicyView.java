@@ -0,0 +1,29 @@
+package com.example.capstone.DTO;
+
+import com.example.capstone.POJOS.MoneySerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+/**
+ * An auto policy as returned by the list endpoints, with ids in place of the related objects.
+ * Amounts are held in cents and serialized in dollars
+ * @param id policy id
+ * @param userId id of the user
+ * @param driverId id of the insured driver
+ * @param vehicleId id of the insured vehicle
+ * @param liabilityLimit liability limit
+ * @param deductible deductible
+ * @param basePremium base premium
+ * @param tax tax factor
+ * @param totalPremium total premium
+ * @param startDate start date
+ * @param endDate end date
+ */
+public record AutoPolicyView(Integer id, Integer userId, Integer driverId, Integer vehicleId,
+                             @JsonSerialize(using = MoneySerializer.class) long liabilityLimit,
+                             @JsonSerialize(using = MoneySerializer.class) long deductible,
+                             @JsonSerialize(using = MoneySerializer.class) long basePremium, double tax,
+                             @JsonSerialize(using = MoneySerializer.class) long totalPremium,
+                             LocalDate startDate, LocalDate endDate) {
+}
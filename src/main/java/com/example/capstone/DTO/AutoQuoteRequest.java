@@ -0,0 +1,9 @@
+package com.example.capstone.DTO;
+
+/**
+ * One item of a batch auto quote request
+ * @param userId user id
+ * @param autoId auto id
+ */
+public record AutoQuoteRequest(Integer userId, Integer autoId) {
+}
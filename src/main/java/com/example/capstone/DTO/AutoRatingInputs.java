@@ -0,0 +1,12 @@
+package com.example.capstone.DTO;
+
+/**
+ * The rating attributes of an auto policy
+ * @param policyId auto policy id
+ * @param driverAge age of the driver
+ * @param numberAccidents number of accidents of the driver
+ * @param vehicleYear year the vehicle was made
+ * @param totalPremium total premium in force, in cents
+ */
+public record AutoRatingInputs(Integer policyId, int driverAge, int numberAccidents, int vehicleYear, long totalPremium) {
+}
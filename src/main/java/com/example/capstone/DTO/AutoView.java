@@ -0,0 +1,12 @@
+package com.example.capstone.DTO;
+
+/**
+ * A vehicle as returned by the list endpoints
+ * @param id auto id
+ * @param userId id of the user who owns the vehicle
+ * @param year year the vehicle was made
+ * @param model vehicle model
+ * @param make vehicle make
+ */
+public record AutoView(Integer id, Integer userId, int year, String model, String make) {
+}
@@ -0,0 +1,13 @@
+package com.example.capstone.DTO;
+
+/**
+ * Hit and miss counts of one second-level cache region since startup
+ * @param region region name
+ * @param hits lookups answered from the cache
+ * @param misses lookups that went to the database
+ * @param puts entries added to the cache
+ * @param entries entries held in memory, or -1 if the cache does not report it
+ * @param hitRatio hits divided by lookups, or 0 before the first lookup
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts, long entries, double hitRatio) {
+}
@@ -0,0 +1,38 @@
+package com.example.capstone.DTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a collection endpoint, ordered by id. Pass nextCursor as after_id to read the next page
+ * @param items the items of the page
+ * @param nextCursor id of the last item, or null if this is the last page
+ * @param <T> item type
+ */
+public record CursorPage<T>(List<T> items, Integer nextCursor) {
+
+    /**
+     * Builds a page from the rows of a keyset query that read one row more than the page size
+     * @param rows up to limit + 1 rows, ordered by id
+     * @param limit page size
+     * @param id reads the id of a row
+     * @param <T> item type
+     * @return the first limit rows, with a cursor if there was another row
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Integer> id) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, id.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Gets an empty last page
+     * @param <T> item type
+     * @return a page without items or cursor
+     */
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(List.of(), null);
+    }
+}
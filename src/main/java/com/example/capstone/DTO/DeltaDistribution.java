@@ -0,0 +1,34 @@
+package com.example.capstone.DTO;
+
+import com.example.capstone.POJOS.MoneySerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * How the premiums of a book of policies move from the rates in force to a candidate rate table.
+ * Amounts are held in cents and serialized in dollars
+ * @param policies number of policies repriced
+ * @param increased number of policies whose premium goes up
+ * @param decreased number of policies whose premium goes down
+ * @param currentTotal sum of the premiums in force
+ * @param candidateTotal sum of the candidate premiums
+ * @param meanDelta mean premium change
+ * @param minDelta smallest premium change
+ * @param p5Delta 5th percentile premium change
+ * @param p25Delta 25th percentile premium change
+ * @param medianDelta median premium change
+ * @param p75Delta 75th percentile premium change
+ * @param p95Delta 95th percentile premium change
+ * @param maxDelta largest premium change
+ */
+public record DeltaDistribution(int policies, int increased, int decreased,
+                                @JsonSerialize(using = MoneySerializer.class) long currentTotal,
+                                @JsonSerialize(using = MoneySerializer.class) long candidateTotal,
+                                @JsonSerialize(using = MoneySerializer.class) long meanDelta,
+                                @JsonSerialize(using = MoneySerializer.class) long minDelta,
+                                @JsonSerialize(using = MoneySerializer.class) long p5Delta,
+                                @JsonSerialize(using = MoneySerializer.class) long p25Delta,
+                                @JsonSerialize(using = MoneySerializer.class) long medianDelta,
+                                @JsonSerialize(using = MoneySerializer.class) long p75Delta,
+                                @JsonSerialize(using = MoneySerializer.class) long p95Delta,
+                                @JsonSerialize(using = MoneySerializer.class) long maxDelta) {
+}
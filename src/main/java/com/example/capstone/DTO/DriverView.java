@@ -0,0 +1,12 @@
+package com.example.capstone.DTO;
+
+/**
+ * A driver as returned by the list endpoints
+ * @param id driver id
+ * @param userId id of the user the driver belongs to
+ * @param age driver age
+ * @param address driver address
+ * @param numberAccidents number of accidents
+ */
+public record DriverView(Integer id, Integer userId, int age, String address, int numberAccidents) {
+}
@@ -0,0 +1,11 @@
+package com.example.capstone.DTO;
+
+/**
+ * A homeowner as returned by the list endpoints
+ * @param id homeowner id
+ * @param userId id of the user the homeowner belongs to
+ * @param age homeowner age
+ * @param address homeowner address
+ */
+public record HomeOwnerView(Integer id, Integer userId, int age, String address) {
+}
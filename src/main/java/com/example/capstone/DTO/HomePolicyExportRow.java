@@ -0,0 +1,33 @@
+package com.example.capstone.DTO;
+
+import com.example.capstone.POJOS.DwellingType;
+import com.example.capstone.POJOS.HeatingType;
+import com.example.capstone.POJOS.Location;
+
+import java.time.LocalDate;
+
+/**
+ * A home policy with the rating attributes of its home, as written by the columnar export.
+ * Home attributes are null when the policy has none
+ * @param id policy id
+ * @param userId id of the user
+ * @param homeOwnerId id of the insured homeowner
+ * @param homeId id of the insured home
+ * @param homeValue value of the home, in dollars
+ * @param dateBuilt date the home was built
+ * @param dwellingType dwelling type of the home
+ * @param heatingType heating type of the home
+ * @param location location of the home
+ * @param liabilityLimit liability limit, in cents
+ * @param deductible deductible, in cents
+ * @param contentsInsuranceLimit contents insurance limit, in cents
+ * @param contentsDeductible contents deductible, in cents
+ * @param basePremium base premium, in cents
+ * @param tax tax factor
+ * @param totalPremium total premium, in cents
+ */
+public record HomePolicyExportRow(Integer id, Integer userId, Integer homeOwnerId, Integer homeId, Double homeValue,
+                                  LocalDate dateBuilt, DwellingType dwellingType, HeatingType heatingType,
+                                  Location location, long liabilityLimit, long deductible, long contentsInsuranceLimit,
+                                  long contentsDeductible, long basePremium, double tax, long totalPremium) {
+}
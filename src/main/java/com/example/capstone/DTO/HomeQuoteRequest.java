@@ -0,0 +1,9 @@
+package com.example.capstone.DTO;
+
+/**
+ * One item of a batch home quote request
+ * @param userId user id
+ * @param homeId home id
+ */
+public record HomeQuoteRequest(Integer userId, Integer homeId) {
+}
@@ -0,0 +1,33 @@
+package com.example.capstone.DTO;
+
+import com.example.capstone.POJOS.MoneySerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+/**
+ * A home quote as returned by the list endpoints, with ids in place of the related objects.
+ * Amounts are held in cents and serialized in dollars
+ * @param id quote id
+ * @param userId id of the user
+ * @param homeOwnerId id of the insured homeowner
+ * @param homeId id of the insured home
+ * @param liabilityLimit liability limit
+ * @param deductible deductible
+ * @param contentsInsuranceLimit contents insurance limit
+ * @param contentsDeductible contents deductible
+ * @param basePremium base premium
+ * @param tax tax factor
+ * @param totalPremium total premium
+ * @param startDate start date
+ * @param endDate end date
+ */
+public record HomeQuoteView(Integer id, Integer userId, Integer homeOwnerId, Integer homeId,
+                            @JsonSerialize(using = MoneySerializer.class) long liabilityLimit,
+                            @JsonSerialize(using = MoneySerializer.class) long deductible,
+                            @JsonSerialize(using = MoneySerializer.class) long contentsInsuranceLimit,
+                            @JsonSerialize(using = MoneySerializer.class) long contentsDeductible,
+                            @JsonSerialize(using = MoneySerializer.class) long basePremium, double tax,
+                            @JsonSerialize(using = MoneySerializer.class) long totalPremium,
+                            LocalDate startDate, LocalDate endDate) {
+}
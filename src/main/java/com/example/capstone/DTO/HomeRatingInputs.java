@@ -0,0 +1,19 @@
+package com.example.capstone.DTO;
+
+import com.example.capstone.POJOS.HeatingType;
+import com.example.capstone.POJOS.Location;
+
+import java.time.LocalDate;
+
+/**
+ * The rating attributes of a home policy
+ * @param policyId home policy id
+ * @param homeValue value of the home
+ * @param dateBuilt date the home was built
+ * @param heatingType heating type of the home
+ * @param location location of the home
+ * @param totalPremium total premium in force, in cents
+ */
+public record HomeRatingInputs(Integer policyId, double homeValue, LocalDate dateBuilt, HeatingType heatingType,
+                               Location location, long totalPremium) {
+}
@@ -0,0 +1,21 @@
+package com.example.capstone.DTO;
+
+import com.example.capstone.POJOS.DwellingType;
+import com.example.capstone.POJOS.HeatingType;
+import com.example.capstone.POJOS.Location;
+
+import java.time.LocalDate;
+
+/**
+ * A home as returned by the list endpoints
+ * @param id home id
+ * @param userId id of the user who owns the home
+ * @param dateBuilt date the home was built
+ * @param value home value, in dollars
+ * @param dwellingType dwelling type
+ * @param heatingType heating type
+ * @param location location
+ */
+public record HomeView(Integer id, Integer userId, LocalDate dateBuilt, double value, DwellingType dwellingType,
+                       HeatingType heatingType, Location location) {
+}
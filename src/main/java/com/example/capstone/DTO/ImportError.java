@@ -0,0 +1,9 @@
+package com.example.capstone.DTO;
+
+/**
+ * A row of an import file that was not imported
+ * @param row row number, counting from 1 and not counting a CSV header
+ * @param message why the row was rejected
+ */
+public record ImportError(long row, String message) {
+}
@@ -0,0 +1,14 @@
+package com.example.capstone.DTO;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk import
+ * @param kind what was imported: users, homes, autos, drivers or homeowners
+ * @param rowsRead number of rows in the file
+ * @param rowsImported number of rows saved
+ * @param rowsRejected number of rows not saved
+ * @param errors the rejected rows, at most the first 1000
+ */
+public record ImportReport(String kind, long rowsRead, long rowsImported, long rowsRejected, List<ImportError> errors) {
+}
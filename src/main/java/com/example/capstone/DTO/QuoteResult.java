@@ -0,0 +1,11 @@
+package com.example.capstone.DTO;
+
+/**
+ * The outcome of one item of a batch quote request
+ * @param userId user id of the request item
+ * @param itemId auto or home id of the request item
+ * @param quoteId quote id, or 0 if the auto / home is not found, or -1 if the driver / homeowner is not found,
+ *                or -2 if the user is not found
+ */
+public record QuoteResult(Integer userId, Integer itemId, Integer quoteId) {
+}
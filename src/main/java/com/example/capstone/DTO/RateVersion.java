@@ -0,0 +1,12 @@
+package com.example.capstone.DTO;
+
+import java.time.LocalDate;
+
+/**
+ * A rate table version and the dates it is in force
+ * @param version version of the rate table
+ * @param effectiveFrom first date the version is in force, or null if it has no start
+ * @param effectiveTo first date the next version is in force, or null if it is the latest version
+ */
+public record RateVersion(String version, LocalDate effectiveFrom, LocalDate effectiveTo) {
+}
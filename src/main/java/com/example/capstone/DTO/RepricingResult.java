@@ -0,0 +1,12 @@
+package com.example.capstone.DTO;
+
+/**
+ * The outcome of repricing the whole book with a candidate rate table
+ * @param currentVersion version of the rate table in force
+ * @param candidateVersion version of the candidate rate table
+ * @param autoPolicies premium changes of the auto policies
+ * @param homePolicies premium changes of the home policies
+ */
+public record RepricingResult(String currentVersion, String candidateVersion, DeltaDistribution autoPolicies,
+                              DeltaDistribution homePolicies) {
+}
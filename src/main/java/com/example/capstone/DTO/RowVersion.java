@@ -0,0 +1,9 @@
+package com.example.capstone.DTO;
+
+/**
+ * The id and version of a row, read in place of the row to tell whether a page of a collection has changed
+ * @param id row id
+ * @param version row version
+ */
+public record RowVersion(Integer id, long version) {
+}
@@ -0,0 +1,12 @@
+package com.example.capstone.DTO;
+
+/**
+ * Counts of one write-behind quote buffer since startup
+ * @param buffer buffer name
+ * @param pending quotes waiting to be inserted
+ * @param retried inserts retried after a transient error
+ * @param deadLettered quotes that could not be inserted and were written to the dead-letter file
+ * @param deadLetterFile path of the dead-letter file
+ */
+public record WriteBehindStats(String buffer, int pending, long retried, long deadLettered, String deadLetterFile) {
+}
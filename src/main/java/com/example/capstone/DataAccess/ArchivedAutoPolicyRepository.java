@@ -0,0 +1,47 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.ArchiveReason;
+import com.example.capstone.POJOS.ArchivedAutoPolicy;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Transactional(readOnly = true)
+public interface ArchivedAutoPolicyRepository extends CrudRepository<ArchivedAutoPolicy, Integer> {
+
+    /**
+     * Copy statement of the archiving queries, copying auto policies with the reason ?1
+     */
+    String COPY = "insert into archivedautopolicy (id, driver, vehicle, liabilityLimit, deductible, basePremium, " +
+            "tax, totalPremium, startDate, endDate, user, archiveReason, archivedAt) " +
+            "select p.id, p.driver, p.vehicle, p.liabilityLimit, p.deductible, p.basePremium, p.tax, " +
+            "p.totalPremium, p.startDate, p.endDate, p.user, ?1, local datetime from autopolicy p";
+
+    /**
+     * Copy auto policies to the archive in one statement, the caller deletes them from the autopolicy table
+     * in the same transaction
+     * @param reason why the auto policies are archived
+     * @param ids the IDs of the auto policies
+     * @return the number of auto policies copied
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where p.id in ?2")
+    int copyByIdIn(ArchiveReason reason, Collection<Integer> ids);
+
+    /**
+     * Copy a auto policy of a user to the archive in one statement, nothing is copied if the auto policy
+     * belongs to another user. The caller deletes it from the autopolicy table in the same transaction
+     * @param reason why the auto policy is archived
+     * @param id the ID of the auto policy
+     * @param userId the ID of the user
+     * @return the number of auto policies copied, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where p.id = ?2 and p.user.id = ?3")
+    int copyByIdAndUserId(ArchiveReason reason, Integer id, Integer userId);
+}
@@ -0,0 +1,47 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.ArchiveReason;
+import com.example.capstone.POJOS.ArchivedAutoQuote;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Transactional(readOnly = true)
+public interface ArchivedAutoQuoteRepository extends CrudRepository<ArchivedAutoQuote, Integer> {
+
+    /**
+     * Copy statement of the archiving queries, copying auto quotes with the reason ?1
+     */
+    String COPY = "insert into archivedautoquote (id, driver, vehicle, liabilityLimit, deductible, basePremium, " +
+            "tax, totalPremium, startDate, endDate, user, archiveReason, archivedAt) " +
+            "select q.id, q.driver, q.vehicle, q.liabilityLimit, q.deductible, q.basePremium, q.tax, " +
+            "q.totalPremium, q.startDate, q.endDate, q.user, ?1, local datetime from autoquote q";
+
+    /**
+     * Copy auto quotes to the archive in one statement, the caller deletes them from the autoquote table
+     * in the same transaction
+     * @param reason why the auto quotes are archived
+     * @param ids the IDs of the auto quotes
+     * @return the number of auto quotes copied
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where q.id in ?2")
+    int copyByIdIn(ArchiveReason reason, Collection<Integer> ids);
+
+    /**
+     * Copy a auto quote of a user to the archive in one statement, nothing is copied if the auto quote
+     * belongs to another user. The caller deletes it from the autoquote table in the same transaction
+     * @param reason why the auto quote is archived
+     * @param id the ID of the auto quote
+     * @param userId the ID of the user
+     * @return the number of auto quotes copied, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where q.id = ?2 and q.user.id = ?3")
+    int copyByIdAndUserId(ArchiveReason reason, Integer id, Integer userId);
+}
@@ -0,0 +1,49 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.ArchiveReason;
+import com.example.capstone.POJOS.ArchivedHomePolicy;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Transactional(readOnly = true)
+public interface ArchivedHomePolicyRepository extends CrudRepository<ArchivedHomePolicy, Integer> {
+
+    /**
+     * Copy statement of the archiving queries, copying home policies with the reason ?1
+     */
+    String COPY = "insert into archivedhomepolicy (id, homeOwner, home, liabilityLimit, deductible, " +
+            "contentsInsuranceLimit, contentsDeductible, basePremium, tax, totalPremium, startDate, " +
+            "endDate, user, archiveReason, archivedAt) " +
+            "select p.id, p.homeOwner, p.home, p.liabilityLimit, p.deductible, p.contentsInsuranceLimit, " +
+            "p.contentsDeductible, p.basePremium, p.tax, p.totalPremium, p.startDate, p.endDate, p.user, " +
+            "?1, local datetime from homepolicy p";
+
+    /**
+     * Copy home policies to the archive in one statement, the caller deletes them from the homepolicy table
+     * in the same transaction
+     * @param reason why the home policies are archived
+     * @param ids the IDs of the home policies
+     * @return the number of home policies copied
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where p.id in ?2")
+    int copyByIdIn(ArchiveReason reason, Collection<Integer> ids);
+
+    /**
+     * Copy a home policy of a user to the archive in one statement, nothing is copied if the home policy
+     * belongs to another user. The caller deletes it from the homepolicy table in the same transaction
+     * @param reason why the home policy is archived
+     * @param id the ID of the home policy
+     * @param userId the ID of the user
+     * @return the number of home policies copied, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where p.id = ?2 and p.user.id = ?3")
+    int copyByIdAndUserId(ArchiveReason reason, Integer id, Integer userId);
+}
@@ -0,0 +1,49 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.ArchiveReason;
+import com.example.capstone.POJOS.ArchivedHomeQuote;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Transactional(readOnly = true)
+public interface ArchivedHomeQuoteRepository extends CrudRepository<ArchivedHomeQuote, Integer> {
+
+    /**
+     * Copy statement of the archiving queries, copying home quotes with the reason ?1
+     */
+    String COPY = "insert into archivedhomequote (id, homeOwner, home, liabilityLimit, deductible, " +
+            "contentsInsuranceLimit, contentsDeductible, basePremium, tax, totalPremium, startDate, " +
+            "endDate, user, archiveReason, archivedAt) " +
+            "select q.id, q.homeOwner, q.home, q.liabilityLimit, q.deductible, q.contentsInsuranceLimit, " +
+            "q.contentsDeductible, q.basePremium, q.tax, q.totalPremium, q.startDate, q.endDate, q.user, " +
+            "?1, local datetime from homequote q";
+
+    /**
+     * Copy home quotes to the archive in one statement, the caller deletes them from the homequote table
+     * in the same transaction
+     * @param reason why the home quotes are archived
+     * @param ids the IDs of the home quotes
+     * @return the number of home quotes copied
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where q.id in ?2")
+    int copyByIdIn(ArchiveReason reason, Collection<Integer> ids);
+
+    /**
+     * Copy a home quote of a user to the archive in one statement, nothing is copied if the home quote
+     * belongs to another user. The caller deletes it from the homequote table in the same transaction
+     * @param reason why the home quote is archived
+     * @param id the ID of the home quote
+     * @param userId the ID of the user
+     * @return the number of home quotes copied, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query(COPY + " where q.id = ?2 and q.user.id = ?3")
+    int copyByIdAndUserId(ArchiveReason reason, Integer id, Integer userId);
+}
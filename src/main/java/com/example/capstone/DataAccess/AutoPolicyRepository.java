@@ -1,14 +1,153 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.AutoPolicyExportRow;
+import com.example.capstone.DTO.AutoPolicyView;
+import com.example.capstone.DTO.AutoRatingInputs;
+import com.example.capstone.DTO.RowVersion;
 import com.example.capstone.POJOS.AutoPolicy;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Transactional(readOnly = true)
 public interface AutoPolicyRepository extends CrudRepository<AutoPolicy, Integer> {
 
     /**
-     * Get all auto policies for a user
+     * Get all auto policies, with their driver, vehicle and users loaded in the same query
+     * @return all auto policies
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
+    Iterable<AutoPolicy> findAll();
+
+    /**
+     * Get an auto policy by id, with its driver, vehicle and users loaded in the same query
+     * @param id the ID of the auto policy
+     * @return the auto policy, if found
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
+    Optional<AutoPolicy> findById(Integer id);
+
+    /**
+     * Get all auto policies for a user, with their driver, vehicle and users loaded in the same query
      * @param userId the ID of the user
      * @return all auto policies of the user
      */
+    @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
     Iterable<AutoPolicy> getAllByUserId(Integer userId);
+
+    /**
+     * Stream the rating attributes of every auto policy, must be consumed inside a transaction
+     * @return rating attributes of all auto policies
+     */
+    @Query("select new com.example.capstone.DTO.AutoRatingInputs(p.id, d.age, d.numberAccidents, v.year, p.totalPremium) " +
+            "from autopolicy p join p.driver d join p.vehicle v")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<AutoRatingInputs> streamRatingInputs();
+
+    /**
+     * Stream every auto policy with the rating attributes of its driver and vehicle, must be consumed
+     * inside a transaction
+     * @return auto policies ordered by id
+     */
+    @Query("select new com.example.capstone.DTO.AutoPolicyExportRow(p.id, p.user.id, d.id, v.id, d.age, " +
+            "d.numberAccidents, v.year, p.liabilityLimit, p.deductible, p.basePremium, p.tax, p.totalPremium) " +
+            "from autopolicy p left join p.driver d left join p.vehicle v order by p.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<AutoPolicyExportRow> streamExportRows();
+
+    /**
+     * Select clause of the AutoPolicyView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.AutoPolicyView(" +
+            "p.id, p.user.id, p.driver.id, p.vehicle.id, p.liabilityLimit, " +
+            "p.deductible, p.basePremium, p.tax, p.totalPremium, p.startDate, p.endDate) from autopolicy p";
+
+    /**
+     * Get a page of auto policies as flat views, selecting only the columns the API returns
+     * @param afterId read auto policies with an id greater than this id
+     * @param page the page size, unsorted
+     * @return auto policies ordered by id
+     */
+    @Query(SELECT_VIEW + " where p.id > ?1 order by p.id")
+    List<AutoPolicyView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of auto policies for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read auto policies with an id greater than this id
+     * @param page the page size, unsorted
+     * @return auto policies of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where p.user.id = ?1 and p.id > ?2 order by p.id")
+    List<AutoPolicyView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Get the ids and versions of one page of the auto policies of a user, without loading the auto policies
+     * @param userId the ID of the user
+     * @param afterId read auto policies with an id greater than this cursor
+     * @param page the page size
+     * @return the ids and versions of the auto policies, ordered by id
+     */
+    @Query("select new com.example.capstone.DTO.RowVersion(p.id, p.version) from autopolicy p " +
+            "where p.user.id = ?1 and p.id > ?2 order by p.id")
+    List<RowVersion> findVersionsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Stream every auto policy as a flat view, must be consumed inside a transaction.
+     * Rows are read from the database 1000 at a time as the stream is consumed
+     * @return auto policies ordered by id
+     */
+    @Query(SELECT_VIEW + " order by p.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<AutoPolicyView> streamViews();
+
+    /**
+     * Get the next auto policies ending on or before a date, with their driver, vehicle and users loaded in the
+     * same query. Policies are read in end date and id order from the end date index
+     * @param endsBy the last end date to read
+     * @param afterEndDate read auto policies ending after this date, or on it with an id greater than afterId
+     * @param afterId the ID of the last auto policy read
+     * @param page the page size, unsorted
+     * @return auto policies ordered by end date and id
+     */
+    @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
+    @Query("select p from autopolicy p where p.endDate <= ?1 and (p.endDate > ?2 or (p.endDate = ?2 and p.id > ?3)) " +
+            "order by p.endDate, p.id")
+    List<AutoPolicy> findEndingByAfter(LocalDate endsBy, LocalDate afterEndDate, Integer afterId, Pageable page);
+
+    /**
+     * Delete auto policies in one statement
+     * @param ids the IDs of the auto policies
+     * @return the number of auto policies deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from autopolicy p where p.id in ?1")
+    int deleteByIdIn(Collection<Integer> ids);
+
+    /**
+     * Delete an auto policy of a user in one statement, nothing is deleted if the auto policy belongs to another user
+     * @param id the ID of the auto policy
+     * @param userId the ID of the user
+     * @return the number of auto policies deleted, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from autopolicy p where p.id = ?1 and p.user.id = ?2")
+    int deleteByIdAndUserId(Integer id, Integer userId);
 }
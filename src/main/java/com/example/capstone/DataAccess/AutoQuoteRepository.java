@@ -1,14 +1,112 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.AutoQuoteView;
+import com.example.capstone.DTO.RowVersion;
 import com.example.capstone.POJOS.AutoQuote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
 public interface AutoQuoteRepository extends CrudRepository<AutoQuote, Integer> {
 
         /**
-        * Get all auto quotes for a user
-        * @param userId the ID of the user
-        * @return all auto quotes of the user
-        */
+         * Get all auto quotes, with their driver, vehicle and users loaded in the same query
+         * @return all auto quotes
+         */
+        @Override
+        @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
+        Iterable<AutoQuote> findAll();
+
+        /**
+         * Get an auto quote by id, with its driver, vehicle and users loaded in the same query
+         * @param id the ID of the auto quote
+         * @return the auto quote, if found
+         */
+        @Override
+        @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
+        Optional<AutoQuote> findById(Integer id);
+
+        /**
+         * Get all auto quotes for a user, with their driver, vehicle and users loaded in the same query
+         * @param userId the ID of the user
+         * @return all auto quotes of the user
+         */
+        @EntityGraph(attributePaths = {"user", "driver", "driver.user", "vehicle", "vehicle.user"})
         Iterable<AutoQuote> getAllByUserId(Integer userId);
+
+        /**
+         * Select clause of the AutoQuoteView queries
+         */
+        String SELECT_VIEW = "select new com.example.capstone.DTO.AutoQuoteView(" +
+                "q.id, q.user.id, q.driver.id, q.vehicle.id, q.liabilityLimit, " +
+                "q.deductible, q.basePremium, q.tax, q.totalPremium, q.startDate, q.endDate) from autoquote q";
+
+        /**
+         * Get a page of auto quotes as flat views, selecting only the columns the API returns
+         * @param afterId read auto quotes with an id greater than this id
+         * @param page the page size, unsorted
+         * @return auto quotes ordered by id
+         */
+        @Query(SELECT_VIEW + " where q.id > ?1 order by q.id")
+        List<AutoQuoteView> findViewsAfter(Integer afterId, Pageable page);
+
+        /**
+         * Get a page of auto quotes for a user as flat views, selecting only the columns the API returns
+         * @param userId the ID of the user
+         * @param afterId read auto quotes with an id greater than this id
+         * @param page the page size, unsorted
+         * @return auto quotes of the user ordered by id
+         */
+        @Query(SELECT_VIEW + " where q.user.id = ?1 and q.id > ?2 order by q.id")
+        List<AutoQuoteView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+        /**
+         * Get the ids and versions of one page of the auto quotes of a user, without loading the auto quotes
+         * @param userId the ID of the user
+         * @param afterId read auto quotes with an id greater than this cursor
+         * @param page the page size
+         * @return the ids and versions of the auto quotes, ordered by id
+         */
+        @Query("select new com.example.capstone.DTO.RowVersion(q.id, q.version) from autoquote q " +
+                "where q.user.id = ?1 and q.id > ?2 order by q.id")
+        List<RowVersion> findVersionsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+        /**
+         * Get the ids of auto quotes that ended before a date, oldest first, read from the end date index
+         * @param date the first date the quotes are no longer valid on
+         * @param page the page size, unsorted
+         * @return ids of expired auto quotes
+         */
+        @Query("select q.id from autoquote q where q.endDate < ?1 order by q.endDate, q.id")
+        List<Integer> findIdsEndedBefore(LocalDate date, Pageable page);
+
+        /**
+         * Delete auto quotes in one statement
+         * @param ids the IDs of the auto quotes
+         * @return the number of auto quotes deleted
+         */
+        @Transactional
+        @Modifying
+        @Query("delete from autoquote q where q.id in ?1")
+        int deleteByIdIn(Collection<Integer> ids);
+
+        /**
+         * Delete an auto quote of a user in one statement, nothing is deleted if the auto quote belongs to another user
+         * @param id the ID of the auto quote
+         * @param userId the ID of the user
+         * @return the number of auto quotes deleted, 0 or 1
+         */
+        @Transactional
+        @Modifying
+        @Query("delete from autoquote q where q.id = ?1 and q.user.id = ?2")
+        int deleteByIdAndUserId(Integer id, Integer userId);
 }
@@ -1,8 +1,20 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.AutoView;
 import com.example.capstone.POJOS.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+@Transactional(readOnly = true)
 public interface AutoRepository extends CrudRepository<Vehicle, Integer> {
 
     /**
@@ -10,5 +22,70 @@ public interface AutoRepository extends CrudRepository<Vehicle, Integer> {
      * @param userId the ID of the user
      * @return all vehicles of the user
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Iterable<Vehicle> getAllByUserId(Integer userId);
+
+    /**
+     * Select clause of the AutoView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.AutoView(" +
+            "a.id, a.user.id, a.year, " +
+            "a.model, a.make) from auto a";
+
+    /**
+     * Get a page of vehicles as flat views, selecting only the columns the API returns
+     * @param afterId read vehicles with an id greater than this id
+     * @param page the page size, unsorted
+     * @return vehicles ordered by id
+     */
+    @Query(SELECT_VIEW + " where a.id > ?1 order by a.id")
+    List<AutoView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of vehicles for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read vehicles with an id greater than this id
+     * @param page the page size, unsorted
+     * @return vehicles of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where a.user.id = ?1 and a.id > ?2 order by a.id")
+    List<AutoView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Update a vehicle of a user, nothing is changed if the vehicle belongs to another user. The vehicle is read
+     * through the second-level cache and written back by id and version, which replaces only its own cache entry
+     * where a bulk update would empty the whole auto region
+     * @param id the ID of the vehicle
+     * @param userId the ID of the user
+     * @param year the new year
+     * @param model the new model
+     * @param make the new make
+     * @return the number of vehicles updated, 0 or 1
+     */
+    @Transactional
+    default int updateByIdAndUserId(Integer id, Integer userId, int year, String model, String make) {
+        Optional<Vehicle> vehicle = findById(id)
+                .filter(v -> v.getUser() != null && userId.equals(v.getUser().getId()));
+        vehicle.ifPresent(v -> {
+            v.setYear(year);
+            v.setModel(model);
+            v.setMake(make);
+        });
+        return vehicle.isPresent() ? 1 : 0;
+    }
+
+    /**
+     * Delete a vehicle of a user, nothing is deleted if the vehicle belongs to another user. Only the vehicle's
+     * own cache entry is evicted
+     * @param id the ID of the vehicle
+     * @param userId the ID of the user
+     * @return the number of vehicles deleted, 0 or 1
+     */
+    @Transactional
+    default int deleteByIdAndUserId(Integer id, Integer userId) {
+        Optional<Vehicle> vehicle = findById(id)
+                .filter(v -> v.getUser() != null && userId.equals(v.getUser().getId()));
+        vehicle.ifPresent(this::delete);
+        return vehicle.isPresent() ? 1 : 0;
+    }
 }
@@ -1,10 +1,21 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.DriverView;
 import com.example.capstone.POJOS.Driver;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+@Transactional(readOnly = true)
 public interface DriverRepository extends CrudRepository<Driver, Integer> {
 
     /**
@@ -12,6 +23,7 @@ public interface DriverRepository extends CrudRepository<Driver, Integer> {
      * @param userId the ID of the user
      * @return all drivers of the user
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Iterable<Driver> getAllByUserId(Integer userId);
 
     /**
@@ -19,5 +31,75 @@ public interface DriverRepository extends CrudRepository<Driver, Integer> {
      * @param userId the ID of the user
      * @return the driver of the user
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Driver> getDriverByUserId(Integer userId);
+
+    /**
+     * Get all drivers for a set of users
+     * @param userIds the IDs of the users
+     * @return all drivers of the users
+     */
+    Iterable<Driver> getAllByUserIdIn(Collection<Integer> userIds);
+
+    /**
+     * Select clause of the DriverView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.DriverView(" +
+            "d.id, d.user.id, d.age, " +
+            "d.address, d.numberAccidents) from driver d";
+
+    /**
+     * Get a page of drivers as flat views, selecting only the columns the API returns
+     * @param afterId read drivers with an id greater than this id
+     * @param page the page size, unsorted
+     * @return drivers ordered by id
+     */
+    @Query(SELECT_VIEW + " where d.id > ?1 order by d.id")
+    List<DriverView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of drivers for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read drivers with an id greater than this id
+     * @param page the page size, unsorted
+     * @return drivers of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where d.user.id = ?1 and d.id > ?2 order by d.id")
+    List<DriverView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Update a driver of a user, nothing is changed if the driver belongs to another user. The driver usually
+     * comes from the second-level cache, and the update by id and version leaves the other cached drivers alone
+     * @param id the ID of the driver
+     * @param userId the ID of the user
+     * @param age the new age
+     * @param address the new address
+     * @param numberAccidents the new number accidents
+     * @return the number of drivers updated, 0 or 1
+     */
+    @Transactional
+    default int updateByIdAndUserId(Integer id, Integer userId, int age, String address, int numberAccidents) {
+        Optional<Driver> driver = findById(id)
+                .filter(d -> d.getUser() != null && userId.equals(d.getUser().getId()));
+        driver.ifPresent(d -> {
+            d.setAge(age);
+            d.setAddress(address);
+            d.setNumberAccidents(numberAccidents);
+        });
+        return driver.isPresent() ? 1 : 0;
+    }
+
+    /**
+     * Delete a driver of a user, nothing is deleted if the driver belongs to another user
+     * @param id the ID of the driver
+     * @param userId the ID of the user
+     * @return the number of drivers deleted, 0 or 1
+     */
+    @Transactional
+    default int deleteByIdAndUserId(Integer id, Integer userId) {
+        Optional<Driver> driver = findById(id)
+                .filter(d -> d.getUser() != null && userId.equals(d.getUser().getId()));
+        driver.ifPresent(this::delete);
+        return driver.isPresent() ? 1 : 0;
+    }
 }
@@ -1,14 +1,154 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.HomePolicyExportRow;
+import com.example.capstone.DTO.HomePolicyView;
+import com.example.capstone.DTO.HomeRatingInputs;
+import com.example.capstone.DTO.RowVersion;
 import com.example.capstone.POJOS.HomePolicy;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Transactional(readOnly = true)
 public interface HomePolicyRepository extends CrudRepository<HomePolicy, Integer> {
 
     /**
-     * Get all home policies for a user
+     * Get all home policies, with their homeowner, home and users loaded in the same query
+     * @return all home policies
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
+    Iterable<HomePolicy> findAll();
+
+    /**
+     * Get a home policy by id, with its homeowner, home and users loaded in the same query
+     * @param id the ID of the home policy
+     * @return the home policy, if found
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
+    Optional<HomePolicy> findById(Integer id);
+
+    /**
+     * Get all home policies for a user, with their homeowner, home and users loaded in the same query
      * @param userId the ID of the user
      * @return all home policies of the user
      */
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
     Iterable<HomePolicy> getAllByUserId(Integer userId);
+
+    /**
+     * Stream the rating attributes of every home policy, must be consumed inside a transaction
+     * @return rating attributes of all home policies
+     */
+    @Query("select new com.example.capstone.DTO.HomeRatingInputs(p.id, h.value, h.dateBuilt, h.heatingType, h.location, p.totalPremium) " +
+            "from homepolicy p join p.home h")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<HomeRatingInputs> streamRatingInputs();
+
+    /**
+     * Stream every home policy with the rating attributes of its home, must be consumed inside a transaction
+     * @return home policies ordered by id
+     */
+    @Query("select new com.example.capstone.DTO.HomePolicyExportRow(p.id, p.user.id, p.homeOwner.id, h.id, " +
+            "h.value, h.dateBuilt, h.dwellingType, h.heatingType, h.location, p.liabilityLimit, p.deductible, " +
+            "p.contentsInsuranceLimit, p.contentsDeductible, p.basePremium, p.tax, p.totalPremium) " +
+            "from homepolicy p left join p.home h order by p.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<HomePolicyExportRow> streamExportRows();
+
+    /**
+     * Select clause of the HomePolicyView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.HomePolicyView(" +
+            "p.id, p.user.id, p.homeOwner.id, p.home.id, p.liabilityLimit, p.deductible, " +
+            "p.contentsInsuranceLimit, p.contentsDeductible, p.basePremium, p.tax, p.totalPremium, p.startDate, p.endDate) " +
+            "from homepolicy p";
+
+    /**
+     * Get a page of home policies as flat views, selecting only the columns the API returns
+     * @param afterId read home policies with an id greater than this id
+     * @param page the page size, unsorted
+     * @return home policies ordered by id
+     */
+    @Query(SELECT_VIEW + " where p.id > ?1 order by p.id")
+    List<HomePolicyView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of home policies for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read home policies with an id greater than this id
+     * @param page the page size, unsorted
+     * @return home policies of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where p.user.id = ?1 and p.id > ?2 order by p.id")
+    List<HomePolicyView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Get the ids and versions of one page of the home policies of a user, without loading the home policies
+     * @param userId the ID of the user
+     * @param afterId read home policies with an id greater than this cursor
+     * @param page the page size
+     * @return the ids and versions of the home policies, ordered by id
+     */
+    @Query("select new com.example.capstone.DTO.RowVersion(p.id, p.version) from homepolicy p " +
+            "where p.user.id = ?1 and p.id > ?2 order by p.id")
+    List<RowVersion> findVersionsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Stream every home policy as a flat view, must be consumed inside a transaction.
+     * Rows are read from the database 1000 at a time as the stream is consumed
+     * @return home policies ordered by id
+     */
+    @Query(SELECT_VIEW + " order by p.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<HomePolicyView> streamViews();
+
+    /**
+     * Get the next home policies ending on or before a date, with their homeowner, home and users loaded in the
+     * same query. Policies are read in end date and id order from the end date index
+     * @param endsBy the last end date to read
+     * @param afterEndDate read home policies ending after this date, or on it with an id greater than afterId
+     * @param afterId the ID of the last home policy read
+     * @param page the page size, unsorted
+     * @return home policies ordered by end date and id
+     */
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
+    @Query("select p from homepolicy p where p.endDate <= ?1 and (p.endDate > ?2 or (p.endDate = ?2 and p.id > ?3)) " +
+            "order by p.endDate, p.id")
+    List<HomePolicy> findEndingByAfter(LocalDate endsBy, LocalDate afterEndDate, Integer afterId, Pageable page);
+
+    /**
+     * Delete home policies in one statement
+     * @param ids the IDs of the home policies
+     * @return the number of home policies deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from homepolicy p where p.id in ?1")
+    int deleteByIdIn(Collection<Integer> ids);
+
+    /**
+     * Delete a home policy of a user in one statement, nothing is deleted if the home policy belongs to another user
+     * @param id the ID of the home policy
+     * @param userId the ID of the user
+     * @return the number of home policies deleted, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from homepolicy p where p.id = ?1 and p.user.id = ?2")
+    int deleteByIdAndUserId(Integer id, Integer userId);
 }
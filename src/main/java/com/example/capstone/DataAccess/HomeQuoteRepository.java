@@ -1,13 +1,112 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.HomeQuoteView;
+import com.example.capstone.DTO.RowVersion;
 import com.example.capstone.POJOS.HomeQuote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
 public interface HomeQuoteRepository extends CrudRepository<HomeQuote, Integer>{
     /**
-     * Get all home quotes for a user
+     * Get all home quotes, with their homeowner, home and users loaded in the same query
+     * @return all home quotes
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
+    Iterable<HomeQuote> findAll();
+
+    /**
+     * Get a home quote by id, with its homeowner, home and users loaded in the same query
+     * @param id the ID of the home quote
+     * @return the home quote, if found
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
+    Optional<HomeQuote> findById(Integer id);
+
+    /**
+     * Get all home quotes for a user, with their homeowner, home and users loaded in the same query
      * @param userId the ID of the user
      * @return all home quotes of the user
      */
+    @EntityGraph(attributePaths = {"user", "homeOwner", "homeOwner.user", "home", "home.user"})
     Iterable<HomeQuote> getAllByUserId(Integer userId);
+
+    /**
+     * Select clause of the HomeQuoteView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.HomeQuoteView(" +
+            "q.id, q.user.id, q.homeOwner.id, q.home.id, q.liabilityLimit, q.deductible, " +
+            "q.contentsInsuranceLimit, q.contentsDeductible, q.basePremium, q.tax, q.totalPremium, q.startDate, q.endDate) " +
+            "from homequote q";
+
+    /**
+     * Get a page of home quotes as flat views, selecting only the columns the API returns
+     * @param afterId read home quotes with an id greater than this id
+     * @param page the page size, unsorted
+     * @return home quotes ordered by id
+     */
+    @Query(SELECT_VIEW + " where q.id > ?1 order by q.id")
+    List<HomeQuoteView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of home quotes for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read home quotes with an id greater than this id
+     * @param page the page size, unsorted
+     * @return home quotes of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where q.user.id = ?1 and q.id > ?2 order by q.id")
+    List<HomeQuoteView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Get the ids and versions of one page of the home quotes of a user, without loading the home quotes
+     * @param userId the ID of the user
+     * @param afterId read home quotes with an id greater than this cursor
+     * @param page the page size
+     * @return the ids and versions of the home quotes, ordered by id
+     */
+    @Query("select new com.example.capstone.DTO.RowVersion(q.id, q.version) from homequote q " +
+            "where q.user.id = ?1 and q.id > ?2 order by q.id")
+    List<RowVersion> findVersionsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Get the ids of home quotes that ended before a date, oldest first, read from the end date index
+     * @param date the first date the quotes are no longer valid on
+     * @param page the page size, unsorted
+     * @return ids of expired home quotes
+     */
+    @Query("select q.id from homequote q where q.endDate < ?1 order by q.endDate, q.id")
+    List<Integer> findIdsEndedBefore(LocalDate date, Pageable page);
+
+    /**
+     * Delete home quotes in one statement
+     * @param ids the IDs of the home quotes
+     * @return the number of home quotes deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from homequote q where q.id in ?1")
+    int deleteByIdIn(Collection<Integer> ids);
+
+    /**
+     * Delete a home quote of a user in one statement, nothing is deleted if the home quote belongs to another user
+     * @param id the ID of the home quote
+     * @param userId the ID of the user
+     * @return the number of home quotes deleted, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from homequote q where q.id = ?1 and q.user.id = ?2")
+    int deleteByIdAndUserId(Integer id, Integer userId);
 }
@@ -1,8 +1,24 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.HomeView;
+import com.example.capstone.POJOS.DwellingType;
+import com.example.capstone.POJOS.HeatingType;
 import com.example.capstone.POJOS.Home;
+import com.example.capstone.POJOS.Location;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+@Transactional(readOnly = true)
 public interface HomeRepository extends CrudRepository<Home, Integer> {
 
     /**
@@ -10,5 +26,74 @@ public interface HomeRepository extends CrudRepository<Home, Integer> {
      * @param userId the ID of the user
      * @return all homes of the user
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Iterable<Home> getAllByUserId(Integer userId);
+
+    /**
+     * Select clause of the HomeView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.HomeView(" +
+            "h.id, h.user.id, h.dateBuilt, h.value, " +
+            "h.dwellingType, h.heatingType, h.location) from home h";
+
+    /**
+     * Get a page of homes as flat views, selecting only the columns the API returns
+     * @param afterId read homes with an id greater than this id
+     * @param page the page size, unsorted
+     * @return homes ordered by id
+     */
+    @Query(SELECT_VIEW + " where h.id > ?1 order by h.id")
+    List<HomeView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of homes for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read homes with an id greater than this id
+     * @param page the page size, unsorted
+     * @return homes of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where h.user.id = ?1 and h.id > ?2 order by h.id")
+    List<HomeView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Update a home of a user, nothing is changed if the home belongs to another user. Read from the
+     * second-level cache when it is there, and written by id and version so the rest of the home region stays
+     * cached
+     * @param id the ID of the home
+     * @param userId the ID of the user
+     * @param dateBuilt the new date built
+     * @param value the new value
+     * @param dwellingType the new dwelling type
+     * @param heatingType the new heating type
+     * @param location the new location
+     * @return the number of homes updated, 0 or 1
+     */
+    @Transactional
+    default int updateByIdAndUserId(Integer id, Integer userId, LocalDate dateBuilt, double value,
+                                    DwellingType dwellingType, HeatingType heatingType, Location location) {
+        Optional<Home> home = findById(id)
+                .filter(h -> h.getUser() != null && userId.equals(h.getUser().getId()));
+        home.ifPresent(h -> {
+            h.setDateBuilt(dateBuilt);
+            h.setValue(value);
+            h.setDwellingType(dwellingType);
+            h.setHeatingType(heatingType);
+            h.setLocation(location);
+        });
+        return home.isPresent() ? 1 : 0;
+    }
+
+    /**
+     * Delete a home of a user, nothing is deleted if the home belongs to another user
+     * @param id the ID of the home
+     * @param userId the ID of the user
+     * @return the number of homes deleted, 0 or 1
+     */
+    @Transactional
+    default int deleteByIdAndUserId(Integer id, Integer userId) {
+        Optional<Home> home = findById(id)
+                .filter(h -> h.getUser() != null && userId.equals(h.getUser().getId()));
+        home.ifPresent(this::delete);
+        return home.isPresent() ? 1 : 0;
+    }
 }
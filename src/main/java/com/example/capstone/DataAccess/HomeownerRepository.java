@@ -1,10 +1,21 @@
 package com.example.capstone.DataAccess;
 
+import com.example.capstone.DTO.HomeOwnerView;
 import com.example.capstone.POJOS.HomeOwner;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+@Transactional(readOnly = true)
 public interface HomeownerRepository extends CrudRepository<HomeOwner, Integer> {
 
     /**
@@ -12,6 +23,7 @@ public interface HomeownerRepository extends CrudRepository<HomeOwner, Integer>
      * @param userId the ID of the user
      * @return all drivers of the user
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Iterable<HomeOwner> getAllByUserId(Integer userId);
 
     /**
@@ -19,5 +31,73 @@ public interface HomeownerRepository extends CrudRepository<HomeOwner, Integer>
      * @param userId the ID of the user
      * @return the homeowner of the user
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<HomeOwner> getHomeOwnerByUserId(Integer userId);
-}
\ No newline at end of file
+
+    /**
+     * Get all homeowners for a set of users
+     * @param userIds the IDs of the users
+     * @return all homeowners of the users
+     */
+    Iterable<HomeOwner> getAllByUserIdIn(Collection<Integer> userIds);
+
+    /**
+     * Select clause of the HomeOwnerView queries
+     */
+    String SELECT_VIEW = "select new com.example.capstone.DTO.HomeOwnerView(" +
+            "o.id, o.user.id, o.age, " +
+            "o.address) from homeowner o";
+
+    /**
+     * Get a page of homeowners as flat views, selecting only the columns the API returns
+     * @param afterId read homeowners with an id greater than this id
+     * @param page the page size, unsorted
+     * @return homeowners ordered by id
+     */
+    @Query(SELECT_VIEW + " where o.id > ?1 order by o.id")
+    List<HomeOwnerView> findViewsAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get a page of homeowners for a user as flat views, selecting only the columns the API returns
+     * @param userId the ID of the user
+     * @param afterId read homeowners with an id greater than this id
+     * @param page the page size, unsorted
+     * @return homeowners of the user ordered by id
+     */
+    @Query(SELECT_VIEW + " where o.user.id = ?1 and o.id > ?2 order by o.id")
+    List<HomeOwnerView> findViewsByUserIdAfter(Integer userId, Integer afterId, Pageable page);
+
+    /**
+     * Update a homeowner of a user, nothing is changed if the homeowner belongs to another user. Writing the
+     * entity rather than running a bulk update keeps the other homeowners in the second-level cache
+     * @param id the ID of the homeowner
+     * @param userId the ID of the user
+     * @param age the new age
+     * @param address the new address
+     * @return the number of homeowners updated, 0 or 1
+     */
+    @Transactional
+    default int updateByIdAndUserId(Integer id, Integer userId, int age, String address) {
+        Optional<HomeOwner> homeOwner = findById(id)
+                .filter(o -> o.getUser() != null && userId.equals(o.getUser().getId()));
+        homeOwner.ifPresent(o -> {
+            o.setAge(age);
+            o.setAddress(address);
+        });
+        return homeOwner.isPresent() ? 1 : 0;
+    }
+
+    /**
+     * Delete a homeowner of a user, nothing is deleted if the homeowner belongs to another user
+     * @param id the ID of the homeowner
+     * @param userId the ID of the user
+     * @return the number of homeowners deleted, 0 or 1
+     */
+    @Transactional
+    default int deleteByIdAndUserId(Integer id, Integer userId) {
+        Optional<HomeOwner> homeOwner = findById(id)
+                .filter(o -> o.getUser() != null && userId.equals(o.getUser().getId()));
+        homeOwner.ifPresent(this::delete);
+        return homeOwner.isPresent() ? 1 : 0;
+    }
+}
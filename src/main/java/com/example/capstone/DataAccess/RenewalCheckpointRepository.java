@@ -0,0 +1,24 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.RenewalCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface RenewalCheckpointRepository extends CrudRepository<RenewalCheckpoint, String> {
+
+    /**
+     * Get the checkpoint of a policy book and lock it until the transaction ends, so only one instance
+     * renews a book at a time. Must be called inside a read-write transaction
+     * @param book the policy book
+     * @return the checkpoint, if a run has started
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from renewalcheckpoint c where c.book = ?1")
+    Optional<RenewalCheckpoint> lockByBook(String book);
+}
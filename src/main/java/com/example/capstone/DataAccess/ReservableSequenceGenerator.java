@@ -0,0 +1,48 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.Quote;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pooled sequence generator that keeps an id reserved for a quote before it was persisted. Ids
+ * handed out ahead of the insert come from the same pooled blocks as ordinary inserts, so both
+ * kinds of quotes share one id space
+ */
+public class ReservableSequenceGenerator extends SequenceStyleGenerator {
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (object instanceof Quote quote && quote.getReservedId() != null) {
+            return quote.getReservedId();
+        }
+        return super.generate(session, object);
+    }
+
+    /**
+     * Reserves a block of ids for quotes that are persisted later. The ids are taken from the pooled
+     * optimizer, which reads the sequence once per increment, so a block of the increment size costs
+     * at most one sequence call
+     * @param session A session the sequence is read with if the current pool runs out
+     * @param count The number of ids to reserve
+     * @return The reserved ids, in ascending order
+     */
+    public List<Integer> reserve(SharedSessionContractImplementor session, int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(((Number) super.generate(session, null)).intValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the number of ids the sequence hands out per call
+     * @return The increment size of the pooled optimizer
+     */
+    public int getBlockSize() {
+        return getOptimizer().getIncrementSize();
+    }
+}
@@ -1,7 +1,61 @@
 package com.example.capstone.DataAccess;
 
 import com.example.capstone.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
 public interface UserRepository extends CrudRepository<User, Integer> {
+
+    /**
+     * Get a page of users
+     * @param afterId read users with an id greater than this id
+     * @param page the page size, unsorted
+     * @return users ordered by id
+     */
+    @Query("select u from user u where u.id > ?1 order by u.id")
+    List<User> findAfter(Integer afterId, Pageable page);
+
+    /**
+     * Get which of the given user ids belong to a user
+     * @param ids the user ids to look up
+     * @return the ids of the users found
+     */
+    @Query("select u.id from user u where u.id in ?1")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+
+    /**
+     * Update a user through the entity, so only the user's own entry in the second-level cache is replaced
+     * @param id the ID of the user
+     * @param name the new name
+     * @param email the new email
+     * @return the number of users updated, 0 or 1
+     */
+    @Transactional
+    default int updateById(Integer id, String name, String email) {
+        Optional<User> user = findById(id);
+        user.ifPresent(u -> {
+            u.setName(name);
+            u.setEmail(email);
+        });
+        return user.isPresent() ? 1 : 0;
+    }
+
+    /**
+     * Delete a user through the entity, evicting only the user's own cache entry
+     * @param id the ID of the user
+     * @return the number of users deleted, 0 or 1
+     */
+    @Transactional
+    default int deleteUserById(Integer id) {
+        Optional<User> user = findById(id);
+        user.ifPresent(this::delete);
+        return user.isPresent() ? 1 : 0;
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.capstone.POJOS;
+
+/**
+ * Why a quote or policy was moved to the archive
+ */
+public enum ArchiveReason {
+
+    /**
+     * Cancelled by the user
+     */
+    CANCELLED,
+
+    /**
+     * Replaced by its renewal
+     */
+    SUPERSEDED,
+
+    /**
+     * Past its end date
+     */
+    EXPIRED
+}
@@ -0,0 +1,155 @@
+package com.example.capstone.POJOS;
+
+import com.example.capstone.User;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.persistence.*;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A cancelled, superseded or expired auto policy, moved out of the autopolicy table so that only live
+ * auto policies stay in it. The related objects are referenced without foreign keys, as they can be deleted
+ * while the archived auto policy is kept, and are missing from it once they are
+ */
+@Entity(name = "archivedautopolicy")
+@Table(name = "autopolicy_archive")
+public class ArchivedAutoPolicy {
+    @Id private Integer id;
+    @ManyToOne @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "driver_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) private Driver driver;
+    @ManyToOne @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "vehicle_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) private Vehicle vehicle;
+    @Column(name = "liability_limit_cents") private long liabilityLimit;
+    @Column(name = "deductible_cents") private long deductible;
+    @Column(name = "base_premium_cents") private long basePremium;
+    private double tax;
+    @Column(name = "total_premium_cents") private long totalPremium;
+    @Column(name = "start_date") private LocalDate startDate;
+    @Column(name = "end_date") private LocalDate endDate;
+    @ManyToOne @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) private User user;
+    @Enumerated(EnumType.STRING) @Column(name = "archive_reason") private ArchiveReason archiveReason;
+    @Column(name = "archived_at") private LocalDateTime archivedAt;
+
+    protected ArchivedAutoPolicy() {
+    }
+
+    /**
+     * Gets the id of the auto policy
+     * @return The auto policy id
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Gets the insured person of the auto policy
+     * @return The insured person, or null if deleted
+     */
+    public Person getInsuredPerson() {
+        return driver;
+    }
+
+    /**
+     * Gets the insured driver of the auto policy
+     * @return The driver, or null if deleted
+     */
+    public Driver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Gets the insured vehicle of the auto policy
+     * @return The vehicle, or null if deleted
+     */
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    /**
+     * Gets the liability limit of the auto policy
+     * @return The liability limit, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getLiabilityLimit() {
+        return liabilityLimit;
+    }
+
+    /**
+     * Gets the deductible of the auto policy
+     * @return The deductible, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getDeductible() {
+        return deductible;
+    }
+
+    /**
+     * Gets the base premium of the auto policy
+     * @return The base premium, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getBasePremium() {
+        return basePremium;
+    }
+
+    /**
+     * Gets the tax of the auto policy
+     * @return The tax factor
+     */
+    public double getTax() {
+        return tax;
+    }
+
+    /**
+     * Gets the total premium of the auto policy
+     * @return The total premium, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getTotalPremium() {
+        return totalPremium;
+    }
+
+    /**
+     * Gets the start date of the auto policy
+     * @return The start date, or null if it was not stored
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the auto policy
+     * @return The end date, or null if it was not stored
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the user of the auto policy
+     * @return The user, or null if deleted
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the reason the auto policy was archived
+     * @return Why the auto policy was archived
+     */
+    public ArchiveReason getArchiveReason() {
+        return archiveReason;
+    }
+
+    /**
+     * Gets the time the auto policy was archived
+     * @return The time it was archived
+     */
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.capstone.POJOS;
+
+import com.example.capstone.User;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.persistence.*;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A cancelled, superseded or expired home policy, moved out of the homepolicy table so that only live
+ * home policies stay in it. The related objects are referenced without foreign keys, as they can be deleted
+ * while the archived home policy is kept, and are missing from it once they are
+ */
+@Entity(name = "archivedhomepolicy")
+@Table(name = "homepolicy_archive")
+public class ArchivedHomePolicy {
+    @Id private Integer id;
+    @ManyToOne @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "home_owner_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) private HomeOwner homeOwner;
+    @ManyToOne @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "home_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) private Home home;
+    @Column(name = "liability_limit_cents") private long liabilityLimit;
+    @Column(name = "deductible_cents") private long deductible;
+    @Column(name = "contents_insurance_limit_cents") private long contentsInsuranceLimit;
+    @Column(name = "contents_deductible_cents") private long contentsDeductible;
+    @Column(name = "base_premium_cents") private long basePremium;
+    private double tax;
+    @Column(name = "total_premium_cents") private long totalPremium;
+    @Column(name = "start_date") private LocalDate startDate;
+    @Column(name = "end_date") private LocalDate endDate;
+    @ManyToOne @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) private User user;
+    @Enumerated(EnumType.STRING) @Column(name = "archive_reason") private ArchiveReason archiveReason;
+    @Column(name = "archived_at") private LocalDateTime archivedAt;
+
+    protected ArchivedHomePolicy() {
+    }
+
+    /**
+     * Gets the id of the home policy
+     * @return The home policy id
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Gets the insured person of the home policy
+     * @return The insured person, or null if deleted
+     */
+    public Person getInsuredPerson() {
+        return homeOwner;
+    }
+
+    /**
+     * Gets the insured homeowner of the home policy
+     * @return The homeowner, or null if deleted
+     */
+    public HomeOwner getHomeOwner() {
+        return homeOwner;
+    }
+
+    /**
+     * Gets the insured home of the home policy
+     * @return The home, or null if deleted
+     */
+    public Home getHome() {
+        return home;
+    }
+
+    /**
+     * Gets the liability limit of the home policy
+     * @return The liability limit, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getLiabilityLimit() {
+        return liabilityLimit;
+    }
+
+    /**
+     * Gets the deductible of the home policy
+     * @return The deductible, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getDeductible() {
+        return deductible;
+    }
+
+    /**
+     * Gets the contents insurance limit of the home policy
+     * @return The contents insurance limit, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getContentsInsuranceLimit() {
+        return contentsInsuranceLimit;
+    }
+
+    /**
+     * Gets the contents deductible of the home policy
+     * @return The contents deductible, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getContentsDeductible() {
+        return contentsDeductible;
+    }
+
+    /**
+     * Gets the base premium of the home policy
+     * @return The base premium, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getBasePremium() {
+        return basePremium;
+    }
+
+    /**
+     * Gets the tax of the home policy
+     * @return The tax factor
+     */
+    public double getTax() {
+        return tax;
+    }
+
+    /**
+     * Gets the total premium of the home policy
+     * @return The total premium, in cents
+     */
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getTotalPremium() {
+        return totalPremium;
+    }
+
+    /**
+     * Gets the start date of the home policy
+     * @return The start date, or null if it was not stored
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the home policy
+     * @return The end date, or null if it was not stored
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the user of the home policy
+     * @return The user, or null if deleted
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the reason the home policy was archived
+     * @return Why the home policy was archived
+     */
+    public ArchiveReason getArchiveReason() {
+        return archiveReason;
+    }
+
+    /**
+     * Gets the time the home policy was archived
+     * @return The time it was archived
+     */
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -1,22 +1,33 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
 
 /**
  * Extends Policy Abstract class
  * Creates AutoPolicy objects having a driver, vehicle, liability limit, deductible base premium, and tax
  */
 @Entity(name = "autopolicy")
-public class AutoPolicy extends Policy {
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+@Table(indexes = @Index(name = "autopolicy_end_date_idx", columnList = "end_date, id"))
+public class AutoPolicy extends Policy implements Versioned {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "autopolicy_seq")
+    @SequenceGenerator(name = "autopolicy_seq", sequenceName = "autopolicy_SEQ", allocationSize = 50)
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     @OneToOne private final Driver driver;
     @OneToOne private final Vehicle vehicle;
-    private final double liabilityLimit;
-    private final double deductible;
-    private final double basePremium;
+    @Column(name = "liability_limit_cents") private final long liabilityLimit;
+    @Column(name = "deductible_cents") private final long deductible;
+    @Column(name = "base_premium_cents") private final long basePremium;
     private final double tax;
-    private final double totalPremium;
+    @Column(name = "total_premium_cents") private final long totalPremium;
+    @Column(name = "start_date", nullable = false) private final LocalDate startDate;
+    @Column(name = "end_date", nullable = false) private final LocalDate endDate;
 
     @ManyToOne @JoinColumn(name = "user_id") private User user;
 
@@ -29,6 +40,8 @@ public class AutoPolicy extends Policy {
         this.basePremium = 0;
         this.tax = 0;
         this.totalPremium = 0;
+        this.startDate = null;
+        this.endDate = null;
     }
 
     /**
@@ -44,6 +57,8 @@ public class AutoPolicy extends Policy {
         this.basePremium = builder.basePremium;
         this.tax = builder.tax;
         this.totalPremium = builder.totalPremium;
+        this.startDate = builder.startDate != null ? builder.startDate : super.getStartDate();
+        this.endDate = builder.startDate != null ? builder.startDate.plusYears(1) : super.getEndDate();
     }
 
     /**
@@ -62,6 +77,16 @@ public class AutoPolicy extends Policy {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the auto policy, incremented by every update
+     * @return The version of the auto policy
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the insured person object of the Policy object
      * @return A Person object representing a policy's insured person
@@ -81,17 +106,19 @@ public class AutoPolicy extends Policy {
 
     /**
      * Gets the liability limit of an Auto Policy
-     * @return A numeric value representing the liability limit of an Auto Policy
+     * @return A numeric value representing the liability limit of an Auto Policy, in cents
      */
-    public double getLiabilityLimit() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getLiabilityLimit() {
         return liabilityLimit;
     }
 
     /**
      * Gets the deductible of an Auto Policy
-     * @return A numeric value representing the deductible of an Auto Policy
+     * @return A numeric value representing the deductible of an Auto Policy, in cents
      */
-    public double getDeductible() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getDeductible() {
         return deductible;
     }
 
@@ -105,9 +132,10 @@ public class AutoPolicy extends Policy {
 
     /**
      * Gets the base premium of an Auto Policy
-     * @return A numeric value representing the base premium of an Auto Policy
+     * @return A numeric value representing the base premium of an Auto Policy, in cents
      */
-    public double getBasePremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getBasePremium() {
         return basePremium;
     }
 
@@ -121,12 +149,31 @@ public class AutoPolicy extends Policy {
 
     /**
      * Gets the total premium of the AutoPolicy object
-     * @return A numeric value representing the total premium of an AutoPolicy object
+     * @return A numeric value representing the total premium of an AutoPolicy object, in cents
      */
-    public double getTotalPremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getTotalPremium() {
         return totalPremium;
     }
 
+    /**
+     * Gets the start date of the Auto Policy
+     * @return A date object representing the start date of the Auto Policy
+     */
+    @Override
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the Auto Policy
+     * @return A date object representing the end date of the Auto Policy
+     */
+    @Override
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
     /**
      * Gets the value of the user object
      * @return user Auto owner
@@ -149,24 +196,25 @@ public class AutoPolicy extends Policy {
     public static class Builder{
         private final Driver driver;
         private final Vehicle vehicle;
-        private final double liabilityLimit;
-        private final double deductible;
-        private final double basePremium;
+        private final long liabilityLimit;
+        private final long deductible;
+        private final long basePremium;
         private final double tax;
-        private final double totalPremium;
+        private final long totalPremium;
+        private LocalDate startDate;
 
         /**
          * A constructor to create builder objects
          * @param driver The driver
          * @param vehicle The vehicle
-         * @param liabilityLimit The liability limit
-         * @param deductible the deductible
-         * @param basePremium The base premium
+         * @param liabilityLimit The liability limit, in cents
+         * @param deductible the deductible, in cents
+         * @param basePremium The base premium, in cents
          * @param tax The tax
-         * @param totalPremium The total premium value
+         * @param totalPremium The total premium value, in cents
          */
-        public Builder(Driver driver, Vehicle vehicle, double liabilityLimit, double deductible, double basePremium,
-                       double tax, double totalPremium){
+        public Builder(Driver driver, Vehicle vehicle, long liabilityLimit, long deductible, long basePremium,
+                       double tax, long totalPremium){
             this.driver = driver;
             this.vehicle = vehicle;
             this.liabilityLimit = liabilityLimit;
@@ -176,6 +224,16 @@ public class AutoPolicy extends Policy {
             this.totalPremium = totalPremium;
         }
 
+        /**
+         * Sets the start date of the policy, the policy ends one year later. Policies start today by default
+         * @param startDate The start date
+         * @return This builder
+         */
+        public Builder startDate(LocalDate startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+
         /**
          * Initialize and get a new AutoPolicy
          * @return An AutoPolicy object
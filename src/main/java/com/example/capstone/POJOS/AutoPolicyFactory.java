@@ -1,8 +1,5 @@
 package com.example.capstone.POJOS;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-
 /**
  * Factory class, create AutoPolicy objects
  */
@@ -21,15 +18,22 @@ public class AutoPolicyFactory {
 
     /**
      * Takes in an autoPolicy object, and checks the end date on the policy
-     * if the end date is within 60 days, create a new policy. Otherwise, return
-     * the original policy object and inform user
+     * if the end date is within 60 days, or passed at most 30 days ago, create a new policy for the same user, starting
+     * on the end date and priced with the rate table in force on that date, so the new policy always ends after today.
+     * Otherwise, return the original policy object and inform user
      * @param autoPolicy Auto Policy
      * @return autoPolicy Auto Policy
      */
     public static AutoPolicy renewAutoPolicy(AutoPolicy autoPolicy){
-        if (ChronoUnit.DAYS.between(LocalDate.now(), autoPolicy.getEndDate()) <= 60){
-            return new AutoPolicy.Builder(autoPolicy.getDriver(), autoPolicy.getVehicle(), autoPolicy.getLiabilityLimit(),
-                    autoPolicy.getDeductible(), autoPolicy.getBasePremium(), autoPolicy.getTax(), autoPolicy.getTotalPremium()).build();
+        long daysLeft = autoPolicy.getEndDate().toEpochDay() - RatingClock.getInstance().todayEpochDay();
+        if (daysLeft <= Policy.RENEWAL_WINDOW_DAYS && daysLeft >= -Policy.RENEWAL_GRACE_DAYS){
+            RateTable rateTable = RateTables.getEffective(autoPolicy.getEndDate());
+            AutoPolicy renewed = new AutoPolicy.Builder(autoPolicy.getDriver(), autoPolicy.getVehicle(), autoPolicy.getLiabilityLimit(),
+                    autoPolicy.getDeductible(), rateTable.getAutoPremium(), rateTable.getAutoTax(),
+                    AutoQuoteFactory.getTotalPremium(rateTable, autoPolicy.getVehicle(), autoPolicy.getDriver()))
+                    .startDate(autoPolicy.getEndDate()).build();
+            renewed.setUser(autoPolicy.getUser());
+            return renewed;
         } else {
             return autoPolicy;
         }
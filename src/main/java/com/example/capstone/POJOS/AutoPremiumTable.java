@@ -0,0 +1,64 @@
+package com.example.capstone.POJOS;
+
+/**
+ * Holds the total auto premium, in cents, for every combination of driver age, accident and vehicle age bands
+ * of one rate table, so a quote is priced with a single array lookup
+ */
+public final class AutoPremiumTable {
+    private final RateTable rateTable;
+    private final long[] totalPremiums;
+
+    /**
+     * A constructor to build the premium table of a rate table
+     * @param rateTable The rate table to price with
+     */
+    AutoPremiumTable(RateTable rateTable) {
+        this.rateTable = rateTable;
+        totalPremiums = new long[rateTable.getDriverAgeBands() * rateTable.getAccidentBands()
+                * rateTable.getVehicleAgeBands()];
+        for (int ageBand = 0; ageBand < rateTable.getDriverAgeBands(); ageBand++) {
+            for (int accidentBand = 0; accidentBand < rateTable.getAccidentBands(); accidentBand++) {
+                for (int vehicleBand = 0; vehicleBand < rateTable.getVehicleAgeBands(); vehicleBand++) {
+                    double factor = rateTable.getDriverAgeFactor(ageBand) * rateTable.getAccidentsFactor(accidentBand)
+                            * rateTable.getVehicleAgeFactor(vehicleBand) * rateTable.getAutoTax();
+                    totalPremiums[index(ageBand, accidentBand, vehicleBand)] = Money.multiply(rateTable.getAutoPremium(), factor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the premium table of the rate table in force
+     * @return The current AutoPremiumTable
+     */
+    public static AutoPremiumTable getCurrent() {
+        return RateTables.getCurrent().getAutoPremiumTable();
+    }
+
+    /**
+     * Looks up the total premium for a driver and vehicle
+     * @param driverAge Age of Driver
+     * @param driverAccidents Number of Accidents
+     * @param vehicleYear Year of the vehicle was made
+     * @return The total premium, in cents
+     */
+    public long getTotalPremium(int driverAge, int driverAccidents, int vehicleYear) {
+        return getTotalPremiumForBands(rateTable.getDriverAgeBand(driverAge),
+                rateTable.getAccidentsBand(driverAccidents), rateTable.getVehicleAgeBand(vehicleYear));
+    }
+
+    /**
+     * Looks up the total premium for a combination of bands
+     * @param ageBand Driver age band
+     * @param accidentBand Accident band
+     * @param vehicleBand Vehicle age band
+     * @return The total premium, in cents
+     */
+    public long getTotalPremiumForBands(int ageBand, int accidentBand, int vehicleBand) {
+        return totalPremiums[index(ageBand, accidentBand, vehicleBand)];
+    }
+
+    private int index(int ageBand, int accidentBand, int vehicleBand) {
+        return (ageBand * rateTable.getAccidentBands() + accidentBand) * rateTable.getVehicleAgeBands() + vehicleBand;
+    }
+}
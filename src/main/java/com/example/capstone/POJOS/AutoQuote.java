@@ -1,21 +1,35 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.LocalDate;
 
 /**
  * Extends Quote Abstract class to create Auto Quotes
  */
 @Entity(name = "autoquote")
-public class AutoQuote extends Quote{
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+@Table(indexes = @Index(name = "autoquote_end_date_idx", columnList = "end_date, id"))
+public class AutoQuote extends Quote implements Versioned {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "autoquote_seq")
+    @GenericGenerator(name = "autoquote_seq", strategy = "com.example.capstone.DataAccess.ReservableSequenceGenerator",
+            parameters = {@Parameter(name = "sequence_name", value = "autoquote_SEQ"), @Parameter(name = "increment_size", value = "50")})
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     @OneToOne private final Driver driver;
     @OneToOne private final Vehicle vehicle;
-    private final double liabilityLimit;
-    private final double deductible;
-    private final double basePremium;
+    @Column(name = "liability_limit_cents") private final long liabilityLimit;
+    @Column(name = "deductible_cents") private final long deductible;
+    @Column(name = "base_premium_cents") private final long basePremium;
     private final double tax;
-    private final double totalPremium;
+    @Column(name = "total_premium_cents") private final long totalPremium;
+    @Column(name = "start_date", nullable = false) private final LocalDate startDate;
+    @Column(name = "end_date", nullable = false) private final LocalDate endDate;
 
     @ManyToOne @JoinColumn(name = "user_id") private User user;
 
@@ -29,6 +43,8 @@ public class AutoQuote extends Quote{
         this.basePremium = 0;
         this.tax = 0;
         this.totalPremium = 0;
+        this.startDate = null;
+        this.endDate = null;
     }
 
     /**
@@ -44,6 +60,8 @@ public class AutoQuote extends Quote{
         this.basePremium = builder.basePremium;
         this.tax = builder.tax;
         this.totalPremium = builder.totalPremium;
+        this.startDate = super.getStartDate();
+        this.endDate = super.getEndDate();
     }
 
     /**
@@ -51,7 +69,7 @@ public class AutoQuote extends Quote{
      * @return An integer representing the vehicle's id
      */
     public Integer getId() {
-        return id;
+        return id != null ? id : getReservedId();
     }
 
     /**
@@ -62,6 +80,16 @@ public class AutoQuote extends Quote{
         this.id = id;
     }
 
+    /**
+     * Gets the version of the auto quote, incremented by every update
+     * @return The version of the auto quote
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets a Vehicle object
      * @return A Vehicle object representing the Vehicle in an Auto Quote
@@ -72,17 +100,19 @@ public class AutoQuote extends Quote{
 
     /**
      * Gets the liability limit of a Home Quote object
-     * @return A numeric value representing the liability limit of a Home Quote object
+     * @return A numeric value representing the liability limit of a Home Quote object, in cents
      */
-    public double getLiabilityLimit() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getLiabilityLimit() {
         return liabilityLimit;
     }
 
     /**
      * Gets the deductible of a Home Quote object
-     * @return A numeric value representing the deductible of a Home Quote object
+     * @return A numeric value representing the deductible of a Home Quote object, in cents
      */
-    public double getDeductible() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getDeductible() {
         return deductible;
     }
 
@@ -97,9 +127,10 @@ public class AutoQuote extends Quote{
 
     /**
      * Gets the Base Premium of a Home Quote object
-     * @return A numeric value representing the Base Premium of a Home Quote object
+     * @return A numeric value representing the Base Premium of a Home Quote object, in cents
      */
-    public double getBasePremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getBasePremium() {
         return basePremium;
     }
 
@@ -113,12 +144,31 @@ public class AutoQuote extends Quote{
 
     /**
      * Gets the Total Premium of a Home Quote object
-     * @return A numeric value representing the Total Premium of a Home Quote object
+     * @return A numeric value representing the Total Premium of a Home Quote object, in cents
      */
-    public double getTotalPremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getTotalPremium() {
         return totalPremium;
     }
 
+    /**
+     * Gets the start date of the Auto Quote
+     * @return A date object representing the start date of the Auto Quote
+     */
+    @Override
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the Auto Quote
+     * @return A date object representing the end date of the Auto Quote
+     */
+    @Override
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
     /**
      * Gets the value of the user object
      * @return user Auto owner
@@ -141,24 +191,24 @@ public class AutoQuote extends Quote{
     public static class Builder {
         private final Driver driver;
         private final Vehicle vehicle;
-        private final double liabilityLimit;
-        private final double deductible;
-        private final double basePremium;
+        private final long liabilityLimit;
+        private final long deductible;
+        private final long basePremium;
         private final double tax;
-        private final double totalPremium;
+        private final long totalPremium;
 
         /**
          * A constructor to create builder objects
          * @param driver The Driver object
          * @param vehicle The Vehicle object
-         * @param liabilityLimit The liability limit
-         * @param deductible The deductible
-         * @param basePremium The base premium
+         * @param liabilityLimit The liability limit, in cents
+         * @param deductible The deductible, in cents
+         * @param basePremium The base premium, in cents
          * @param tax The tax amount
-         * @param totalPremium the total premium value
+         * @param totalPremium the total premium value, in cents
          */
-        public Builder(Driver driver, Vehicle vehicle, double liabilityLimit, double deductible,
-                       double basePremium, double tax, double totalPremium) {
+        public Builder(Driver driver, Vehicle vehicle, long liabilityLimit, long deductible,
+                       long basePremium, double tax, long totalPremium) {
             this.driver = driver;
             this.vehicle = vehicle;
             this.liabilityLimit = liabilityLimit;
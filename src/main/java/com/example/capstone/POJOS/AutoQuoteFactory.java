@@ -1,11 +1,12 @@
 package com.example.capstone.POJOS;
 
-import java.text.DecimalFormat;
-
 /**
  * Factory class, create AutoQuote objects
  */
 public class AutoQuoteFactory{
+    private static final long LIABILITY_LIMIT = Money.ofDollars(1000000);
+    private static final long DEDUCTIBLE = Money.ofDollars(500);
+
     private AutoQuoteFactory(){}
 
     /**
@@ -16,12 +17,20 @@ public class AutoQuoteFactory{
      * @return AutoQuote AutoQuote Object
      */
     public static AutoQuote createAutoQuote(Vehicle vehicle, Driver driver){
-        double totalPremium = AutoRiskRates.getPremium() * AutoRiskRates.getDriverAgeFactor(driver.getAge()) *
-                AutoRiskRates.getAccidentsFactor(driver.getNumberAccidents()) * AutoRiskRates.getVehicleAgeFactor(vehicle.getYear())
-                * AutoRiskRates.getTax();
-        DecimalFormat df = new DecimalFormat("#.##");
-        totalPremium = Double.parseDouble(df.format(totalPremium));
-        return new AutoQuote.Builder(driver, vehicle, 1000000, 500, AutoRiskRates.getPremium(),
-                AutoRiskRates.getTax(), totalPremium).build();
+        RateTable rateTable = RateTables.getCurrent();
+        return new AutoQuote.Builder(driver, vehicle, LIABILITY_LIMIT, DEDUCTIBLE, rateTable.getAutoPremium(),
+                rateTable.getAutoTax(), getTotalPremium(rateTable, vehicle, driver)).build();
+    }
+
+    /**
+     * Prices a vehicle and driver with a rate table
+     * @param rateTable The rate table to price with
+     * @param vehicle Vehicle Object
+     * @param driver Driver Object
+     * @return The total premium, in cents
+     */
+    static long getTotalPremium(RateTable rateTable, Vehicle vehicle, Driver driver) {
+        return rateTable.getAutoPremiumTable().getTotalPremium(driver.getAge(), driver.getNumberAccidents(),
+                vehicle.getYear());
     }
-}
\ No newline at end of file
+}
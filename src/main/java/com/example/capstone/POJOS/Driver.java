@@ -1,16 +1,25 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Extends Person Abstract class
  * Creates Driver objects having an age, address, and number of accidents
  */
 @Entity(name = "driver")
-public class Driver extends Person {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "driver")
+public class Driver extends Person implements Versioned {
 
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "driver_seq")
+    @SequenceGenerator(name = "driver_seq", sequenceName = "driver_SEQ", allocationSize = 50)
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     private int age;
     private String address;
     private int numberAccidents;
@@ -33,6 +42,16 @@ public class Driver extends Person {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the driver, incremented by every update
+     * @return The version of the driver
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the number of accidents of the Person object
      * @return numberAccidents The number of accidents of the Person object
@@ -1,8 +1,12 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -10,9 +14,14 @@ import java.time.LocalDate;
  * Creates Home objects having a date built, dollar value, dwelling type, heating type, and location.
  */
 @Entity(name = "home")
-public class Home {
-
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "home")
+public class Home implements Versioned {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "home_seq")
+    @SequenceGenerator(name = "home_seq", sequenceName = "home_SEQ", allocationSize = 50)
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     @JsonFormat(pattern="yyyy-MM-dd") private LocalDate dateBuilt;
     private double value;
     @Enumerated(EnumType.ORDINAL) private DwellingType dwellingType;
@@ -29,6 +38,16 @@ public class Home {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the home, incremented by every update
+     * @return The version of the home
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the date the Home was built
      * @return dateBuilt The date the Home object was built
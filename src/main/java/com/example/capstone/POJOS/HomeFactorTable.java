@@ -0,0 +1,59 @@
+package com.example.capstone.POJOS;
+
+import java.time.LocalDate;
+
+/**
+ * Holds the combined home age, heating, location and tax factor for every combination of home age band,
+ * heating type and location of one rate table, so a home quote is priced with a single array lookup
+ */
+public final class HomeFactorTable {
+    private static final int HEATING_TYPES = HeatingType.values().length;
+    private static final int LOCATIONS = Location.values().length;
+
+    private final RateTable rateTable;
+    private final double[] factors;
+
+    /**
+     * A constructor to build the factor table of a rate table
+     * @param rateTable The rate table to price with
+     */
+    HomeFactorTable(RateTable rateTable) {
+        this.rateTable = rateTable;
+        factors = new double[rateTable.getHomeAgeBands() * HEATING_TYPES * LOCATIONS];
+        for (int ageBand = 0; ageBand < rateTable.getHomeAgeBands(); ageBand++) {
+            for (HeatingType heatingType : HeatingType.values()) {
+                for (Location location : Location.values()) {
+                    factors[index(ageBand, heatingType.ordinal(), location.ordinal())] = rateTable.getHomeAgeFactor(ageBand)
+                            * rateTable.getHeatingFactor(heatingType) * rateTable.getLocationFactor(location)
+                            * rateTable.getHomeTax();
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up the combined factor for a home
+     * @param dateBuilt Date the Home was built
+     * @param heatingType Home Heating Type
+     * @param location Home Location
+     * @return The product of the home age, heating, location and tax factors
+     */
+    public double getFactor(LocalDate dateBuilt, HeatingType heatingType, Location location) {
+        return getFactorForBands(rateTable.getHomeAgeBand(dateBuilt), heatingType.ordinal(), location.ordinal());
+    }
+
+    /**
+     * Looks up the combined factor for a home age band, heating type ordinal and location ordinal
+     * @param ageBand Home age band
+     * @param heatingType Home Heating Type ordinal
+     * @param location Home Location ordinal
+     * @return The product of the home age, heating, location and tax factors
+     */
+    public double getFactorForBands(int ageBand, int heatingType, int location) {
+        return factors[index(ageBand, heatingType, location)];
+    }
+
+    private static int index(int ageBand, int heatingType, int location) {
+        return (ageBand * HEATING_TYPES + heatingType) * LOCATIONS + location;
+    }
+}
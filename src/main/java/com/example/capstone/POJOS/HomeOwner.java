@@ -1,7 +1,11 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Extends Person Abstract class
@@ -9,9 +13,14 @@ import jakarta.persistence.*;
  */
 
 @Entity(name = "homeowner")
-public class HomeOwner extends Person{
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "homeowner")
+public class HomeOwner extends Person implements Versioned {
 
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "homeowner_seq")
+    @SequenceGenerator(name = "homeowner_seq", sequenceName = "homeowner_SEQ", allocationSize = 50)
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     private int age;
     private String address;
 
@@ -33,6 +42,16 @@ public class HomeOwner extends Person{
         this.id = id;
     }
 
+    /**
+     * Gets the version of the homeowner, incremented by every update
+     * @return The version of the homeowner
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the age of the HomeOwner object
      * @return age The age of the HomeOwner object
@@ -1,23 +1,34 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
 
 /**
  * Extends Policy Abstract class to create Policies
  */
 @Entity(name = "homepolicy")
-public class HomePolicy extends Policy {
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+@Table(indexes = @Index(name = "homepolicy_end_date_idx", columnList = "end_date, id"))
+public class HomePolicy extends Policy implements Versioned {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "homepolicy_seq")
+    @SequenceGenerator(name = "homepolicy_seq", sequenceName = "homepolicy_SEQ", allocationSize = 50)
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     @OneToOne private final HomeOwner homeOwner;
     @OneToOne private final Home home;
-    private final double liabilityLimit;
-    private final double deductible;
-    private final double contentsInsuranceLimit;
-    private final double contentsDeductible;
-    private final double basePremium;
+    @Column(name = "liability_limit_cents") private final long liabilityLimit;
+    @Column(name = "deductible_cents") private final long deductible;
+    @Column(name = "contents_insurance_limit_cents") private final long contentsInsuranceLimit;
+    @Column(name = "contents_deductible_cents") private final long contentsDeductible;
+    @Column(name = "base_premium_cents") private final long basePremium;
     private final double tax;
-    private final double totalPremium;
+    @Column(name = "total_premium_cents") private final long totalPremium;
+    @Column(name = "start_date", nullable = false) private final LocalDate startDate;
+    @Column(name = "end_date", nullable = false) private final LocalDate endDate;
 
     @ManyToOne @JoinColumn(name = "user_id") private User user;
 
@@ -32,6 +43,8 @@ public class HomePolicy extends Policy {
         this.basePremium = 0;
         this.tax = 0;
         this.totalPremium = 0;
+        this.startDate = null;
+        this.endDate = null;
     }
 
     /**
@@ -49,6 +62,8 @@ public class HomePolicy extends Policy {
         this.basePremium =builder.basePremium;
         this.tax = builder.tax;
         this.totalPremium = builder.totalPremium;
+        this.startDate = builder.startDate != null ? builder.startDate : super.getStartDate();
+        this.endDate = builder.startDate != null ? builder.startDate.plusYears(1) : super.getEndDate();
     }
 
     /**
@@ -67,6 +82,16 @@ public class HomePolicy extends Policy {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the home policy, incremented by every update
+     * @return The version of the home policy
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets a Home object
      * @return A home object representing the home in a Policy
@@ -77,41 +102,46 @@ public class HomePolicy extends Policy {
 
     /**
      * Gets the liability limit of a Home Policy object
-     * @return A numeric value representing the liability limit of a Home Policy object
+     * @return A numeric value representing the liability limit of a Home Policy object, in cents
      */
-    public double getLiabilityLimit() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getLiabilityLimit() {
         return liabilityLimit;
     }
 
     /**
      * Gets the deductible of a Home Policy object
-     * @return A numeric value representing the deductible of a Home Policy object
+     * @return A numeric value representing the deductible of a Home Policy object, in cents
      */
-    public double getDeductible() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getDeductible() {
         return deductible;
     }
 
     /**
      * Gets the Contents Insurance Limit of a Home Policy object
-     * @return A numeric value representing the Contents Insurance Limit of a Home Policy object
+     * @return A numeric value representing the Contents Insurance Limit of a Home Policy object, in cents
      */
-    public double getContentsInsuranceLimit() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getContentsInsuranceLimit() {
         return contentsInsuranceLimit;
     }
 
     /**
      * Gets the Contents Deductible of a Home Policy object
-     * @return A numeric value representing the Contents Deductible of a Home Policy object
+     * @return A numeric value representing the Contents Deductible of a Home Policy object, in cents
      */
-    public double getContentsDeductible() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getContentsDeductible() {
         return contentsDeductible;
     }
 
     /**
      * Gets the Base Premium of a Home Policy object
-     * @return A numeric value representing the Base Premium of a Home Policy object
+     * @return A numeric value representing the Base Premium of a Home Policy object, in cents
      */
-    public double getBasePremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getBasePremium() {
         return basePremium;
     }
 
@@ -134,12 +164,31 @@ public class HomePolicy extends Policy {
 
     /**
      * Gets the Total Premium of a Home Policy object
-     * @return A numeric value representing the Total Premium of a Home Policy object
+     * @return A numeric value representing the Total Premium of a Home Policy object, in cents
      */
-    public double getTotalPremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getTotalPremium() {
         return totalPremium;
     }
 
+    /**
+     * Gets the start date of the Home Policy
+     * @return A date object representing the start date of the Home Policy
+     */
+    @Override
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the Home Policy
+     * @return A date object representing the end date of the Home Policy
+     */
+    @Override
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
     /**
      * Gets the value of the user object
      * @return user Auto owner
@@ -164,29 +213,30 @@ public class HomePolicy extends Policy {
     public static class Builder {
         private final HomeOwner homeOwner;
         private final Home home;
-        private final double liabilityLimit;
-        private final double deductible;
-        private final double contentsInsuranceLimit;
-        private final double contentsDeductible;
-        private final double totalPremium;
-        private final double basePremium;
+        private final long liabilityLimit;
+        private final long deductible;
+        private final long contentsInsuranceLimit;
+        private final long contentsDeductible;
+        private final long totalPremium;
+        private final long basePremium;
         private final double tax;
+        private LocalDate startDate;
 
         /**
          * A constructor to create builder objects
          * @param homeOwner The home-owner object
          * @param home The home object
-         * @param liabilityLimit The liability limit
-         * @param deductible The deductible
-         * @param contentsInsuranceLimit The contents insurance limit
-         * @param contentsDeductible The content deductible
-         * @param basePremium The base premium
+         * @param liabilityLimit The liability limit, in cents
+         * @param deductible The deductible, in cents
+         * @param contentsInsuranceLimit The contents insurance limit, in cents
+         * @param contentsDeductible The content deductible, in cents
+         * @param basePremium The base premium, in cents
          * @param tax The tax
-         * @param totalPremium The Total premium
+         * @param totalPremium The Total premium, in cents
          */
-        public Builder(HomeOwner homeOwner, Home home,double liabilityLimit, double deductible,
-                       double contentsInsuranceLimit, double contentsDeductible, double basePremium,
-                       double tax, double totalPremium){
+        public Builder(HomeOwner homeOwner, Home home,long liabilityLimit, long deductible,
+                       long contentsInsuranceLimit, long contentsDeductible, long basePremium,
+                       double tax, long totalPremium){
             this.homeOwner = homeOwner;
             this.home = home;
             this.liabilityLimit = liabilityLimit;
@@ -198,6 +248,16 @@ public class HomePolicy extends Policy {
             this.totalPremium = totalPremium;
         }
 
+        /**
+         * Sets the start date of the policy, the policy ends one year later. Policies start today by default
+         * @param startDate The start date
+         * @return This builder
+         */
+        public Builder startDate(LocalDate startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+
         /**
          * Initialize and get a new Home Policy
          * @return A Home Policy object
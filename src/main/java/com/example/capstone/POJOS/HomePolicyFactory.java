@@ -1,8 +1,5 @@
 package com.example.capstone.POJOS;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-
 /**
  * Factory class, create HomePolicy objects
  */
@@ -22,16 +19,23 @@ public class HomePolicyFactory {
 
     /**
      * Takes in an homePolicy object, and checks the end date on the policy
-     * if the end date is within 60 days, create a new policy. Otherwise, return
-     * the original policy object and inform user
+     * if the end date is within 60 days, or passed at most 30 days ago, create a new policy for the same user, starting
+     * on the end date and priced with the rate table in force on that date, so the new policy always ends after today.
+     * Otherwise, return the original policy object and inform user
      * @param homePolicy Home Policy
      * @return homePolicy Home Policy
      */
     public static HomePolicy renewHomePolicy(HomePolicy homePolicy){
-        if (ChronoUnit.DAYS.between(LocalDate.now(), homePolicy.getEndDate()) <= 60){
-            return new HomePolicy.Builder(homePolicy.getInsuredPerson(), homePolicy.getHome(), homePolicy.getLiabilityLimit(),
+        long daysLeft = homePolicy.getEndDate().toEpochDay() - RatingClock.getInstance().todayEpochDay();
+        if (daysLeft <= Policy.RENEWAL_WINDOW_DAYS && daysLeft >= -Policy.RENEWAL_GRACE_DAYS){
+            RateTable rateTable = RateTables.getEffective(homePolicy.getEndDate());
+            HomePolicy renewed = new HomePolicy.Builder(homePolicy.getInsuredPerson(), homePolicy.getHome(), homePolicy.getLiabilityLimit(),
                     homePolicy.getDeductible(), homePolicy.getContentsInsuranceLimit()
-                    , homePolicy.getContentsDeductible(), homePolicy.getBasePremium(), homePolicy.getTax(), homePolicy.getTotalPremium()).build();
+                    , homePolicy.getContentsDeductible(), rateTable.getHomePremium(), rateTable.getHomeTax(),
+                    HomeQuoteFactory.getTotalPremium(rateTable, homePolicy.getHome()))
+                    .startDate(homePolicy.getEndDate()).build();
+            renewed.setUser(homePolicy.getUser());
+            return renewed;
         } else {
             return homePolicy;
         }
@@ -1,7 +1,14 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.LocalDate;
 
 /**
  * Extends Quote Abstract class
@@ -9,16 +16,23 @@ import jakarta.persistence.*;
  * ... Contents Insurance Limit, Content Deductible, base premium, and tax
  */
 @Entity(name = "homequote")
-public class HomeQuote extends Quote {
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+@Table(indexes = @Index(name = "homequote_end_date_idx", columnList = "end_date, id"))
+public class HomeQuote extends Quote implements Versioned {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "homequote_seq")
+    @GenericGenerator(name = "homequote_seq", strategy = "com.example.capstone.DataAccess.ReservableSequenceGenerator",
+            parameters = {@Parameter(name = "sequence_name", value = "homequote_SEQ"), @Parameter(name = "increment_size", value = "50")})
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     @OneToOne private final HomeOwner homeOwner;
     @OneToOne private final Home home;
-    private final double liabilityLimit;
-    private final double deductible;
-    private final double contentsInsuranceLimit;
-    private final double contentsDeductible;
-    private final double totalPremium;
-    private final double basePremium;
+    @Column(name = "liability_limit_cents") private final long liabilityLimit;
+    @Column(name = "deductible_cents") private final long deductible;
+    @Column(name = "contents_insurance_limit_cents") private final long contentsInsuranceLimit;
+    @Column(name = "contents_deductible_cents") private final long contentsDeductible;
+    @Column(name = "total_premium_cents") private final long totalPremium;
+    @Column(name = "start_date", nullable = false) private final LocalDate startDate;
+    @Column(name = "end_date", nullable = false) private final LocalDate endDate;
+    @Column(name = "base_premium_cents") private final long basePremium;
     private final double tax;
 
     @ManyToOne @JoinColumn(name = "user_id") private User user;
@@ -35,6 +49,8 @@ public class HomeQuote extends Quote {
         this.totalPremium = 0;
         this.basePremium = 0;
         this.tax = 0;
+        this.startDate = null;
+        this.endDate = null;
     }
 
     /**
@@ -52,6 +68,8 @@ public class HomeQuote extends Quote {
         this.totalPremium = builder.totalPremium;
         this.basePremium =builder.basePremium;
         this.tax = builder.tax;
+        this.startDate = super.getStartDate();
+        this.endDate = super.getEndDate();
     }
 
     /**
@@ -59,7 +77,7 @@ public class HomeQuote extends Quote {
      * @return An integer representing the vehicle's id
      */
     public Integer getId() {
-        return id;
+        return id != null ? id : getReservedId();
     }
 
     /**
@@ -70,6 +88,16 @@ public class HomeQuote extends Quote {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the home quote, incremented by every update
+     * @return The version of the home quote
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets a Home object
      * @return A home object representing the home in a HomeQuote
@@ -80,49 +108,55 @@ public class HomeQuote extends Quote {
 
     /**
      * Gets the liability limit of a Home Quote object
-     * @return A numeric value representing the liability limit of a Home Quote object
+     * @return A numeric value representing the liability limit of a Home Quote object, in cents
      */
-    public double getLiabilityLimit() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getLiabilityLimit() {
         return liabilityLimit;
     }
 
     /**
      * Gets the deductible of a Home Quote object
-     * @return A numeric value representing the deductible of a Home Quote object
+     * @return A numeric value representing the deductible of a Home Quote object, in cents
      */
-    public double getDeductible() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getDeductible() {
         return deductible;
     }
 
     /**
      * Gets the Contents Insurance Limit of a Home Quote object
-     * @return A numeric value representing the Contents Insurance Limit of a Home Quote object
+     * @return A numeric value representing the Contents Insurance Limit of a Home Quote object, in cents
      */
-    public double getContentsInsuranceLimit() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getContentsInsuranceLimit() {
         return contentsInsuranceLimit;
     }
 
     /**
      * Gets the Contents Deductible of a Home Quote object
-     * @return A numeric value representing the Contents Deductible of a Home Quote object
+     * @return A numeric value representing the Contents Deductible of a Home Quote object, in cents
      */
-    public double getContentsDeductible() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getContentsDeductible() {
         return contentsDeductible;
     }
 
     /**
      * Gets the Total Premium of a Home Quote object
-     * @return A numeric value representing the Total Premium of a Home Quote object
+     * @return A numeric value representing the Total Premium of a Home Quote object, in cents
      */
-    public double getTotalPremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getTotalPremium() {
         return totalPremium;
     }
 
     /**
      * Gets the Base Premium of a Home Quote object
-     * @return A numeric value representing the Base Premium of a Home Quote object
+     * @return A numeric value representing the Base Premium of a Home Quote object, in cents
      */
-    public double getBasePremium() {
+    @JsonSerialize(using = MoneySerializer.class)
+    public long getBasePremium() {
         return basePremium;
     }
 
@@ -143,6 +177,24 @@ public class HomeQuote extends Quote {
         return homeOwner;
     }
 
+    /**
+     * Gets the start date of the Home Quote
+     * @return A date object representing the start date of the Home Quote
+     */
+    @Override
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the Home Quote
+     * @return A date object representing the end date of the Home Quote
+     */
+    @Override
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
     /**
      * Gets the value of the user object
      * @return user Auto owner
@@ -167,12 +219,12 @@ public class HomeQuote extends Quote {
     public static class Builder {
         private final HomeOwner homeOwner;
         private final Home home;
-        private final double liabilityLimit;
-        private final double deductible;
-        private final double contentsInsuranceLimit;
-        private final double contentsDeductible;
-        private final double totalPremium;
-        private final double basePremium;
+        private final long liabilityLimit;
+        private final long deductible;
+        private final long contentsInsuranceLimit;
+        private final long contentsDeductible;
+        private final long totalPremium;
+        private final long basePremium;
         private final double tax;
 
 
@@ -180,17 +232,17 @@ public class HomeQuote extends Quote {
          * A constructor to create builder objects
          * @param homeOwner The home-owner object
          * @param home The home object
-         * @param liabilityLimit The liability limit
-         * @param deductible The deductible
-         * @param contentsInsuranceLimit The contents insurance limit
-         * @param contentsDeductible The content deductible
-         * @param basePremium The base premium
+         * @param liabilityLimit The liability limit, in cents
+         * @param deductible The deductible, in cents
+         * @param contentsInsuranceLimit The contents insurance limit, in cents
+         * @param contentsDeductible The content deductible, in cents
+         * @param basePremium The base premium, in cents
          * @param tax The tax
-         * @param totalPremium The Total premium
+         * @param totalPremium The Total premium, in cents
          */
-        public Builder(HomeOwner homeOwner, Home home,double liabilityLimit, double deductible,
-                       double contentsInsuranceLimit, double contentsDeductible, double basePremium,
-                       double tax, double totalPremium){
+        public Builder(HomeOwner homeOwner, Home home,long liabilityLimit, long deductible,
+                       long contentsInsuranceLimit, long contentsDeductible, long basePremium,
+                       double tax, long totalPremium){
             this.homeOwner = homeOwner;
             this.home = home;
             this.liabilityLimit = liabilityLimit;
@@ -1,11 +1,14 @@
 package com.example.capstone.POJOS;
 
-import java.text.DecimalFormat;
-
 /**
  * Factory class, create HomeQuote objects
  */
 public class HomeQuoteFactory{
+    private static final long LIABILITY_LIMIT = Money.ofDollars(2000000);
+    private static final long DEDUCTIBLE = Money.ofDollars(1000);
+    private static final long CONTENTS_INSURANCE_LIMIT = Money.ofDollars(50000);
+    private static final long CONTENTS_DEDUCTIBLE = Money.ofDollars(500);
+
     private HomeQuoteFactory(){}
 
     /**
@@ -16,11 +19,21 @@ public class HomeQuoteFactory{
      * @return HomeQuote HomeQuote Object
      */
     public static HomeQuote createHomeQuote(Home home, HomeOwner homeOwner){
-        double totalPremium = (HomeRiskRates.getPremium() + HomeRiskRates.getHomeValueFactor(home.getValue())) *  HomeRiskRates.getHomeAgeFactor(home.getDateBuilt())
-                * HomeRiskRates.getHeatingFactor(home.getHeatingType()) * HomeRiskRates.getLocationFactor(home.getLocation()) * HomeRiskRates.getTax();
-        DecimalFormat df = new DecimalFormat("#.##");
-        totalPremium = Double.parseDouble(df.format(totalPremium));
-        return new HomeQuote.Builder(homeOwner, home, 2000000, 1000, 50000, 500,
-                HomeRiskRates.getPremium(), HomeRiskRates.getTax(), totalPremium).build();
+        RateTable rateTable = RateTables.getCurrent();
+        return new HomeQuote.Builder(homeOwner, home, LIABILITY_LIMIT, DEDUCTIBLE, CONTENTS_INSURANCE_LIMIT, CONTENTS_DEDUCTIBLE,
+                rateTable.getHomePremium(), rateTable.getHomeTax(), getTotalPremium(rateTable, home)).build();
+    }
+
+    /**
+     * Prices a home with a rate table
+     * @param rateTable The rate table to price with
+     * @param home Home Object
+     * @return The total premium, in cents
+     */
+    static long getTotalPremium(RateTable rateTable, Home home) {
+        double factor = rateTable.getHomeFactorTable().getFactor(home.getDateBuilt(), home.getHeatingType(),
+                home.getLocation());
+        return Money.multiply(rateTable.getHomePremium()
+                + rateTable.getHomeValueFactor(Money.ofDollars(home.getValue())), factor);
     }
-}
\ No newline at end of file
+}
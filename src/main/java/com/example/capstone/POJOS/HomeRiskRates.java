@@ -1,95 +1,64 @@
 package com.example.capstone.POJOS;
 
 import java.time.LocalDate;
-import java.time.Period;
 
 /**
  * Takes in Home attributes and returns the corresponding home risk factors
+ * from the rate table in force
  */
 public class HomeRiskRates {
     private HomeRiskRates(){}
 
     /**
      * returns the base premium value
-     * @return 500 Base Premium for Home
+     * @return Base Premium for Home, in cents
      */
-    public static double getPremium(){
-        return 500;
+    public static long getPremium(){
+        return RateTables.getCurrent().getHomePremium();
     }
 
     /**
      * returns the tax rate value
-     * @return 1.15 Tax Rate
+     * @return Tax Rate
      */
     public static double getTax(){
-        return 1.15;
+        return RateTables.getCurrent().getHomeTax();
     }
 
     /**
      * return the home value factor
      * @param homeValue Home Value
-     * @return 0.002 * (homeValue - 250000) or 0 Home Value Factor
+     * @return Home Value Factor, in cents
      */
-    public static double getHomeValueFactor(double homeValue){
-        if (homeValue > 250000){
-            return 0.002 * (homeValue - 250000);
-        } else {
-            return 0;
-        }
+    public static long getHomeValueFactor(double homeValue){
+        return RateTables.getCurrent().getHomeValueFactor(Money.ofDollars(homeValue));
     }
 
     /**
      * returns the home age factor
      * @param dateBuilt Date the Home was built
-     * @return 1, 1.25, or 1.5 Home Age Factor
+     * @return Home Age Factor
      */
     public static double getHomeAgeFactor(LocalDate dateBuilt){
-        LocalDate today = LocalDate.now();
-        Period period = dateBuilt.until(today);
-        int homeAge = period.getYears();
-        if (homeAge > 50){
-            return 1.5;
-        } else if (homeAge > 25){
-            return 1.25;
-        } else {
-            return 1;
-        }
+        RateTable rateTable = RateTables.getCurrent();
+        return rateTable.getHomeAgeFactor(rateTable.getHomeAgeBand(dateBuilt));
     }
 
     /**
      * returns the home heating type factor
      * @param homeHeatingType Home Heating Type
-     * @return 1, 1.25, or 2 Home Heating Type factor
+     * @return Home Heating Type factor
      */
     public static double getHeatingFactor(HeatingType homeHeatingType){
-        switch (homeHeatingType) {
-            case ELECTRIC, GAS, OTHER -> {
-                return 1;
-            }
-            case WOOD -> {
-                return 1.25;
-            }
-            case OIL -> {
-                return 2;
-            }
-            default -> throw new IllegalArgumentException("Invalid Heating Type");
-        }
+        return RateTables.getCurrent().getHeatingFactor(homeHeatingType);
     }
 
     /**
      * returns the home location factor
      * @param homelocation Home Location
-     * @return 1 or 1.15 Home Location Factor
+     * @return Home Location Factor
      */
     public static double getLocationFactor(Location homelocation){
-        switch (homelocation){
-            case URBAN -> {
-                return 1;
-            }
-            case RURAL -> {
-                return 1.15;
-            }
-            default -> throw new IllegalArgumentException("Invalid Location Type");
-        }
+        return RateTables.getCurrent().getLocationFactor(homelocation);
     }
 }
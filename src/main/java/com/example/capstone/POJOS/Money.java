@@ -0,0 +1,43 @@
+package com.example.capstone.POJOS;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money helpers, amounts are held as a long number of cents
+ */
+public final class Money {
+    /**
+     * Number of cents in one dollar
+     */
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    private Money(){}
+
+    /**
+     * Converts a dollar amount to cents, rounding half up to the nearest cent
+     * @param dollars Amount in dollars
+     * @return Amount in cents
+     */
+    public static long ofDollars(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * Applies a rate factor to an amount, rounding half up to the nearest cent
+     * @param cents Amount in cents
+     * @param factor Rate factor
+     * @return Resulting amount in cents
+     */
+    public static long multiply(long cents, double factor) {
+        return Math.round(cents * factor);
+    }
+
+    /**
+     * Converts an amount in cents to an exact decimal dollar amount
+     * @param cents Amount in cents
+     * @return Amount in dollars with two decimal places
+     */
+    public static BigDecimal toDollars(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -6,23 +6,38 @@ import java.time.LocalDate;
  * An abstract class to be extended by concrete policy classes
  */
 public abstract class Policy {
+    /**
+     * The number of days before its end date that a policy can be renewed
+     */
+    public static final int RENEWAL_WINDOW_DAYS = 60;
+    /**
+     * The number of days after its end date that a lapsed policy can still be renewed
+     */
+    public static final int RENEWAL_GRACE_DAYS = 30;
+
     private final Person insuredPerson;
     private final LocalDate startDate;
     private final LocalDate endDate;
-    private final double totalPremium;
+    private final long totalPremium;
 
     /**
      * A constructor to create Policy objects
      * @param insuredPerson The insured person object
-     * @param totalPremium The total premium
+     * @param totalPremium The total premium, in cents
      */
-    public Policy(Person insuredPerson, double totalPremium) {
+    public Policy(Person insuredPerson, long totalPremium) {
         this.insuredPerson = insuredPerson;
-        this.startDate = LocalDate.now();
-        this.endDate = LocalDate.now().plusYears(1);
+        this.startDate = RatingClock.getInstance().today();
+        this.endDate = RatingClock.getInstance().policyEndDate();
         this.totalPremium = totalPremium;
     }
 
+    /**
+     * Gets the id of the Policy object
+     * @return An integer representing the policy's id
+     */
+    public abstract Integer getId();
+
     /**
      * Gets the insured person object of the Policy object
      * @return insuredPerson A Person object representing a policy's insured person
@@ -49,9 +64,9 @@ public abstract class Policy {
 
     /**
      * Gets the total premium value of the Policy object
-     * @return totalPremium The total premium of the Policy object
+     * @return totalPremium The total premium of the Policy object, in cents
      */
-    public double getTotalPremium() {
+    public long getTotalPremium() {
         return totalPremium;
     }
 }
@@ -1,5 +1,7 @@
 package com.example.capstone.POJOS;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDate;
 
 /**
@@ -9,17 +11,18 @@ public abstract class Quote {
     private final Person insuredPerson;
     private final LocalDate startDate;
     private final LocalDate endDate;
-    private final double totalPremium;
+    private final long totalPremium;
+    private Integer reservedId;
 
     /**
      * A constructor to create Quote objects
      * @param driver The driver object
-     * @param totalPremium The total premium
+     * @param totalPremium The total premium, in cents
      */
-    public Quote(Person insuredPerson, double totalPremium) {
+    public Quote(Person insuredPerson, long totalPremium) {
         this.insuredPerson = insuredPerson;
-        this.startDate = LocalDate.now();
-        this.endDate = LocalDate.now().plusDays(30);
+        this.startDate = RatingClock.getInstance().today();
+        this.endDate = RatingClock.getInstance().quoteEndDate();
         this.totalPremium = totalPremium;
     }
 
@@ -41,9 +44,9 @@ public abstract class Quote {
 
     /**
      * Gets the total premium value of the Quote object
-     * @return totalPremium The totalPremium of the Quote object
+     * @return totalPremium The totalPremium of the Quote object, in cents
      */
-    public double getTotalPremium() {
+    public long getTotalPremium() {
         return totalPremium;
     }
 
@@ -54,4 +57,21 @@ public abstract class Quote {
     public Person getInsuredPerson() {
         return insuredPerson;
     }
+
+    /**
+     * Gets the id reserved for the Quote object before it is persisted
+     * @return The reserved id, or null if the id is generated on insert
+     */
+    @JsonIgnore
+    public Integer getReservedId() {
+        return reservedId;
+    }
+
+    /**
+     * Reserves the id the Quote object is persisted with
+     * @param reservedId The reserved id
+     */
+    public void setReservedId(Integer reservedId) {
+        this.reservedId = reservedId;
+    }
 }
@@ -0,0 +1,460 @@
+package com.example.capstone.POJOS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Properties;
+
+/**
+ * An immutable version of every auto and home rate. A band is the number of thresholds a value is
+ * strictly greater than, so every factor array has one more entry than its threshold array
+ */
+public final class RateTable {
+    private final String version;
+    private final LocalDate effectiveFrom;
+
+    private final long autoPremium;
+    private final double autoTax;
+    private final int[] driverAgeThresholds;
+    private final double[] driverAgeFactors;
+    private final int[] accidentThresholds;
+    private final double[] accidentFactors;
+    private final int[] vehicleAgeThresholds;
+    private final double[] vehicleAgeFactors;
+
+    private final long homePremium;
+    private final double homeTax;
+    private final long homeValueThreshold;
+    private final double homeValueRate;
+    private final int[] homeAgeThresholds;
+    private final double[] homeAgeFactors;
+    private final double[] heatingFactors;
+    private final double[] locationFactors;
+
+    private final AutoPremiumTable autoPremiumTable;
+    private final HomeFactorTable homeFactorTable;
+    private volatile DateCutoffs dateCutoffs;
+
+    /**
+     * A constructor to create a rate table from rate properties
+     * @param properties The rate properties, see rates.properties for the keys
+     * @throws IllegalArgumentException if a rate is missing or malformed
+     */
+    public RateTable(Properties properties) {
+        this.version = required(properties, "version");
+        this.effectiveFrom = parseDate(properties, "effectiveFrom");
+
+        this.autoPremium = Money.ofDollars(parseDouble(properties, "auto.premium"));
+        this.autoTax = parseDouble(properties, "auto.tax");
+        this.driverAgeThresholds = parseInts(properties, "auto.driverAge.thresholds");
+        this.driverAgeFactors = parseFactors(properties, "auto.driverAge.factors", driverAgeThresholds);
+        this.accidentThresholds = parseInts(properties, "auto.accidents.thresholds");
+        this.accidentFactors = parseFactors(properties, "auto.accidents.factors", accidentThresholds);
+        this.vehicleAgeThresholds = parseInts(properties, "auto.vehicleAge.thresholds");
+        this.vehicleAgeFactors = parseFactors(properties, "auto.vehicleAge.factors", vehicleAgeThresholds);
+
+        this.homePremium = Money.ofDollars(parseDouble(properties, "home.premium"));
+        this.homeTax = parseDouble(properties, "home.tax");
+        this.homeValueThreshold = Money.ofDollars(parseDouble(properties, "home.value.threshold"));
+        this.homeValueRate = parseDouble(properties, "home.value.rate");
+        this.homeAgeThresholds = parseInts(properties, "home.age.thresholds");
+        this.homeAgeFactors = parseFactors(properties, "home.age.factors", homeAgeThresholds);
+        this.heatingFactors = new double[HeatingType.values().length];
+        for (HeatingType heatingType : HeatingType.values()) {
+            heatingFactors[heatingType.ordinal()] = parseDouble(properties, "home.heating." + heatingType.name());
+        }
+        this.locationFactors = new double[Location.values().length];
+        for (Location location : Location.values()) {
+            locationFactors[location.ordinal()] = parseDouble(properties, "home.location." + location.name());
+        }
+
+        this.autoPremiumTable = new AutoPremiumTable(this);
+        this.homeFactorTable = new HomeFactorTable(this);
+    }
+
+    /**
+     * Reads a rate table from a stream of rate properties
+     * @param in The stream to read
+     * @return The rate table
+     * @throws IOException if the stream cannot be read
+     */
+    public static RateTable load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        return new RateTable(properties);
+    }
+
+    /**
+     * Reads a rate table from rate properties text
+     * @param text The rate properties
+     * @return The rate table
+     */
+    public static RateTable parse(String text) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(text));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid rate table", e);
+        }
+        return new RateTable(properties);
+    }
+
+    /**
+     * Gets the version of the rate table
+     * @return The rate table version
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the first date the rate table is in force, it stays in force until the next version starts
+     * @return The effective date, LocalDate.MIN for a table without one
+     */
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * Gets the premium table built from this rate table
+     * @return The auto premium table
+     */
+    public AutoPremiumTable getAutoPremiumTable() {
+        return autoPremiumTable;
+    }
+
+    /**
+     * Gets the home factor table built from this rate table
+     * @return The home factor table
+     */
+    public HomeFactorTable getHomeFactorTable() {
+        return homeFactorTable;
+    }
+
+    /**
+     * returns the auto base premium value
+     * @return Base Premium for Auto, in cents
+     */
+    public long getAutoPremium() {
+        return autoPremium;
+    }
+
+    /**
+     * returns the auto tax rate value
+     * @return Tax Rate for Auto
+     */
+    public double getAutoTax() {
+        return autoTax;
+    }
+
+    /**
+     * returns the number of driver age bands
+     * @return Number of driver age bands
+     */
+    public int getDriverAgeBands() {
+        return driverAgeFactors.length;
+    }
+
+    /**
+     * returns the number of accident bands
+     * @return Number of accident bands
+     */
+    public int getAccidentBands() {
+        return accidentFactors.length;
+    }
+
+    /**
+     * returns the number of vehicle age bands
+     * @return Number of vehicle age bands
+     */
+    public int getVehicleAgeBands() {
+        return vehicleAgeFactors.length;
+    }
+
+    /**
+     * returns the driver age band
+     * @param driverAge Age of Driver
+     * @return Driver age band
+     */
+    public int getDriverAgeBand(int driverAge) {
+        return band(driverAge, driverAgeThresholds);
+    }
+
+    /**
+     * returns the accident band
+     * @param driverAccidents Number of Accidents
+     * @return Accident band
+     */
+    public int getAccidentsBand(int driverAccidents) {
+        return band(driverAccidents, accidentThresholds);
+    }
+
+    /**
+     * returns the vehicle age band
+     * @param vehicleYear Year of the vehicle was made
+     * @return Vehicle age band
+     */
+    public int getVehicleAgeBand(int vehicleYear) {
+        int[] cutoffs = dateCutoffs().vehicleYears;
+        int band = 0;
+        while (band < cutoffs.length && vehicleYear < cutoffs[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    /**
+     * returns the age risk factor of a driver age band
+     * @param band Driver age band
+     * @return Age Risk Factor
+     */
+    public double getDriverAgeFactor(int band) {
+        return driverAgeFactors[band];
+    }
+
+    /**
+     * returns the accident risk factor of an accident band
+     * @param band Accident band
+     * @return Accident Risk Factor
+     */
+    public double getAccidentsFactor(int band) {
+        return accidentFactors[band];
+    }
+
+    /**
+     * returns the vehicle age risk factor of a vehicle age band
+     * @param band Vehicle age band
+     * @return Vehicle Age Risk Factor
+     */
+    public double getVehicleAgeFactor(int band) {
+        return vehicleAgeFactors[band];
+    }
+
+    /**
+     * returns the home base premium value
+     * @return Base Premium for Home, in cents
+     */
+    public long getHomePremium() {
+        return homePremium;
+    }
+
+    /**
+     * returns the home tax rate value
+     * @return Tax Rate for Home
+     */
+    public double getHomeTax() {
+        return homeTax;
+    }
+
+    /**
+     * return the home value factor
+     * @param homeValue Home Value, in cents
+     * @return rate * (homeValue - threshold) or 0 Home Value Factor, in cents
+     */
+    public long getHomeValueFactor(long homeValue) {
+        if (homeValue > homeValueThreshold) {
+            return Money.multiply(homeValue - homeValueThreshold, homeValueRate);
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * returns the number of home age bands
+     * @return Number of home age bands
+     */
+    public int getHomeAgeBands() {
+        return homeAgeFactors.length;
+    }
+
+    /**
+     * returns the home age band
+     * @param dateBuilt Date the Home was built
+     * @return Home age band
+     */
+    public int getHomeAgeBand(LocalDate dateBuilt) {
+        long[] cutoffs = dateCutoffs().homeBuiltEpochDays;
+        long builtEpochDay = dateBuilt.toEpochDay();
+        int band = 0;
+        while (band < cutoffs.length && builtEpochDay <= cutoffs[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    /**
+     * returns the home age factor of a home age band
+     * @param band Home age band
+     * @return Home Age Factor
+     */
+    public double getHomeAgeFactor(int band) {
+        return homeAgeFactors[band];
+    }
+
+    /**
+     * returns the home heating type factor
+     * @param heatingType Home Heating Type
+     * @return Home Heating Type factor
+     */
+    public double getHeatingFactor(HeatingType heatingType) {
+        return heatingFactors[heatingType.ordinal()];
+    }
+
+    /**
+     * returns the home location factor
+     * @param location Home Location
+     * @return Home Location Factor
+     */
+    public double getLocationFactor(Location location) {
+        return locationFactors[location.ordinal()];
+    }
+
+    /**
+     * Prices a range of drivers and vehicles held in columns, writing the total premium of each row
+     * @param driverAges Ages of the drivers
+     * @param driverAccidents Numbers of accidents of the drivers
+     * @param vehicleYears Years the vehicles were made
+     * @param totalPremiums Receives the total premiums, in cents
+     * @param from First row to price
+     * @param to Row after the last row to price
+     */
+    public void priceAutos(int[] driverAges, int[] driverAccidents, int[] vehicleYears, long[] totalPremiums,
+                           int from, int to) {
+        int[] vehicleYearCutoffs = dateCutoffs().vehicleYears;
+        for (int i = from; i < to; i++) {
+            int vehicleBand = 0;
+            while (vehicleBand < vehicleYearCutoffs.length && vehicleYears[i] < vehicleYearCutoffs[vehicleBand]) {
+                vehicleBand++;
+            }
+            totalPremiums[i] = autoPremiumTable.getTotalPremiumForBands(band(driverAges[i], driverAgeThresholds),
+                    band(driverAccidents[i], accidentThresholds), vehicleBand);
+        }
+    }
+
+    /**
+     * Prices a range of homes held in columns, writing the total premium of each row
+     * @param homeValues Values of the homes, in cents
+     * @param builtEpochDays Dates the homes were built, as epoch days
+     * @param heatingTypes Heating type ordinals of the homes
+     * @param locations Location ordinals of the homes
+     * @param totalPremiums Receives the total premiums, in cents
+     * @param from First row to price
+     * @param to Row after the last row to price
+     */
+    public void priceHomes(long[] homeValues, long[] builtEpochDays, byte[] heatingTypes, byte[] locations,
+                           long[] totalPremiums, int from, int to) {
+        long[] homeBuiltCutoffs = dateCutoffs().homeBuiltEpochDays;
+        for (int i = from; i < to; i++) {
+            int ageBand = 0;
+            while (ageBand < homeBuiltCutoffs.length && builtEpochDays[i] <= homeBuiltCutoffs[ageBand]) {
+                ageBand++;
+            }
+            totalPremiums[i] = Money.multiply(homePremium + getHomeValueFactor(homeValues[i]),
+                    homeFactorTable.getFactorForBands(ageBand, heatingTypes[i], locations[i]));
+        }
+    }
+
+    private DateCutoffs dateCutoffs() {
+        RatingClock clock = RatingClock.getInstance();
+        DateCutoffs cutoffs = dateCutoffs;
+        if (cutoffs == null || cutoffs.epochDay != clock.todayEpochDay()) {
+            cutoffs = new DateCutoffs(clock.today(), vehicleAgeThresholds, homeAgeThresholds);
+            dateCutoffs = cutoffs;
+        }
+        return cutoffs;
+    }
+
+    private static int band(int value, int[] thresholds) {
+        int band = 0;
+        while (band < thresholds.length && value > thresholds[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing rate " + key);
+        }
+        return value.trim();
+    }
+
+    private static LocalDate parseDate(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return LocalDate.MIN;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid rate " + key, e);
+        }
+    }
+
+    private static double parseDouble(Properties properties, String key) {
+        try {
+            return Double.parseDouble(required(properties, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate " + key, e);
+        }
+    }
+
+    private static int[] parseInts(Properties properties, String key) {
+        String[] parts = required(properties, key).split(",");
+        int[] values = new int[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Integer.parseInt(parts[i].trim());
+                if (i > 0 && values[i] <= values[i - 1]) {
+                    throw new IllegalArgumentException("Thresholds must be ascending for rate " + key);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate " + key, e);
+        }
+        return values;
+    }
+
+    private static double[] parseFactors(Properties properties, String key, int[] thresholds) {
+        String[] parts = required(properties, key).split(",");
+        if (parts.length != thresholds.length + 1) {
+            throw new IllegalArgumentException("Rate " + key + " needs " + (thresholds.length + 1) + " factors");
+        }
+        double[] values = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate " + key, e);
+        }
+        return values;
+    }
+
+    /**
+     * The age thresholds of a rate table turned into build year and build date cut-offs for one day,
+     * so age bands are found with integer comparisons
+     */
+    private static final class DateCutoffs {
+        private final long epochDay;
+        private final int[] vehicleYears;
+        private final long[] homeBuiltEpochDays;
+
+        private DateCutoffs(LocalDate today, int[] vehicleAgeThresholds, int[] homeAgeThresholds) {
+            this.epochDay = today.toEpochDay();
+            // a vehicle is older than t years when it was made before year - t
+            this.vehicleYears = new int[vehicleAgeThresholds.length];
+            for (int i = 0; i < vehicleAgeThresholds.length; i++) {
+                vehicleYears[i] = today.getYear() - vehicleAgeThresholds[i];
+            }
+            // a home is more than t full years old when it was built on or before today minus t + 1 years
+            this.homeBuiltEpochDays = new long[homeAgeThresholds.length];
+            for (int i = 0; i < homeAgeThresholds.length; i++) {
+                homeBuiltEpochDays[i] = today.minusYears(homeAgeThresholds[i] + 1L).toEpochDay();
+            }
+        }
+    }
+}
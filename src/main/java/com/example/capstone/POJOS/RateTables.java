@@ -0,0 +1,120 @@
+package com.example.capstone.POJOS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Holds every rate table version, each in force from its effective date until the next version starts.
+ * The versions are kept in an immutable array sorted by effective date, so the version for a date is found
+ * by binary search without locking, and a new set of versions is swapped in atomically
+ */
+public final class RateTables {
+    private static volatile Versions versions = new Versions(new RateTable[]{loadDefault()});
+
+    private RateTables(){}
+
+    /**
+     * Gets the rate table in force today
+     * @return The current rate table
+     */
+    public static RateTable getCurrent() {
+        return versions.get(RatingClock.getInstance().todayEpochDay());
+    }
+
+    /**
+     * Gets the rate table in force on a date. Dates before the first version are priced with the first version
+     * @param date The rating date
+     * @return The rate table in force on the date
+     */
+    public static RateTable getEffective(LocalDate date) {
+        return versions.get(date.toEpochDay());
+    }
+
+    /**
+     * Gets every rate table version
+     * @return The rate tables, sorted by effective date
+     */
+    public static List<RateTable> getVersions() {
+        return List.of(versions.tables);
+    }
+
+    /**
+     * Adds a rate table version, replacing the version with the same effective date if there is one.
+     * Quotes started afterwards are priced with the new table once it is in force
+     * @param rateTable The new rate table
+     */
+    public static synchronized void install(RateTable rateTable) {
+        RateTable[] tables = versions.tables;
+        int index = versions.indexOf(rateTable.getEffectiveFrom().toEpochDay());
+        if (index >= 0) {
+            tables = tables.clone();
+            tables[index] = rateTable;
+        } else {
+            tables = Arrays.copyOf(tables, tables.length + 1);
+            tables[tables.length - 1] = rateTable;
+        }
+        versions = new Versions(tables);
+    }
+
+    /**
+     * Replaces every rate table version
+     * @param rateTables The new rate tables
+     * @throws IllegalArgumentException if there are no tables or two tables share an effective date
+     */
+    public static synchronized void installAll(Collection<RateTable> rateTables) {
+        if (rateTables.isEmpty()) {
+            throw new IllegalArgumentException("No rate tables");
+        }
+        versions = new Versions(rateTables.toArray(new RateTable[0]));
+    }
+
+    private static RateTable loadDefault() {
+        try (InputStream in = RateTables.class.getResourceAsStream("/rates.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("rates.properties not found on the classpath");
+            }
+            return RateTable.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The rate tables sorted by effective date, with their effective dates as epoch days for the search
+     */
+    private static final class Versions {
+        private final RateTable[] tables;
+        private final long[] effectiveDays;
+
+        private Versions(RateTable[] tables) {
+            this.tables = tables.clone();
+            Arrays.sort(this.tables, Comparator.comparing(RateTable::getEffectiveFrom));
+            this.effectiveDays = new long[tables.length];
+            for (int i = 0; i < tables.length; i++) {
+                effectiveDays[i] = this.tables[i].getEffectiveFrom().toEpochDay();
+                if (i > 0 && effectiveDays[i] == effectiveDays[i - 1]) {
+                    throw new IllegalArgumentException("Rate tables " + this.tables[i - 1].getVersion() + " and "
+                            + this.tables[i].getVersion() + " are both effective from " + this.tables[i].getEffectiveFrom());
+                }
+            }
+        }
+
+        private int indexOf(long epochDay) {
+            return Arrays.binarySearch(effectiveDays, epochDay);
+        }
+
+        private RateTable get(long epochDay) {
+            int index = indexOf(epochDay);
+            if (index < 0) {
+                index = Math.max(0, -index - 2);
+            }
+            return tables[index];
+        }
+    }
+}
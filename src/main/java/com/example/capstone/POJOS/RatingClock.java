@@ -0,0 +1,120 @@
+package com.example.capstone.POJOS;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Caches the current date for rating, quote and policy date math. The date is only recomputed once
+ * the clock passes midnight, so reading it costs a clock read and a comparison
+ */
+public final class RatingClock {
+    private static volatile RatingClock instance = new RatingClock(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile Day day;
+
+    /**
+     * A constructor to create a rating clock
+     * @param clock The clock, with the time zone used to decide when a day starts
+     */
+    public RatingClock(Clock clock) {
+        this.clock = clock;
+        this.day = new Day(clock);
+    }
+
+    /**
+     * Gets the rating clock in use
+     * @return The current rating clock
+     */
+    public static RatingClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Replaces the rating clock in use, for example with a fixed clock in tests
+     * @param ratingClock The new rating clock
+     */
+    public static void setInstance(RatingClock ratingClock) {
+        instance = ratingClock;
+    }
+
+    /**
+     * Gets today's date
+     * @return Today's date
+     */
+    public LocalDate today() {
+        return day().date;
+    }
+
+    /**
+     * Gets today's date as a count of days since the epoch
+     * @return Today's epoch day
+     */
+    public long todayEpochDay() {
+        return day().epochDay;
+    }
+
+    /**
+     * Gets the current year
+     * @return The current year
+     */
+    public int year() {
+        return day().year;
+    }
+
+    /**
+     * Gets the end date of a quote started today
+     * @return The date 30 days from today
+     */
+    public LocalDate quoteEndDate() {
+        return day().quoteEndDate;
+    }
+
+    /**
+     * Gets the end date of a policy started today
+     * @return The date one year from today
+     */
+    public LocalDate policyEndDate() {
+        return day().policyEndDate;
+    }
+
+    /**
+     * Gets the time left until the end of a date, in the clock's time zone
+     * @param date The date
+     * @return The time until midnight after the date, negative once the date has passed
+     */
+    public Duration untilEndOf(LocalDate date) {
+        return Duration.between(clock.instant(), date.plusDays(1).atStartOfDay(clock.getZone()).toInstant());
+    }
+
+    private Day day() {
+        Day current = day;
+        if (clock.millis() >= current.nextMidnight) {
+            current = new Day(clock);
+            day = current;
+        }
+        return current;
+    }
+
+    /**
+     * The dates of one day, immutable so it can be shared between threads without locking
+     */
+    private static final class Day {
+        private final LocalDate date;
+        private final long epochDay;
+        private final int year;
+        private final LocalDate quoteEndDate;
+        private final LocalDate policyEndDate;
+        private final long nextMidnight;
+
+        private Day(Clock clock) {
+            this.date = LocalDate.now(clock);
+            this.epochDay = date.toEpochDay();
+            this.year = date.getYear();
+            this.quoteEndDate = date.plusDays(30);
+            this.policyEndDate = date.plusYears(1);
+            this.nextMidnight = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.capstone.POJOS;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * The progress of a renewal run over one policy book. The run renews the policies ending within its
+ * window in end date and id order, and the checkpoint holds the end date and id of the last policy
+ * it processed, so a stopped run resumes after that policy
+ */
+@Entity(name = "renewalcheckpoint")
+public class RenewalCheckpoint {
+    @Id private String book;
+    @Column(name = "ends_by") private LocalDate endsBy;
+    @Column(name = "after_end_date") private LocalDate afterEndDate;
+    @Column(name = "after_id") private Integer afterId;
+    private long renewed;
+    private long failed;
+    private boolean completed;
+
+    protected RenewalCheckpoint() {
+    }
+
+    /**
+     * A constructor to create the checkpoint of a new run
+     * @param book The policy book, autopolicy or homepolicy
+     * @param endsFrom The first end date the run renews
+     * @param endsBy The last end date the run renews
+     */
+    public RenewalCheckpoint(String book, LocalDate endsFrom, LocalDate endsBy) {
+        this.book = book;
+        restart(endsFrom, endsBy);
+    }
+
+    /**
+     * Starts a new run from the first policy of its window
+     * @param endsFrom The first end date the run renews
+     * @param endsBy The last end date the run renews
+     */
+    public void restart(LocalDate endsFrom, LocalDate endsBy) {
+        this.endsBy = endsBy;
+        // Policy ids are positive, so the cursor is before every policy ending on endsFrom
+        this.afterEndDate = endsFrom;
+        this.afterId = 0;
+        this.renewed = 0;
+        this.failed = 0;
+        this.completed = false;
+    }
+
+    /**
+     * Moves the cursor past the policies processed
+     * @param endDate The end date of the last policy processed
+     * @param id The id of the last policy processed
+     * @param renewed The number of policies renewed
+     * @param failed The number of policies that could not be renewed
+     */
+    public void advance(LocalDate endDate, Integer id, int renewed, int failed) {
+        this.afterEndDate = endDate;
+        this.afterId = id;
+        this.renewed += renewed;
+        this.failed += failed;
+    }
+
+    /**
+     * Marks the run as complete
+     */
+    public void complete() {
+        this.completed = true;
+    }
+
+    /**
+     * Gets the policy book of the run
+     * @return autopolicy or homepolicy
+     */
+    public String getBook() {
+        return book;
+    }
+
+    /**
+     * Gets the last end date the run renews
+     * @return The end date of the renewal window
+     */
+    public LocalDate getEndsBy() {
+        return endsBy;
+    }
+
+    /**
+     * Gets the end date of the last policy processed
+     * @return The end date, the first end date of the window before the first policy
+     */
+    public LocalDate getAfterEndDate() {
+        return afterEndDate;
+    }
+
+    /**
+     * Gets the id of the last policy processed
+     * @return The policy id, 0 before the first policy
+     */
+    public Integer getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * Gets the number of policies renewed by the run
+     * @return The number of policies renewed
+     */
+    public long getRenewed() {
+        return renewed;
+    }
+
+    /**
+     * Gets the number of policies the run could not renew
+     * @return The number of policies that failed
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Checks whether the run has processed every policy in its window
+     * @return true if the run is complete
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+}
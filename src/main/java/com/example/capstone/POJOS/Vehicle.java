@@ -1,15 +1,24 @@
 package com.example.capstone.POJOS;
 
 import com.example.capstone.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Create Vehicle objects having a year, model and make of the vehicle
  */
 @Entity(name = "auto")
-public class Vehicle {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "auto")
+public class Vehicle implements Versioned {
 
-    @Id @GeneratedValue(strategy = GenerationType.AUTO) private Integer id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auto_seq")
+    @SequenceGenerator(name = "auto_seq", sequenceName = "auto_SEQ", allocationSize = 50)
+    private Integer id;
+    @Version @ColumnDefault("0") private long version;
     private int year;
     private String model;
     private String make;
@@ -32,6 +41,16 @@ public class Vehicle {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the vehicle, incremented by every update
+     * @return The version of the vehicle
+     */
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the year of a vehicle object
      * @return An integer representing the vehicle's year of make
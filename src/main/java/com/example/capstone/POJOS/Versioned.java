@@ -0,0 +1,20 @@
+package com.example.capstone.POJOS;
+
+/**
+ * An entity whose row carries a version, incremented by every update of the row, so a version number
+ * identifies one state of the entity
+ */
+public interface Versioned {
+
+    /**
+     * Gets the id of the entity
+     * @return The id, null until the entity is saved
+     */
+    Integer getId();
+
+    /**
+     * Gets the version of the entity
+     * @return The version, 0 until the row is first updated
+     */
+    long getVersion();
+}
@@ -0,0 +1,175 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.*;
+import com.example.capstone.POJOS.ArchiveReason;
+import com.example.capstone.POJOS.AutoPolicy;
+import com.example.capstone.POJOS.HomePolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves cancelled, superseded and expired quotes and policies from the live tables to their archive tables,
+ * so the live tables only hold the rows the endpoints work with. Each move copies the rows to the archive
+ * and deletes them from the live table in one transaction, and joins the caller's transaction if there is one
+ */
+@Service
+public class Archiver {
+    @Autowired
+    private AutoQuoteRepository autoQuoteRepository;
+    @Autowired
+    private HomeQuoteRepository homeQuoteRepository;
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private HomePolicyRepository homePolicyRepository;
+    @Autowired
+    private ArchivedAutoQuoteRepository archivedAutoQuoteRepository;
+    @Autowired
+    private ArchivedHomeQuoteRepository archivedHomeQuoteRepository;
+    @Autowired
+    private ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+    @Autowired
+    private ArchivedHomePolicyRepository archivedHomePolicyRepository;
+
+    /**
+     * Archives auto quotes
+     * @param ids The ids of the auto quotes, not empty
+     * @param reason Why the auto quotes are archived
+     * @return The number of auto quotes archived
+     */
+    @Transactional
+    public int archiveAutoQuotes(Collection<Integer> ids, ArchiveReason reason) {
+        int copied = archivedAutoQuoteRepository.copyByIdIn(reason, ids);
+        return moved(copied, autoQuoteRepository.deleteByIdIn(ids));
+    }
+
+    /**
+     * Archives an auto quote of a user, nothing is archived if the auto quote belongs to another user
+     * @param id The auto quote id
+     * @param userId The user id
+     * @param reason Why the auto quote is archived
+     * @return The number of auto quotes archived, 0 or 1
+     */
+    @Transactional
+    public int archiveAutoQuote(Integer id, Integer userId, ArchiveReason reason) {
+        int copied = archivedAutoQuoteRepository.copyByIdAndUserId(reason, id, userId);
+        return moved(copied, autoQuoteRepository.deleteByIdAndUserId(id, userId));
+    }
+
+    /**
+     * Archives home quotes
+     * @param ids The ids of the home quotes, not empty
+     * @param reason Why the home quotes are archived
+     * @return The number of home quotes archived
+     */
+    @Transactional
+    public int archiveHomeQuotes(Collection<Integer> ids, ArchiveReason reason) {
+        int copied = archivedHomeQuoteRepository.copyByIdIn(reason, ids);
+        return moved(copied, homeQuoteRepository.deleteByIdIn(ids));
+    }
+
+    /**
+     * Archives a home quote of a user, nothing is archived if the home quote belongs to another user
+     * @param id The home quote id
+     * @param userId The user id
+     * @param reason Why the home quote is archived
+     * @return The number of home quotes archived, 0 or 1
+     */
+    @Transactional
+    public int archiveHomeQuote(Integer id, Integer userId, ArchiveReason reason) {
+        int copied = archivedHomeQuoteRepository.copyByIdAndUserId(reason, id, userId);
+        return moved(copied, homeQuoteRepository.deleteByIdAndUserId(id, userId));
+    }
+
+    /**
+     * Archives auto policies
+     * @param ids The ids of the auto policies, not empty
+     * @param reason Why the auto policies are archived
+     * @return The number of auto policies archived
+     */
+    @Transactional
+    public int archiveAutoPolicies(Collection<Integer> ids, ArchiveReason reason) {
+        int copied = archivedAutoPolicyRepository.copyByIdIn(reason, ids);
+        return moved(copied, autoPolicyRepository.deleteByIdIn(ids));
+    }
+
+    /**
+     * Archives an auto policy of a user, nothing is archived if the auto policy belongs to another user
+     * @param id The auto policy id
+     * @param userId The user id
+     * @param reason Why the auto policy is archived
+     * @return The number of auto policies archived, 0 or 1
+     */
+    @Transactional
+    public int archiveAutoPolicy(Integer id, Integer userId, ArchiveReason reason) {
+        int copied = archivedAutoPolicyRepository.copyByIdAndUserId(reason, id, userId);
+        return moved(copied, autoPolicyRepository.deleteByIdAndUserId(id, userId));
+    }
+
+    /**
+     * Replaces an auto policy with its renewal, archiving the old policy as superseded and inserting the renewal
+     * in one transaction, so a failed insert leaves the old policy live
+     * @param id The id of the old auto policy
+     * @param renewal The renewal of the old auto policy
+     * @return The saved renewal, or null if the old auto policy was archived since it was read
+     */
+    @Transactional
+    public AutoPolicy renewAutoPolicy(Integer id, AutoPolicy renewal) {
+        if (archiveAutoPolicies(List.of(id), ArchiveReason.SUPERSEDED) == 0) {
+            return null;
+        }
+        return autoPolicyRepository.save(renewal);
+    }
+
+    /**
+     * Archives home policies
+     * @param ids The ids of the home policies, not empty
+     * @param reason Why the home policies are archived
+     * @return The number of home policies archived
+     */
+    @Transactional
+    public int archiveHomePolicies(Collection<Integer> ids, ArchiveReason reason) {
+        int copied = archivedHomePolicyRepository.copyByIdIn(reason, ids);
+        return moved(copied, homePolicyRepository.deleteByIdIn(ids));
+    }
+
+    /**
+     * Archives a home policy of a user, nothing is archived if the home policy belongs to another user
+     * @param id The home policy id
+     * @param userId The user id
+     * @param reason Why the home policy is archived
+     * @return The number of home policies archived, 0 or 1
+     */
+    @Transactional
+    public int archiveHomePolicy(Integer id, Integer userId, ArchiveReason reason) {
+        int copied = archivedHomePolicyRepository.copyByIdAndUserId(reason, id, userId);
+        return moved(copied, homePolicyRepository.deleteByIdAndUserId(id, userId));
+    }
+
+    /**
+     * Replaces a home policy with its renewal, archiving the old policy as superseded and inserting the renewal
+     * in one transaction, so a failed insert leaves the old policy live
+     * @param id The id of the old home policy
+     * @param renewal The renewal of the old home policy
+     * @return The saved renewal, or null if the old home policy was archived since it was read
+     */
+    @Transactional
+    public HomePolicy renewHomePolicy(Integer id, HomePolicy renewal) {
+        if (archiveHomePolicies(List.of(id), ArchiveReason.SUPERSEDED) == 0) {
+            return null;
+        }
+        return homePolicyRepository.save(renewal);
+    }
+
+    private static int moved(int copied, int deleted) {
+        if (copied != deleted) {
+            // Rolls back the move, a row deleted between the copy and the delete would be archived but live
+            throw new IllegalStateException("Copied " + copied + " rows to the archive but deleted " + deleted);
+        }
+        return deleted;
+    }
+}
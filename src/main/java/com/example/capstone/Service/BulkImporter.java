@@ -0,0 +1,346 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DTO.ImportError;
+import com.example.capstone.DTO.ImportReport;
+import com.example.capstone.DataAccess.UserRepository;
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Imports users, homes, autos, drivers and homeowners from a streamed file. Rows are validated as they
+ * are read, and saved in chunks: the users of a chunk are looked up with one query, and its rows are
+ * inserted in JDBC batches in one transaction. Rows that fail are reported and the rest are imported
+ */
+@Service
+public class BulkImporter {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Checks whether rows of a kind can be imported
+     * @param kind users, homes, autos, drivers or homeowners
+     * @return true if the kind is known
+     */
+    public static boolean isKind(String kind) {
+        return Kind.of(kind) != null;
+    }
+
+    /**
+     * Imports every row of a file
+     * @param kind users, homes, autos, drivers or homeowners
+     * @param reader The rows of the file
+     * @return How many rows were imported, and why the others were not
+     * @throws IOException if the file cannot be read
+     */
+    public ImportReport importRows(String kind, ImportRowReader reader) throws IOException {
+        Kind rowKind = Kind.of(kind);
+        if (rowKind == null) {
+            throw new IllegalArgumentException("Unknown import kind: " + kind);
+        }
+        Import run = new Import(rowKind);
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (true) {
+            Map<String, String> fields;
+            try {
+                fields = reader.next();
+            } catch (IllegalArgumentException e) {
+                run.reject(reader.getRowNumber(), e.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                break;
+            }
+            try {
+                Integer userId = rowKind == Kind.USERS ? null : parseInt(fields, "userId");
+                chunk.add(new Row(reader.getRowNumber(), rowKind.parse(fields), userId));
+            } catch (IllegalArgumentException e) {
+                run.reject(reader.getRowNumber(), e.getMessage());
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                run.save(chunk);
+                chunk.clear();
+            }
+        }
+        run.save(chunk);
+        run.errors.sort(Comparator.comparingLong(ImportError::row));
+        return new ImportReport(kind, reader.getRowNumber(), run.imported, run.rejected, run.errors);
+    }
+
+    /**
+     * The state of one import
+     */
+    private final class Import {
+        private final Kind kind;
+        private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        private final List<ImportError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        private Import(Kind kind) {
+            this.kind = kind;
+        }
+
+        private void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(row, message));
+            }
+        }
+
+        private void save(List<Row> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                insert(chunk);
+            } catch (RuntimeException chunkFailure) {
+                // Find the rows that failed by inserting the chunk one row at a time
+                for (Row row : chunk) {
+                    kind.clearId(row.entity);
+                    try {
+                        insert(List.of(row));
+                    } catch (RuntimeException e) {
+                        reject(row.number, rootMessage(e));
+                    }
+                }
+            }
+        }
+
+        private void insert(List<Row> rows) {
+            List<Row> unknownUser = new ArrayList<>();
+            int inserted = transactionTemplate.execute(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                // Imported rows would flood the second-level cache, they are cached when first read instead
+                session.setCacheMode(CacheMode.IGNORE);
+                Set<Integer> userIds = Set.of();
+                if (kind != Kind.USERS) {
+                    Set<Integer> wanted = new HashSet<>();
+                    rows.forEach(row -> wanted.add(row.userId));
+                    userIds = new HashSet<>(userRepository.findExistingIds(wanted));
+                }
+                int count = 0;
+                for (Row row : rows) {
+                    if (kind != Kind.USERS) {
+                        if (!userIds.contains(row.userId)) {
+                            unknownUser.add(row);
+                            continue;
+                        }
+                        kind.setUser(row.entity, entityManager.getReference(User.class, row.userId));
+                    }
+                    entityManager.persist(row.entity);
+                    if (++count % batchSize == 0) {
+                        session.flush();
+                        session.clear();
+                    }
+                }
+                session.flush();
+                session.clear();
+                return count;
+            });
+            imported += inserted;
+            unknownUser.forEach(row -> reject(row.number, "User " + row.userId + " not found"));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e.getMessage();
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value.trim();
+    }
+
+    private static int parseInt(Map<String, String> fields, String name) {
+        String value = required(fields, name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static double parseDouble(Map<String, String> fields, String name) {
+        String value = required(fields, name);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static LocalDate parseDate(Map<String, String> fields, String name) {
+        String value = required(fields, name);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value + ", expected yyyy-MM-dd");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Map<String, String> fields, String name, Class<E> type) {
+        String value = required(fields, name);
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value + ", expected one of "
+                    + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    /**
+     * A validated row waiting to be saved
+     */
+    private record Row(long number, Object entity, Integer userId) {
+    }
+
+    /**
+     * What can be imported, with the fields of its rows. The field names are those of the matching
+     * POST endpoints, with userId naming the owning user
+     */
+    private enum Kind {
+        USERS {
+            @Override
+            Object parse(Map<String, String> fields) {
+                User user = new User();
+                user.setName(required(fields, "name"));
+                user.setEmail(required(fields, "email"));
+                return user;
+            }
+
+            @Override
+            void setUser(Object entity, User user) {
+            }
+
+            @Override
+            void clearId(Object entity) {
+                ((User) entity).setId(null);
+            }
+        },
+        HOMES {
+            @Override
+            Object parse(Map<String, String> fields) {
+                Home home = new Home();
+                home.setDateBuilt(parseDate(fields, "dateBuilt"));
+                home.setValue(parseDouble(fields, "value"));
+                home.setDwellingType(parseEnum(fields, "dwellingType", DwellingType.class));
+                home.setHeatingType(parseEnum(fields, "heatingType", HeatingType.class));
+                home.setLocation(parseEnum(fields, "location", Location.class));
+                return home;
+            }
+
+            @Override
+            void setUser(Object entity, User user) {
+                ((Home) entity).setUser(user);
+            }
+
+            @Override
+            void clearId(Object entity) {
+                ((Home) entity).setId(null);
+            }
+        },
+        AUTOS {
+            @Override
+            Object parse(Map<String, String> fields) {
+                Vehicle vehicle = new Vehicle();
+                vehicle.setYear(parseInt(fields, "year"));
+                vehicle.setModel(required(fields, "model"));
+                vehicle.setMake(required(fields, "make"));
+                return vehicle;
+            }
+
+            @Override
+            void setUser(Object entity, User user) {
+                ((Vehicle) entity).setUser(user);
+            }
+
+            @Override
+            void clearId(Object entity) {
+                ((Vehicle) entity).setId(null);
+            }
+        },
+        DRIVERS {
+            @Override
+            Object parse(Map<String, String> fields) {
+                Driver driver = new Driver();
+                driver.setAge(parseInt(fields, "age"));
+                driver.setAddress(required(fields, "address"));
+                driver.setNumberAccidents(parseInt(fields, "numberAccidents"));
+                return driver;
+            }
+
+            @Override
+            void setUser(Object entity, User user) {
+                ((Driver) entity).setUser(user);
+            }
+
+            @Override
+            void clearId(Object entity) {
+                ((Driver) entity).setId(null);
+            }
+        },
+        HOMEOWNERS {
+            @Override
+            Object parse(Map<String, String> fields) {
+                HomeOwner homeowner = new HomeOwner();
+                homeowner.setAge(parseInt(fields, "age"));
+                homeowner.setAddress(required(fields, "address"));
+                return homeowner;
+            }
+
+            @Override
+            void setUser(Object entity, User user) {
+                ((HomeOwner) entity).setUser(user);
+            }
+
+            @Override
+            void clearId(Object entity) {
+                ((HomeOwner) entity).setId(null);
+            }
+        };
+
+        abstract Object parse(Map<String, String> fields);
+
+        abstract void setUser(Object entity, User user);
+
+        abstract void clearId(Object entity);
+
+        private static Kind of(String kind) {
+            for (Kind value : values()) {
+                if (value.name().equalsIgnoreCase(kind)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.capstone.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Runs the columnar policy export from the command line and exits, for example
+ * <pre>
+ * java -jar capstone.jar --spring.main.web-application-type=none \
+ *     --export-auto-policies=autopolicy.cpol --export-home-policies=homepolicy.cpol
+ * </pre>
+ * Without either option the application starts as usual
+ */
+@Component
+public class ColumnarExportRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ColumnarExportRunner.class);
+    private static final String AUTO_POLICIES = "export-auto-policies";
+    private static final String HOME_POLICIES = "export-home-policies";
+
+    @Autowired
+    private ColumnarPolicyExporter columnarPolicyExporter;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(AUTO_POLICIES) && !args.containsOption(HOME_POLICIES)) {
+            return;
+        }
+        for (String file : optionValues(args, AUTO_POLICIES)) {
+            try (FileChannel channel = FileChannel.open(Path.of(file), CREATE, TRUNCATE_EXISTING, WRITE)) {
+                log.info("Exported {} auto policies to {}", columnarPolicyExporter.exportAutoPolicies(channel), file);
+            }
+        }
+        for (String file : optionValues(args, HOME_POLICIES)) {
+            try (FileChannel channel = FileChannel.open(Path.of(file), CREATE, TRUNCATE_EXISTING, WRITE)) {
+                log.info("Exported {} home policies to {}", columnarPolicyExporter.exportHomePolicies(channel), file);
+            }
+        }
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+
+    private static List<String> optionValues(ApplicationArguments args, String option) {
+        List<String> values = args.getOptionValues(option);
+        return values != null ? values : List.of();
+    }
+}
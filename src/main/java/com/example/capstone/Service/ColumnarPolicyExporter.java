@@ -0,0 +1,131 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DTO.AutoPolicyExportRow;
+import com.example.capstone.DTO.HomePolicyExportRow;
+import com.example.capstone.DataAccess.AutoPolicyRepository;
+import com.example.capstone.DataAccess.HomePolicyRepository;
+import com.example.capstone.POJOS.DwellingType;
+import com.example.capstone.POJOS.HeatingType;
+import com.example.capstone.POJOS.Location;
+import com.example.capstone.POJOS.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole policy tables, with the rating attributes of the insured driver, vehicle or home, in the
+ * columnar format of ColumnarWriter. Rows are streamed from the database and written 65536 at a time
+ */
+@Service
+public class ColumnarPolicyExporter {
+    /**
+     * Media type of the columnar export
+     */
+    public static final String MEDIA_TYPE = "application/x-capstone-columnar";
+
+    private static final int ROWS_PER_GROUP = 65536;
+
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private HomePolicyRepository homePolicyRepository;
+
+    /**
+     * Writes every auto policy
+     * @param channel The channel to write to, left open
+     * @return The number of policies written
+     * @throws IOException if the channel cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long exportAutoPolicies(WritableByteChannel channel) throws IOException {
+        ColumnarWriter writer = new ColumnarWriter(channel, "autopolicy", ROWS_PER_GROUP);
+        int id = writer.deltaColumn("id");
+        int userId = writer.deltaColumn("user_id");
+        int driverId = writer.deltaColumn("driver_id");
+        int vehicleId = writer.deltaColumn("vehicle_id");
+        int driverAge = writer.varintColumn("driver_age");
+        int numberAccidents = writer.varintColumn("number_accidents");
+        int vehicleYear = writer.deltaColumn("vehicle_year");
+        int liabilityLimit = writer.deltaColumn("liability_limit_cents");
+        int deductible = writer.deltaColumn("deductible_cents");
+        int basePremium = writer.int32Column("base_premium_cents");
+        int tax = writer.float64Column("tax");
+        int totalPremium = writer.int32Column("total_premium_cents");
+        try (Stream<AutoPolicyExportRow> rows = autoPolicyRepository.streamExportRows()) {
+            for (Iterator<AutoPolicyExportRow> it = rows.iterator(); it.hasNext(); ) {
+                AutoPolicyExportRow row = it.next();
+                writer.put(id, row.id());
+                writer.put(userId, row.userId());
+                writer.put(driverId, row.driverId());
+                writer.put(vehicleId, row.vehicleId());
+                writer.put(driverAge, row.driverAge());
+                writer.put(numberAccidents, row.numberAccidents());
+                writer.put(vehicleYear, row.vehicleYear());
+                writer.put(liabilityLimit, row.liabilityLimit());
+                writer.put(deductible, row.deductible());
+                writer.put(basePremium, row.basePremium());
+                writer.put(tax, row.tax());
+                writer.put(totalPremium, row.totalPremium());
+                writer.endRow();
+            }
+        }
+        writer.close();
+        return writer.getRowCount();
+    }
+
+    /**
+     * Writes every home policy
+     * @param channel The channel to write to, left open
+     * @return The number of policies written
+     * @throws IOException if the channel cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long exportHomePolicies(WritableByteChannel channel) throws IOException {
+        ColumnarWriter writer = new ColumnarWriter(channel, "homepolicy", ROWS_PER_GROUP);
+        int id = writer.deltaColumn("id");
+        int userId = writer.deltaColumn("user_id");
+        int homeOwnerId = writer.deltaColumn("homeowner_id");
+        int homeId = writer.deltaColumn("home_id");
+        int homeValue = writer.int64Column("home_value_cents");
+        int dateBuilt = writer.varintColumn("date_built_epoch_day");
+        int dwellingType = writer.dictionaryColumn("dwelling_type", DwellingType.class);
+        int heatingType = writer.dictionaryColumn("heating_type", HeatingType.class);
+        int location = writer.dictionaryColumn("location", Location.class);
+        int liabilityLimit = writer.deltaColumn("liability_limit_cents");
+        int deductible = writer.deltaColumn("deductible_cents");
+        int contentsInsuranceLimit = writer.deltaColumn("contents_insurance_limit_cents");
+        int contentsDeductible = writer.deltaColumn("contents_deductible_cents");
+        int basePremium = writer.int32Column("base_premium_cents");
+        int tax = writer.float64Column("tax");
+        int totalPremium = writer.int32Column("total_premium_cents");
+        try (Stream<HomePolicyExportRow> rows = homePolicyRepository.streamExportRows()) {
+            for (Iterator<HomePolicyExportRow> it = rows.iterator(); it.hasNext(); ) {
+                HomePolicyExportRow row = it.next();
+                writer.put(id, row.id());
+                writer.put(userId, row.userId());
+                writer.put(homeOwnerId, row.homeOwnerId());
+                writer.put(homeId, row.homeId());
+                writer.put(homeValue, row.homeValue() != null ? Money.ofDollars(row.homeValue()) : 0L);
+                writer.put(dateBuilt, row.dateBuilt() != null ? row.dateBuilt().toEpochDay() : 0L);
+                writer.put(dwellingType, row.dwellingType());
+                writer.put(heatingType, row.heatingType());
+                writer.put(location, row.location());
+                writer.put(liabilityLimit, row.liabilityLimit());
+                writer.put(deductible, row.deductible());
+                writer.put(contentsInsuranceLimit, row.contentsInsuranceLimit());
+                writer.put(contentsDeductible, row.contentsDeductible());
+                writer.put(basePremium, row.basePremium());
+                writer.put(tax, row.tax());
+                writer.put(totalPremium, row.totalPremium());
+                writer.endRow();
+            }
+        }
+        writer.close();
+        return writer.getRowCount();
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.capstone.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes rows to a column-oriented binary file. Rows are collected column by column into row groups,
+ * and each full row group is written to the channel with one gathering write. The layout is
+ * <pre>
+ * file       = "CPOL" u8:version string:table varint:columnCount column* rowGroup* varint:0
+ * column     = string:name u8:encoding [varint:size string* if DICTIONARY]
+ * rowGroup   = varint:rowCount (varint:byteLength bytes)*    one entry per column, in column order
+ * string     = varint:length UTF-8 bytes
+ * </pre>
+ * Varints are unsigned LEB128, and signed values are zigzag encoded first. The encodings are
+ * <ul>
+ * <li>DELTA (1): zigzag varint of the difference to the previous value of the column, restarting
+ * from 0 in each row group, for ids and near constant values</li>
+ * <li>VARINT (2): zigzag varint</li>
+ * <li>INT64 (3): 8 byte little-endian</li>
+ * <li>FLOAT64 (4): 8 byte little-endian IEEE 754</li>
+ * <li>DICTIONARY (5): 1 byte, 0 for a missing value or n for the n-th dictionary entry</li>
+ * <li>INT32 (6): 4 byte little-endian, for amounts in cents</li>
+ * </ul>
+ */
+public final class ColumnarWriter implements Closeable {
+    private static final byte[] MAGIC = {'C', 'P', 'O', 'L'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int DELTA = 1;
+    private static final int VARINT = 2;
+    private static final int INT64 = 3;
+    private static final int FLOAT64 = 4;
+    private static final int DICTIONARY = 5;
+    private static final int INT32 = 6;
+
+    private final WritableByteChannel channel;
+    private final String table;
+    private final int rowsPerGroup;
+    private final List<Column> columns = new ArrayList<>();
+    private boolean headerWritten;
+    private int rows;
+    private long rowsWritten;
+
+    /**
+     * A constructor to create a columnar writer, columns are added before the first row
+     * @param channel The channel to write to, left open
+     * @param table The name of the table written
+     * @param rowsPerGroup The number of rows buffered before they are written
+     */
+    public ColumnarWriter(WritableByteChannel channel, String table, int rowsPerGroup) {
+        this.channel = channel;
+        this.table = table;
+        this.rowsPerGroup = rowsPerGroup;
+    }
+
+    /**
+     * Adds a delta encoded column
+     * @param name The column name
+     * @return The column index
+     */
+    public int deltaColumn(String name) {
+        return addColumn(name, DELTA, null);
+    }
+
+    /**
+     * Adds a varint column
+     * @param name The column name
+     * @return The column index
+     */
+    public int varintColumn(String name) {
+        return addColumn(name, VARINT, null);
+    }
+
+    /**
+     * Adds a fixed width 64 bit integer column
+     * @param name The column name
+     * @return The column index
+     */
+    public int int64Column(String name) {
+        return addColumn(name, INT64, null);
+    }
+
+    /**
+     * Adds a fixed width 32 bit integer column
+     * @param name The column name
+     * @return The column index
+     */
+    public int int32Column(String name) {
+        return addColumn(name, INT32, null);
+    }
+
+    /**
+     * Adds a fixed width 64 bit floating point column
+     * @param name The column name
+     * @return The column index
+     */
+    public int float64Column(String name) {
+        return addColumn(name, FLOAT64, null);
+    }
+
+    /**
+     * Adds a dictionary encoded enum column, the dictionary holds the constants of the enum in order
+     * @param name The column name
+     * @param type The enum type
+     * @return The column index
+     */
+    public int dictionaryColumn(String name, Class<? extends Enum<?>> type) {
+        return addColumn(name, DICTIONARY, type.getEnumConstants());
+    }
+
+    /**
+     * Sets an integer value of the current row
+     * @param column The column index
+     * @param value The value, written as 0 when missing
+     */
+    public void put(int column, Integer value) {
+        put(column, value != null ? value.longValue() : 0L);
+    }
+
+    /**
+     * Sets an integer value of the current row
+     * @param column The column index
+     * @param value The value
+     */
+    public void put(int column, long value) {
+        Column target = columns.get(column);
+        switch (target.encoding) {
+            case DELTA -> {
+                putVarint(target, zigzag(value - target.previous));
+                target.previous = value;
+            }
+            case VARINT -> putVarint(target, zigzag(value));
+            case INT64 -> target.ensure(8).putLong(value);
+            case INT32 -> target.ensure(4).putInt(Math.toIntExact(value));
+            case FLOAT64 -> target.ensure(8).putDouble(value);
+            default -> throw new IllegalArgumentException("Column " + target.name + " does not hold integers");
+        }
+    }
+
+    /**
+     * Sets a floating point value of the current row
+     * @param column The column index, of a FLOAT64 column
+     * @param value The value
+     */
+    public void put(int column, double value) {
+        Column target = columns.get(column);
+        if (target.encoding != FLOAT64) {
+            throw new IllegalArgumentException("Column " + target.name + " does not hold floating point values");
+        }
+        target.ensure(8).putDouble(value);
+    }
+
+    /**
+     * Sets an enum value of the current row
+     * @param column The column index, of a DICTIONARY column
+     * @param value The value, or null when missing
+     */
+    public void put(int column, Enum<?> value) {
+        Column target = columns.get(column);
+        if (target.encoding != DICTIONARY) {
+            throw new IllegalArgumentException("Column " + target.name + " does not hold enums");
+        }
+        target.ensure(1).put((byte) (value != null ? value.ordinal() + 1 : 0));
+    }
+
+    /**
+     * Ends the current row, writing the row group once it is full
+     * @throws IOException if the channel cannot be written
+     */
+    public void endRow() throws IOException {
+        if (++rows == rowsPerGroup) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Gets the number of rows ended so far
+     * @return The number of rows
+     */
+    public long getRowCount() {
+        return rowsWritten + rows;
+    }
+
+    /**
+     * Writes the last row group and the end marker, the channel is left open
+     * @throws IOException if the channel cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (rows > 0) {
+            writeRowGroup();
+        }
+        writeHeaderIfNeeded();
+        ByteBuffer end = ByteBuffer.allocate(1);
+        end.put((byte) 0).flip();
+        writeFully(end);
+    }
+
+    private int addColumn(String name, int encoding, Enum<?>[] dictionary) {
+        if (headerWritten) {
+            throw new IllegalStateException("Columns must be added before the first row");
+        }
+        if (dictionary != null && dictionary.length > 255) {
+            throw new IllegalArgumentException("Dictionary of " + name + " has more than 255 entries");
+        }
+        columns.add(new Column(name, encoding, dictionary, rowsPerGroup));
+        return columns.size() - 1;
+    }
+
+    private void writeHeaderIfNeeded() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        headerWritten = true;
+        Column header = new Column("header", 0, null, 64);
+        header.ensure(MAGIC.length).put(MAGIC);
+        header.ensure(1).put((byte) FORMAT_VERSION);
+        putString(header, table);
+        putVarint(header, columns.size());
+        for (Column column : columns) {
+            putString(header, column.name);
+            header.ensure(1).put((byte) column.encoding);
+            if (column.dictionary != null) {
+                putVarint(header, column.dictionary.length);
+                for (Enum<?> constant : column.dictionary) {
+                    putString(header, constant.name());
+                }
+            }
+        }
+        writeFully(header.buffer.flip());
+    }
+
+    private void writeRowGroup() throws IOException {
+        writeHeaderIfNeeded();
+        ByteBuffer[] buffers = new ByteBuffer[1 + columns.size() * 2];
+        buffers[0] = varint(rows);
+        for (int i = 0; i < columns.size(); i++) {
+            ByteBuffer values = columns.get(i).buffer.flip();
+            buffers[1 + i * 2] = varint(values.remaining());
+            buffers[2 + i * 2] = values;
+        }
+        writeFully(buffers);
+        for (Column column : columns) {
+            column.buffer.clear();
+            column.previous = 0;
+        }
+        rowsWritten += rows;
+        rows = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void writeFully(ByteBuffer[] buffers) throws IOException {
+        if (channel instanceof GatheringByteChannel gathering) {
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= gathering.write(buffers);
+            }
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                writeFully(buffer);
+            }
+        }
+    }
+
+    private static ByteBuffer varint(long value) {
+        Column column = new Column("varint", 0, null, 0);
+        putVarint(column, value);
+        return column.buffer.flip();
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void putVarint(Column column, long value) {
+        ByteBuffer buffer = column.ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void putString(Column column, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(column, bytes.length);
+        column.ensure(bytes.length).put(bytes);
+    }
+
+    /**
+     * The values of one column in the current row group
+     */
+    private static final class Column {
+        private final String name;
+        private final int encoding;
+        private final Enum<?>[] dictionary;
+        private ByteBuffer buffer;
+        private long previous;
+
+        private Column(String name, int encoding, Enum<?>[] dictionary, int rowsPerGroup) {
+            this.name = name;
+            this.encoding = encoding;
+            this.dictionary = dictionary;
+            this.buffer = ByteBuffer.allocate(Math.max(16, rowsPerGroup * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                buffer = grown.put(buffer.flip());
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.AutoQuoteRepository;
+import com.example.capstone.DataAccess.HomeQuoteRepository;
+import com.example.capstone.POJOS.ArchiveReason;
+import com.example.capstone.POJOS.RatingClock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Moves expired auto and home quotes to the archive in the background. The reaper runs on its own low
+ * priority thread, and archives at most batch-size quotes per transaction, found by primary key from the
+ * end date index, pausing between batches. Each transaction only locks the expired rows it moves, for as
+ * long as one short copy and delete take, so new quotes are never held up behind it
+ */
+@Service
+public class ExpiredQuoteReaper {
+    private static final Logger log = LoggerFactory.getLogger(ExpiredQuoteReaper.class);
+
+    @Autowired
+    private AutoQuoteRepository autoQuoteRepository;
+    @Autowired
+    private HomeQuoteRepository homeQuoteRepository;
+    @Autowired
+    private Archiver archiver;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${capstone.quotes.reaper.enabled:true}")
+    private boolean enabled;
+    @Value("${capstone.quotes.reaper.interval:10m}")
+    private Duration interval;
+    @Value("${capstone.quotes.reaper.batch-size:500}")
+    private int batchSize;
+    @Value("${capstone.quotes.reaper.pause:200ms}")
+    private Duration pause;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Starts the reaper thread, if enabled
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "quote-reaper");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reapAll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the reaper thread, a batch being archived is finished first
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Archives every auto and home quote whose end date has passed
+     */
+    public void reapAll() {
+        LocalDate today = RatingClock.getInstance().today();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            long autoQuotes = reap(today, autoQuoteRepository::findIdsEndedBefore,
+                    ids -> archiver.archiveAutoQuotes(ids, ArchiveReason.EXPIRED), transactionTemplate);
+            long homeQuotes = reap(today, homeQuoteRepository::findIdsEndedBefore,
+                    ids -> archiver.archiveHomeQuotes(ids, ArchiveReason.EXPIRED), transactionTemplate);
+            if (autoQuotes + homeQuotes > 0) {
+                log.info("Archived {} auto quotes and {} home quotes that ended before {}", autoQuotes, homeQuotes, today);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Thrown out of the task, the exception would cancel every later run
+            log.error("Archiving expired quotes failed, retrying in {}", interval, e);
+        }
+    }
+
+    private long reap(LocalDate today, BiFunction<LocalDate, Pageable, List<Integer>> finder,
+                      ToIntFunction<Collection<Integer>> archive, TransactionTemplate transactionTemplate)
+            throws InterruptedException {
+        long archived = 0;
+        while (true) {
+            int batch = transactionTemplate.execute(status -> {
+                List<Integer> ids = finder.apply(today, PageRequest.ofSize(batchSize));
+                return ids.isEmpty() ? 0 : archive.applyAsInt(ids);
+            });
+            archived += batch;
+            if (batch < batchSize) {
+                return archived;
+            }
+            Thread.sleep(pause.toMillis());
+        }
+    }
+}
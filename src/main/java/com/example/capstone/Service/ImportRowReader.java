@@ -0,0 +1,184 @@
+package com.example.capstone.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the rows of an uploaded import file one at a time, as field name to value maps. Only the row
+ * being parsed is held in memory, so files of any size can be imported
+ */
+public abstract class ImportRowReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    private ImportRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a reader of a CSV file. The first record names the columns, and fields may be quoted
+     * with double quotes, doubling any quote inside them
+     * @param in The file contents
+     * @return The row reader
+     */
+    public static ImportRowReader csv(InputStream in) {
+        return new Csv(in);
+    }
+
+    /**
+     * Creates a reader of a newline-delimited JSON file, one object per line. Blank lines are skipped
+     * @param in The file contents
+     * @param objectMapper The object mapper to parse the lines with
+     * @return The row reader
+     */
+    public static ImportRowReader ndjson(InputStream in, ObjectMapper objectMapper) {
+        return new Ndjson(in, objectMapper);
+    }
+
+    /**
+     * Reads the next row
+     * @return The fields of the row, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the row is malformed, the next call reads the row after it
+     */
+    public abstract Map<String, String> next() throws IOException;
+
+    /**
+     * Gets the number of the row last read, counting from 1 and not counting a header
+     * @return The row number
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Csv extends ImportRowReader {
+        private String[] header;
+
+        private Csv(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> columns = readRecord();
+                if (columns == null) {
+                    return null;
+                }
+                header = columns.stream().map(String::trim).toArray(String[]::new);
+            }
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            rowNumber++;
+            if (values.size() != header.length) {
+                throw new IllegalArgumentException("Expected " + header.length + " fields but found " + values.size());
+            }
+            Map<String, String> row = new HashMap<>(header.length * 2);
+            for (int i = 0; i < header.length; i++) {
+                row.put(header[i], values.get(i));
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            while (c == '\r' || c == '\n') {
+                c = reader.read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    } else if (c == '"') {
+                        c = reader.read();
+                        if (c == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+
+    private static final class Ndjson extends ImportRowReader {
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line = reader.readLine();
+            while (line != null && line.isBlank()) {
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+            rowNumber++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            Map<String, String> row = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    row.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            return row;
+        }
+    }
+}
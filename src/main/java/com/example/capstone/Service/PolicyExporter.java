@@ -0,0 +1,78 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DTO.AutoPolicyView;
+import com.example.capstone.DTO.HomePolicyView;
+import com.example.capstone.DataAccess.AutoPolicyRepository;
+import com.example.capstone.DataAccess.HomePolicyRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole policy tables as newline-delimited JSON, one policy per line. Rows are streamed from
+ * the database and written as they arrive, and the views are not managed entities, so memory use
+ * does not grow with the table
+ */
+@Service
+public class PolicyExporter {
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private HomePolicyRepository homePolicyRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every auto policy
+     * @param out The stream to write to, left open
+     * @return The number of policies written
+     * @throws IOException if the stream cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long exportAutoPolicies(OutputStream out) throws IOException {
+        try (Stream<AutoPolicyView> rows = autoPolicyRepository.streamViews()) {
+            return write(rows, out);
+        }
+    }
+
+    /**
+     * Writes every home policy
+     * @param out The stream to write to, left open
+     * @return The number of policies written
+     * @throws IOException if the stream cannot be written
+     */
+    @Transactional(readOnly = true)
+    public long exportHomePolicies(OutputStream out) throws IOException {
+        try (Stream<HomePolicyView> rows = homePolicyRepository.streamViews()) {
+            return write(rows, out);
+        }
+    }
+
+    private long write(Stream<?> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); ) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
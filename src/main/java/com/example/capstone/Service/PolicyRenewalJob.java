@@ -0,0 +1,192 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.AutoPolicyRepository;
+import com.example.capstone.DataAccess.HomePolicyRepository;
+import com.example.capstone.DataAccess.RenewalCheckpointRepository;
+import com.example.capstone.POJOS.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Renews the auto and home policies ending within the renewal window, which opens RENEWAL_GRACE_DAYS before
+ * today, so a lapsed policy is renewed at most once and never long after it ended. Each run reads the policies
+ * in its window from the end date index, a chunk at a time, and in one transaction per chunk prices
+ * their renewals with the rate table in force on the old end date, archives the old policies as superseded,
+ * inserts the renewals and moves the run's checkpoint past them. A stopped run resumes from its checkpoint,
+ * and as the checkpoint row is locked while a chunk is renewed, instances sharing the database take turns
+ * instead of renewing a policy twice
+ */
+@Service
+public class PolicyRenewalJob {
+    private static final Logger log = LoggerFactory.getLogger(PolicyRenewalJob.class);
+
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private HomePolicyRepository homePolicyRepository;
+    @Autowired
+    private RenewalCheckpointRepository checkpointRepository;
+    @Autowired
+    private Archiver archiver;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${capstone.renewals.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Renews every auto and home policy ending within the renewal window, resuming an unfinished run
+     */
+    @Scheduled(cron = "${capstone.renewals.cron:0 0 2 * * *}")
+    public synchronized void renewAll() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        renew(new Book<>("autopolicy", autoPolicyRepository::findEndingByAfter, AutoPolicyFactory::renewAutoPolicy,
+                ids -> archiver.archiveAutoPolicies(ids, ArchiveReason.SUPERSEDED), autoPolicyRepository::saveAll),
+                transactionTemplate);
+        renew(new Book<>("homepolicy", homePolicyRepository::findEndingByAfter, HomePolicyFactory::renewHomePolicy,
+                ids -> archiver.archiveHomePolicies(ids, ArchiveReason.SUPERSEDED), homePolicyRepository::saveAll),
+                transactionTemplate);
+    }
+
+    private <P extends Policy> void renew(Book<P> book, TransactionTemplate transactionTemplate) {
+        start(book.name(), transactionTemplate);
+        int processed;
+        do {
+            try {
+                processed = renewChunk(book, chunkSize, transactionTemplate);
+            } catch (RuntimeException chunkFailure) {
+                log.warn("Renewal of a chunk of {} failed, renewing its policies one by one", book.name(), chunkFailure);
+                processed = 0;
+                for (int i = 0; i < chunkSize; i++) {
+                    int one;
+                    try {
+                        one = renewChunk(book, 1, transactionTemplate);
+                    } catch (RuntimeException e) {
+                        one = skipNext(book, e, transactionTemplate);
+                    }
+                    if (one == 0) {
+                        break;
+                    }
+                    processed += one;
+                }
+            }
+        } while (processed > 0);
+        checkpointRepository.findById(book.name()).ifPresent(checkpoint ->
+                log.info("Renewed {} {} policies ending by {}, {} could not be renewed", checkpoint.getRenewed(),
+                        book.name(), checkpoint.getEndsBy(), checkpoint.getFailed()));
+    }
+
+    private void start(String book, TransactionTemplate transactionTemplate) {
+        LocalDate today = RatingClock.getInstance().today();
+        LocalDate endsFrom = today.minusDays(Policy.RENEWAL_GRACE_DAYS);
+        LocalDate endsBy = today.plusDays(Policy.RENEWAL_WINDOW_DAYS);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Optional<RenewalCheckpoint> checkpoint = checkpointRepository.lockByBook(book);
+                if (checkpoint.isEmpty()) {
+                    checkpointRepository.save(new RenewalCheckpoint(book, endsFrom, endsBy));
+                } else if (checkpoint.get().isCompleted()) {
+                    checkpoint.get().restart(endsFrom, endsBy);
+                } else {
+                    log.info("Resuming renewal of {} after policy {}", book, checkpoint.get().getAfterId());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the first checkpoint of the book at the same time
+        }
+    }
+
+    /**
+     * Renews the next policies of the run
+     * @return The number of policies processed, 0 once the run is complete
+     */
+    private <P extends Policy> int renewChunk(Book<P> book, int size, TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> {
+            RenewalCheckpoint checkpoint = checkpointRepository.lockByBook(book.name()).orElseThrow();
+            if (checkpoint.isCompleted()) {
+                return 0;
+            }
+            List<P> policies = book.finder().find(checkpoint.getEndsBy(), checkpoint.getAfterEndDate(),
+                    checkpoint.getAfterId(), PageRequest.ofSize(size));
+            if (policies.isEmpty()) {
+                checkpoint.complete();
+                return 0;
+            }
+            LocalDate today = RatingClock.getInstance().today();
+            List<Integer> ids = new ArrayList<>(policies.size());
+            List<P> renewals = new ArrayList<>(policies.size());
+            for (P policy : policies) {
+                P renewal = book.renewer().apply(policy);
+                // A renewal whose term has already ended would be renewed again by the next run
+                if (renewal != policy && renewal.getEndDate().isAfter(today)) {
+                    ids.add(policy.getId());
+                    renewals.add(renewal);
+                }
+            }
+            // The old policies are archived before the renewals insert rows for the same driver or homeowner
+            if (!ids.isEmpty() && book.archiver().applyAsInt(ids) != ids.size()) {
+                if (ids.size() > 1) {
+                    throw new IllegalStateException("Some " + book.name() + " policies were renewed elsewhere");
+                }
+                // The policy was renewed by hand since it was read
+                renewals.clear();
+            }
+            book.inserter().accept(renewals);
+            P last = policies.get(policies.size() - 1);
+            checkpoint.advance(last.getEndDate(), last.getId(), renewals.size(), 0);
+            return policies.size();
+        });
+    }
+
+    /**
+     * Moves the checkpoint past a policy that could not be renewed
+     * @return 1, or 0 once the run is complete
+     */
+    private <P extends Policy> int skipNext(Book<P> book, RuntimeException failure, TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> {
+            RenewalCheckpoint checkpoint = checkpointRepository.lockByBook(book.name()).orElseThrow();
+            List<P> next = book.finder().find(checkpoint.getEndsBy(), checkpoint.getAfterEndDate(),
+                    checkpoint.getAfterId(), PageRequest.ofSize(1));
+            if (next.isEmpty()) {
+                checkpoint.complete();
+                return 0;
+            }
+            P policy = next.get(0);
+            log.error("Policy {} of {} could not be renewed", policy.getId(), book.name(), failure);
+            checkpoint.advance(policy.getEndDate(), policy.getId(), 0, 1);
+            return 1;
+        });
+    }
+
+    /**
+     * Reads the next policies of a book ending by a date, in end date and id order
+     */
+    @FunctionalInterface
+    private interface Finder<P> {
+        List<P> find(LocalDate endsBy, LocalDate afterEndDate, Integer afterId, Pageable page);
+    }
+
+    /**
+     * The queries and renewal rule of one policy book
+     */
+    private record Book<P extends Policy>(String name, Finder<P> finder, UnaryOperator<P> renewer,
+                                          ToIntFunction<Collection<Integer>> archiver, Consumer<List<P>> inserter) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.POJOS.RateTable;
+import com.example.capstone.POJOS.RateTables;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loads the rate tables named by capstone.rates.location and installs them again whenever they change,
+ * so rate changes take effect without a restart. The location is either one rate file, which is added to
+ * the versions in force, or a directory of *.properties rate files, which replace every version
+ */
+@Service
+public class RateTableReloader {
+    private static final Logger log = LoggerFactory.getLogger(RateTableReloader.class);
+
+    @Value("${capstone.rates.location:}")
+    private String location;
+
+    private long lastModified;
+
+    /**
+     * Installs the external rate tables at startup, if configured
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!location.isBlank()) {
+            reload();
+        }
+    }
+
+    /**
+     * Reloads the external rate tables when they have changed since the last load.
+     * A malformed file is logged and the rate tables in force are kept
+     */
+    @Scheduled(fixedDelayString = "${capstone.rates.reload-interval:30000}")
+    public void reloadIfChanged() {
+        if (location.isBlank()) {
+            return;
+        }
+        try {
+            if (fingerprint(Path.of(location)) != lastModified) {
+                reload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Keeping rate table {}, could not load {}", RateTables.getCurrent().getVersion(), location, e);
+        }
+    }
+
+    /**
+     * Loads the external rate tables and installs them
+     * @return The rate table in force today
+     * @throws IOException if a file cannot be read
+     * @throws IllegalStateException if no rate location is configured
+     */
+    public synchronized RateTable reload() throws IOException {
+        if (location.isBlank()) {
+            throw new IllegalStateException("capstone.rates.location is not set");
+        }
+        Path path = Path.of(location);
+        long modified = fingerprint(path);
+        if (Files.isDirectory(path)) {
+            List<RateTable> rateTables = new ArrayList<>();
+            for (Path file : rateFiles(path)) {
+                rateTables.add(load(file));
+            }
+            RateTables.installAll(rateTables);
+        } else {
+            RateTables.install(load(path));
+        }
+        lastModified = modified;
+        RateTable current = RateTables.getCurrent();
+        log.info("Installed {} rate table versions from {}, version {} is in force",
+                RateTables.getVersions().size(), location, current.getVersion());
+        return current;
+    }
+
+    private static RateTable load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return RateTable.load(in);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<Path> rateFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".properties")).sorted().toList();
+        }
+    }
+
+    private static long fingerprint(Path path) throws IOException {
+        long fingerprint = Files.getLastModifiedTime(path).toMillis();
+        if (Files.isDirectory(path)) {
+            for (Path file : rateFiles(path)) {
+                fingerprint = 31 * fingerprint + file.hashCode() + Files.getLastModifiedTime(file).toMillis();
+            }
+        }
+        return fingerprint;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DTO.AutoRatingInputs;
+import com.example.capstone.DTO.DeltaDistribution;
+import com.example.capstone.DTO.HomeRatingInputs;
+import com.example.capstone.DTO.RepricingResult;
+import com.example.capstone.DataAccess.AutoPolicyRepository;
+import com.example.capstone.DataAccess.HomePolicyRepository;
+import com.example.capstone.POJOS.Money;
+import com.example.capstone.POJOS.RateTable;
+import com.example.capstone.POJOS.RateTables;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reprices every auto and home policy with a candidate rate table. The book is loaded into primitive
+ * column arrays and priced in parallel chunks by the bulk pricing loops of RateTable
+ */
+@Service
+public class RepricingSimulator {
+    private static final int CHUNK_SIZE = 16384;
+
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private HomePolicyRepository homePolicyRepository;
+
+    /**
+     * Reprices the whole book with a candidate rate table, nothing is saved
+     * @param candidate The candidate rate table
+     * @return The premium changes of the auto and home policies
+     */
+    @Transactional(readOnly = true)
+    public RepricingResult simulate(RateTable candidate) {
+        AutoBook autoBook;
+        try (Stream<AutoRatingInputs> rows = autoPolicyRepository.streamRatingInputs()) {
+            autoBook = new AutoBook(rows);
+        }
+        HomeBook homeBook;
+        try (Stream<HomeRatingInputs> rows = homePolicyRepository.streamRatingInputs()) {
+            homeBook = new HomeBook(rows);
+        }
+
+        long[] autoPremiums = new long[autoBook.size];
+        forEachChunk(autoBook.size, (from, to) -> candidate.priceAutos(autoBook.driverAges, autoBook.driverAccidents,
+                autoBook.vehicleYears, autoPremiums, from, to));
+        long[] homePremiums = new long[homeBook.size];
+        forEachChunk(homeBook.size, (from, to) -> candidate.priceHomes(homeBook.homeValues, homeBook.builtEpochDays,
+                homeBook.heatingTypes, homeBook.locations, homePremiums, from, to));
+
+        return new RepricingResult(RateTables.getCurrent().getVersion(), candidate.getVersion(),
+                distribution(autoBook.totalPremiums, autoPremiums, autoBook.size),
+                distribution(homeBook.totalPremiums, homePremiums, homeBook.size));
+    }
+
+    private static void forEachChunk(int size, ChunkKernel kernel) {
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel()
+                .forEach(chunk -> kernel.price(chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    private static DeltaDistribution distribution(long[] current, long[] candidate, int size) {
+        if (size == 0) {
+            return new DeltaDistribution(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long[] deltas = new long[size];
+        long currentTotal = 0;
+        long candidateTotal = 0;
+        int increased = 0;
+        int decreased = 0;
+        for (int i = 0; i < size; i++) {
+            deltas[i] = candidate[i] - current[i];
+            currentTotal += current[i];
+            candidateTotal += candidate[i];
+            if (deltas[i] > 0) {
+                increased++;
+            } else if (deltas[i] < 0) {
+                decreased++;
+            }
+        }
+        Arrays.parallelSort(deltas);
+        return new DeltaDistribution(size, increased, decreased, currentTotal, candidateTotal,
+                Money.multiply(candidateTotal - currentTotal, 1.0 / size), deltas[0],
+                percentile(deltas, 5), percentile(deltas, 25), percentile(deltas, 50),
+                percentile(deltas, 75), percentile(deltas, 95), deltas[size - 1]);
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[(int) ((long) (sorted.length - 1) * percentile / 100)];
+    }
+
+    @FunctionalInterface
+    private interface ChunkKernel {
+        void price(int from, int to);
+    }
+
+    /**
+     * The rating columns of the auto policies
+     */
+    private static final class AutoBook {
+        private int size;
+        private int[] driverAges = new int[CHUNK_SIZE];
+        private int[] driverAccidents = new int[CHUNK_SIZE];
+        private int[] vehicleYears = new int[CHUNK_SIZE];
+        private long[] totalPremiums = new long[CHUNK_SIZE];
+
+        private AutoBook(Stream<AutoRatingInputs> rows) {
+            rows.forEach(row -> {
+                if (size == driverAges.length) {
+                    int capacity = size * 2;
+                    driverAges = Arrays.copyOf(driverAges, capacity);
+                    driverAccidents = Arrays.copyOf(driverAccidents, capacity);
+                    vehicleYears = Arrays.copyOf(vehicleYears, capacity);
+                    totalPremiums = Arrays.copyOf(totalPremiums, capacity);
+                }
+                driverAges[size] = row.driverAge();
+                driverAccidents[size] = row.numberAccidents();
+                vehicleYears[size] = row.vehicleYear();
+                totalPremiums[size] = row.totalPremium();
+                size++;
+            });
+        }
+    }
+
+    /**
+     * The rating columns of the home policies
+     */
+    private static final class HomeBook {
+        private int size;
+        private long[] homeValues = new long[CHUNK_SIZE];
+        private long[] builtEpochDays = new long[CHUNK_SIZE];
+        private byte[] heatingTypes = new byte[CHUNK_SIZE];
+        private byte[] locations = new byte[CHUNK_SIZE];
+        private long[] totalPremiums = new long[CHUNK_SIZE];
+
+        private HomeBook(Stream<HomeRatingInputs> rows) {
+            rows.forEach(row -> {
+                if (size == homeValues.length) {
+                    int capacity = size * 2;
+                    homeValues = Arrays.copyOf(homeValues, capacity);
+                    builtEpochDays = Arrays.copyOf(builtEpochDays, capacity);
+                    heatingTypes = Arrays.copyOf(heatingTypes, capacity);
+                    locations = Arrays.copyOf(locations, capacity);
+                    totalPremiums = Arrays.copyOf(totalPremiums, capacity);
+                }
+                homeValues[size] = Money.ofDollars(row.homeValue());
+                builtEpochDays[size] = row.dateBuilt().toEpochDay();
+                heatingTypes[size] = (byte) row.heatingType().ordinal();
+                locations[size] = (byte) row.location().ordinal();
+                totalPremiums[size] = row.totalPremium();
+                size++;
+            });
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.Config.ReplicaRoutingDataSource;
+import com.example.capstone.DataAccess.ReservableSequenceGenerator;
+import com.example.capstone.POJOS.Quote;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence of new quotes. A quote is given an id from a block of ids reserved from its
+ * sequence, kept in memory and returned at once, and a flusher thread inserts the pending quotes in
+ * batches. At most capacity quotes are pending, once full adding a quote waits for the flusher.
+ * An insert that fails on a transient database error is retried with a growing pause. A quote that
+ * still cannot be inserted has already been handed out by id, so it is appended to the dead-letter file
+ * of the buffer, one JSON line per quote, to be replayed by hand. Closing the buffer inserts every
+ * pending quote before it returns
+ * @param <T> The quote type
+ */
+public class WriteBehindQuoteBuffer<T extends Quote> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQuoteBuffer.class);
+
+    private final String name;
+    private final SessionFactoryImplementor sessionFactory;
+    private final ReservableSequenceGenerator idGenerator;
+    private final Deque<Integer> reservedIds = new ArrayDeque<>();
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path deadLetterFile;
+    private final long flushIntervalNanos;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<Pending<T>> queue;
+    private final Map<Integer, Pending<T>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * A constructor to create a write-behind buffer and start its flusher thread
+     * @param name The name of the flusher thread
+     * @param type The quote entity class
+     * @param entityManager The shared entity manager the quotes are inserted with
+     * @param transactionManager The JPA transaction manager
+     * @param capacity The most quotes waiting to be inserted
+     * @param flushInterval How long the flusher waits for more quotes after the first one of a batch
+     * @param maxBatch The most quotes inserted in one transaction
+     * @param maxAttempts The most times a quote is inserted on transient errors before it is dead-lettered
+     * @param retryBackoff The pause before the second attempt, doubled before every further one
+     * @param objectMapper Writes dead-lettered quotes as JSON
+     * @param deadLetterDirectory The directory of the dead-letter file, which is named after the flusher thread
+     */
+    public WriteBehindQuoteBuffer(String name, Class<T> type, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager, int capacity,
+                                  Duration flushInterval, int maxBatch, int maxAttempts, Duration retryBackoff,
+                                  ObjectMapper objectMapper, Path deadLetterDirectory) {
+        this.name = name;
+        this.sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getMappingMetamodel().getEntityDescriptor(type).getIdentifierGenerator()
+                instanceof ReservableSequenceGenerator generator)) {
+            throw new IllegalArgumentException(type.getName() + " ids are not generated by a ReservableSequenceGenerator");
+        }
+        this.idGenerator = generator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.deadLetterFile = deadLetterDirectory.resolve(name + ".jsonl");
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flusher = new Thread(this::run, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Gives a new quote its id and queues it to be inserted
+     * @param quote The new quote
+     * @return The id of the quote
+     */
+    public Integer add(T quote) {
+        if (closed) {
+            throw new IllegalStateException("The quote buffer is closed");
+        }
+        quote.setReservedId(nextId());
+        Pending<T> entry = new Pending<>(quote);
+        pending.put(quote.getReservedId(), entry);
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            pending.remove(quote.getReservedId());
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for room in the quote buffer", e);
+        }
+        ReplicaRoutingDataSource.markRequestWrote();
+        return quote.getReservedId();
+    }
+
+    /**
+     * Finds a quote that is not inserted yet
+     * @param id The quote id
+     * @return The pending quote, or empty if it is not pending
+     */
+    public Optional<T> find(Integer id) {
+        Pending<T> entry = pending.get(id);
+        return entry != null ? Optional.of(entry.quote) : Optional.empty();
+    }
+
+    /**
+     * Waits until a quote is inserted, before statements that need its row
+     * @param id The quote id
+     * @return false if the quote was dead-lettered and has no row, true otherwise
+     */
+    public boolean awaitInserted(Integer id) {
+        Pending<T> entry = pending.get(id);
+        if (entry == null) {
+            return true;
+        }
+        try {
+            entry.inserted.join();
+            return true;
+        } catch (CompletionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of quotes waiting to be inserted
+     * @return The number of pending quotes
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the name of the buffer
+     * @return The name of the flusher thread
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of inserts retried after a transient error since startup
+     * @return The number of retries
+     */
+    public long getRetried() {
+        return retried.get();
+    }
+
+    /**
+     * Gets the number of quotes written to the dead-letter file since startup
+     * @return The number of dead-lettered quotes
+     */
+    public long getDeadLettered() {
+        return deadLettered.get();
+    }
+
+    /**
+     * Gets the file quotes that could not be inserted are appended to
+     * @return The dead-letter file, which only exists once a quote was dead-lettered
+     */
+    public Path getDeadLetterFile() {
+        return deadLetterFile;
+    }
+
+    /**
+     * Inserts every pending quote and stops the flusher thread
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        flusher.interrupt();
+        flusher.join();
+        // Quotes queued while the flusher was stopping
+        List<Pending<T>> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatch);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<T> first = closed ? queue.poll() : queue.take();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatch) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T> next = remaining > 0 && !closed ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts a waiting flusher, the loop then drains what is left
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Pending<T> entry : batch) {
+                    entityManager.persist(entry.quote);
+                }
+            });
+            batch.forEach(this::inserted);
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch of {} quotes failed, inserting them one by one", batch.size(), batchFailure);
+            batch.forEach(this::insert);
+        }
+    }
+
+    private void insert(Pending<T> entry) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> entityManager.persist(clearId(entry.quote)));
+                inserted(entry);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt < maxAttempts && isTransient(e) && backOff(attempt)) {
+                    log.warn("Insert of quote {} failed, retrying", entry.quote.getReservedId(), e);
+                    retried.incrementAndGet();
+                    continue;
+                }
+                deadLetter(entry, e);
+                return;
+            }
+        }
+    }
+
+    private void deadLetter(Pending<T> entry, RuntimeException failure) {
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(new DeadLetter(entry.quote.getReservedId(),
+                    entry.quote.getClass().getSimpleName(), Instant.now(), failure.toString(), entry.quote));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("A quote could not be written as JSON", e);
+        }
+        try {
+            synchronized (this) {
+                Files.createDirectories(deadLetterFile.toAbsolutePath().getParent());
+                Files.writeString(deadLetterFile, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            }
+        } catch (IOException e) {
+            // The log is the last copy of the quote
+            log.error("Quote {} could not be inserted nor dead-lettered to {}: {}", entry.quote.getReservedId(),
+                    deadLetterFile, line, e);
+            pending.remove(entry.quote.getReservedId());
+            entry.inserted.completeExceptionally(failure);
+            return;
+        }
+        log.error("Quote {} could not be inserted and is dead-lettered to {}", entry.quote.getReservedId(),
+                deadLetterFile, failure);
+        deadLettered.incrementAndGet();
+        pending.remove(entry.quote.getReservedId());
+        entry.inserted.completeExceptionally(failure);
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis << Math.min(attempt - 1, 16));
+            return true;
+        } catch (InterruptedException e) {
+            // Closing, dead-letter the quote rather than hold up the shutdown
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private Integer nextId() {
+        synchronized (reservedIds) {
+            if (reservedIds.isEmpty()) {
+                // One session per block of ids, not per quote
+                try (Session session = sessionFactory.openSession()) {
+                    reservedIds.addAll(idGenerator.reserve((SharedSessionContractImplementor) session,
+                            idGenerator.getBlockSize()));
+                }
+            }
+            return reservedIds.poll();
+        }
+    }
+
+    private void inserted(Pending<T> entry) {
+        pending.remove(entry.quote.getReservedId());
+        entry.inserted.complete(null);
+    }
+
+    private T clearId(T quote) {
+        // A rolled back persist leaves the id set, clear it so the reserved id is generated again
+        sessionFactory.getMappingMetamodel().getEntityDescriptor(quote.getClass()).setIdentifier(quote, null, null);
+        return quote;
+    }
+
+    /**
+     * A line of the dead-letter file
+     * @param id The id the quote was given
+     * @param type The quote class
+     * @param failedAt When the last insert failed
+     * @param error The error of the last insert
+     * @param quote The quote
+     */
+    private record DeadLetter(Integer id, String type, Instant failedAt, String error, Object quote) {
+    }
+
+    /**
+     * A quote waiting to be inserted, and a handle that completes once it is
+     */
+    private static final class Pending<T> {
+        private final T quote;
+        private final CompletableFuture<Void> inserted = new CompletableFuture<>();
+
+        private Pending(T quote) {
+            this.quote = quote;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.Config.ReplicaRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Group commit for inserts. Entities saved by concurrent callers within a short window are inserted by
+ * one committer thread in a single transaction and JDBC batch, so many inserts share one commit. Each
+ * caller blocks until its own entity is committed and gets it back with its generated id. If a batch
+ * fails, its entities are saved one transaction each so one bad row only fails its own caller
+ * @param <T> The entity type
+ */
+public class WriteCombiner<T> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WriteCombiner.class);
+
+    private final CrudRepository<T, ?> repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Consumer<T> resetId;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final BlockingQueue<Pending<T>> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private volatile boolean closed;
+
+    /**
+     * A constructor to create a write combiner and start its committer thread
+     * @param name The name of the committer thread
+     * @param repository The repository the entities are saved with
+     * @param transactionManager The transaction manager of the repository
+     * @param resetId Clears the id of an entity whose batch was rolled back, so it is inserted again
+     * @param window How long to wait for more entities after the first one of a batch arrives
+     * @param maxBatch The most entities inserted in one batch
+     */
+    public WriteCombiner(String name, CrudRepository<T, ?> repository, PlatformTransactionManager transactionManager,
+                         Consumer<T> resetId, Duration window, int maxBatch) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resetId = resetId;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.committer = new Thread(this::run, name);
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Saves a new entity as part of the next batch and waits for it to be committed
+     * @param entity The new entity
+     * @return The saved entity, with its generated id
+     */
+    public T save(T entity) {
+        if (closed) {
+            return repository.save(entity);
+        }
+        ReplicaRoutingDataSource.markRequestWrote();
+        Pending<T> pending = new Pending<>(entity);
+        queue.add(pending);
+        while (true) {
+            try {
+                return pending.result.get(1, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                // Queued just as the committer stopped, nobody else will save it
+                if (!committer.isAlive() && queue.remove(pending)) {
+                    return repository.save(entity);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the insert to commit", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Stops the committer thread once the entities already queued are saved
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        committer.interrupt();
+        committer.join();
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatch);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<T> first = closed ? queue.poll() : queue.take();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T> next = remaining > 0 && !closed ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts a waiting committer, the loop then drains what is left
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending<T>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Pending<T> pending : batch) {
+                    repository.save(pending.entity);
+                }
+            });
+            for (Pending<T> pending : batch) {
+                pending.result.complete(pending.entity);
+            }
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch of {} inserts failed, saving them one by one", batch.size(), batchFailure);
+            for (Pending<T> pending : batch) {
+                try {
+                    resetId.accept(pending.entity);
+                    pending.result.complete(transactionTemplate.execute(status -> repository.save(pending.entity)));
+                } catch (RuntimeException e) {
+                    pending.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * An entity waiting to be inserted, and the caller's handle on the outcome
+     */
+    private static final class Pending<T> {
+        private final T entity;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Pending(T entity) {
+            this.entity = entity;
+        }
+    }
+}
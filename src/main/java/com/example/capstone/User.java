@@ -1,16 +1,30 @@
 package com.example.capstone;
 
+import com.example.capstone.POJOS.Versioned;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity(name = "user")
-public class User {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+public class User implements Versioned {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_SEQ", allocationSize = 50)
     private Integer id;
+    @Version
+    @ColumnDefault("0")
+    private long version;
     private String name;
     private String email;
 
@@ -22,6 +36,12 @@ public class User {
         this.id = id;
     }
 
+    @JsonIgnore
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,40 @@
+package com.example.capstone.Config;
+
+import com.example.capstone.CapstoneApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class CacheConfigTest {
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Test
+    void secondContextGetsItsOwnCacheManager() {
+        CacheManager other;
+        try (ConfigurableApplicationContext second = new SpringApplicationBuilder(CapstoneApplication.class)
+                .profiles("h2").web(WebApplicationType.NONE).run()) {
+            other = second.getBean("hibernateCacheManager", CacheManager.class);
+            assertNotSame(hibernateCacheManager, other);
+            for (String region : CacheConfig.ENTITY_REGIONS) {
+                assertNotNull(other.getCache(region));
+            }
+        }
+
+        // Closing the second context closes only its own regions
+        assertTrue(other.isClosed());
+        assertFalse(hibernateCacheManager.isClosed());
+        assertNotNull(hibernateCacheManager.getCache("user"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.capstone.Config;
+
+import com.example.capstone.CapstoneApplication;
+import com.example.capstone.DataAccess.AutoPolicyRepository;
+import com.example.capstone.DataAccess.AutoQuoteRepository;
+import com.example.capstone.DataAccess.AutoRepository;
+import com.example.capstone.DataAccess.DriverRepository;
+import com.example.capstone.DataAccess.UserRepository;
+import com.example.capstone.POJOS.AutoPolicy;
+import com.example.capstone.POJOS.AutoQuote;
+import com.example.capstone.POJOS.RatingClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegacySchemaMigrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    private String url;
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LegacySchemaMigration migration;
+
+    @BeforeEach
+    void createBaselineDatabase() {
+        RatingClock.setInstance(new RatingClock(Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC),
+                ZoneOffset.UTC)));
+        url = "jdbc:h2:mem:baseline-" + UUID.randomUUID()
+                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,USER,VALUE;DB_CLOSE_DELAY=-1";
+        dataSource = new DriverManagerDataSource(url, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("baseline-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migration = new LegacySchemaMigration();
+        ReflectionTestUtils.setField(migration, "dataSource", dataSource);
+    }
+
+    @AfterEach
+    void restoreSystemClock() {
+        RatingClock.setInstance(new RatingClock(Clock.systemDefaultZone()));
+    }
+
+    @Test
+    void movesDollarAmountsToCents() throws SQLException {
+        migration.migrate();
+
+        assertEquals(List.of(Map.of("id", 1, "liability_limit_cents", 100_000_000L, "deductible_cents", 50_000L,
+                        "base_premium_cents", 75_000L, "total_premium_cents", 129_375L),
+                Map.of("id", 2, "liability_limit_cents", 29L, "deductible_cents", 10L,
+                        "base_premium_cents", 1_738L, "total_premium_cents", 1_999L)),
+                jdbcTemplate.queryForList("select id, liability_limit_cents, deductible_cents, base_premium_cents, "
+                        + "total_premium_cents from autoquote order by id"));
+        assertEquals(100_625L, jdbcTemplate.queryForObject(
+                "select total_premium_cents from homepolicy where id = 1", Long.class));
+        assertEquals(5_000_000L, jdbcTemplate.queryForObject(
+                "select contents_insurance_limit_cents from homequote where id = 2", Long.class));
+        for (Map.Entry<String, List<String>> table : LegacySchemaMigration.MONEY_COLUMNS.entrySet()) {
+            for (String dollars : table.getValue()) {
+                assertEquals(List.of(), columns(table.getKey(), dollars));
+                assertEquals(List.of("NO"), columns(table.getKey(), dollars + "_cents"));
+            }
+        }
+    }
+
+    @Test
+    void secondRunChangesNothing() throws SQLException {
+        migration.migrate();
+        jdbcTemplate.update("update autoquote set total_premium_cents = 1 where id = 1");
+
+        migration.migrate();
+
+        assertEquals(1L, jdbcTemplate.queryForObject("select total_premium_cents from autoquote where id = 1",
+                Long.class));
+    }
+
+    @Test
+    void datesQuotesAndPoliciesSavedWithoutDates() throws SQLException {
+        migration.migrate();
+
+        for (String table : LegacySchemaMigration.QUOTE_TABLES) {
+            assertEquals(List.of(Map.of("start_date", Date.valueOf(TODAY),
+                            "end_date", Date.valueOf(TODAY.plusDays(30)))),
+                    jdbcTemplate.queryForList("select distinct start_date, end_date from " + table));
+            assertEquals(List.of("NO"), columns(table, "start_date"));
+            assertEquals(List.of("NO"), columns(table, "end_date"));
+        }
+        for (String table : LegacySchemaMigration.POLICY_TABLES) {
+            assertEquals(List.of(Map.of("start_date", Date.valueOf(TODAY),
+                            "end_date", Date.valueOf(TODAY.plusYears(1)))),
+                    jdbcTemplate.queryForList("select distinct start_date, end_date from " + table));
+            assertEquals(List.of("NO"), columns(table, "start_date"));
+            assertEquals(List.of("NO"), columns(table, "end_date"));
+        }
+    }
+
+    @Test
+    void applicationStartsOnBaselineDatabase() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CapstoneApplication.class)
+                .profiles("h2").web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url, "--spring.jpa.hibernate.ddl-auto=update")) {
+            AutoQuoteRepository autoQuoteRepository = context.getBean(AutoQuoteRepository.class);
+            AutoQuote legacy = autoQuoteRepository.findById(2).orElseThrow();
+            assertEquals(1_999, legacy.getTotalPremium());
+            assertEquals(TODAY, legacy.getStartDate());
+            assertEquals(TODAY.plusDays(30), legacy.getEndDate());
+            AutoPolicy policy = context.getBean(AutoPolicyRepository.class).findById(1).orElseThrow();
+            assertEquals(129_375, policy.getTotalPremium());
+            assertEquals(TODAY.plusYears(1), policy.getEndDate());
+
+            AutoQuote quote = new AutoQuote.Builder(
+                    context.getBean(DriverRepository.class).findById(1).orElseThrow(),
+                    context.getBean(AutoRepository.class).findById(1).orElseThrow(),
+                    10_000_000, 50_000, 75_000, 0.15, 86_250).build();
+            quote.setUser(context.getBean(UserRepository.class).findById(1).orElseThrow());
+            assertEquals(86_250, autoQuoteRepository.findById(autoQuoteRepository.save(quote).getId())
+                    .orElseThrow().getTotalPremium());
+        }
+    }
+
+    @Test
+    void newDatabaseIsLeftToHibernate() throws SQLException {
+        DriverManagerDataSource empty = new DriverManagerDataSource("jdbc:h2:mem:empty-" + UUID.randomUUID()
+                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        ReflectionTestUtils.setField(migration, "dataSource", empty);
+
+        migration.migrate();
+
+        assertEquals(0, new JdbcTemplate(empty).queryForObject(
+                "select count(*) from information_schema.tables where table_schema = 'public'", Integer.class));
+    }
+
+    private List<String> columns(String table, String column) {
+        return jdbcTemplate.queryForList("select is_nullable from information_schema.columns "
+                + "where table_name = ? and column_name = ?", String.class, table, column);
+    }
+}
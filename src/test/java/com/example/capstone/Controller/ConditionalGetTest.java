@@ -0,0 +1,109 @@
+package com.example.capstone.Controller;
+
+import com.example.capstone.DTO.RowVersion;
+import com.example.capstone.POJOS.RatingClock;
+import com.example.capstone.POJOS.Versioned;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetTest {
+
+    @AfterEach
+    void restoreSystemClock() {
+        RatingClock.setInstance(new RatingClock(Clock.systemDefaultZone()));
+    }
+
+    @Test
+    void matchingIfNoneMatchAnswers304WithoutReadingBody() {
+        String eTag = ConditionalGet.eTag("user", 7, entity(7, 2));
+
+        ResponseEntity<String> response = ConditionalGet.respond(eTag, eTag, ConditionalGet.revalidate(), () -> {
+            throw new AssertionError("body read for a 304");
+        });
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(eTag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void staleIfNoneMatchAnswers200WithBody() {
+        String stale = ConditionalGet.eTag("user", 7, entity(7, 2));
+        String current = ConditionalGet.eTag("user", 7, entity(7, 3));
+
+        ResponseEntity<String> response = ConditionalGet.respond(stale, current, ConditionalGet.revalidate(), () -> "body");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(current, response.getHeaders().getETag());
+        assertEquals("body", response.getBody());
+    }
+
+    @Test
+    void ifNoneMatchListsAndWeakTags() {
+        String eTag = ConditionalGet.eTag("user", 7, entity(7, 2));
+
+        assertTrue(ConditionalGet.matches("\"other\", W/" + eTag, eTag));
+        assertTrue(ConditionalGet.matches("*", eTag));
+        assertFalse(ConditionalGet.matches("\"other\"", eTag));
+        assertFalse(ConditionalGet.matches(null, eTag));
+    }
+
+    @Test
+    void entityETagHoldsIds() {
+        assertNotEquals(ConditionalGet.eTag("autoquote", 1, entity(1, 0), entity(5, 0)),
+                ConditionalGet.eTag("autoquote", 2, entity(2, 0), entity(5, 0)));
+        assertNotEquals(ConditionalGet.eTag("autoquote", 1, entity(1, 0), entity(5, 0)),
+                ConditionalGet.eTag("autoquote", 1, entity(1, 0), entity(6, 0)));
+        assertNotEquals(ConditionalGet.eTag("autoquote", 1, entity(1, 0), null),
+                ConditionalGet.eTag("archivedautoquote", 1, entity(1, 0), null));
+    }
+
+    @Test
+    void collectionETagChangesWithAnyRow() {
+        String eTag = ConditionalGet.eTag("autoquotes", List.of(new RowVersion(1, 0), new RowVersion(4, 2)));
+
+        assertEquals(eTag, ConditionalGet.eTag("autoquotes", List.of(new RowVersion(1, 0), new RowVersion(4, 2))));
+        // Sums of ids and versions are the same, the rows are not
+        assertNotEquals(eTag, ConditionalGet.eTag("autoquotes", List.of(new RowVersion(2, 1), new RowVersion(3, 1))));
+        assertNotEquals(eTag, ConditionalGet.eTag("autoquotes", List.of(new RowVersion(1, 0), new RowVersion(4, 3))));
+        assertNotEquals(eTag, ConditionalGet.eTag("autoquotes", List.of(new RowVersion(1, 0))));
+        assertNotEquals(eTag, ConditionalGet.eTag("homequotes", List.of(new RowVersion(1, 0), new RowVersion(4, 2))));
+    }
+
+    @Test
+    void quoteIsCachedUntilItsEndDateByRatingClock() {
+        RatingClock.setInstance(new RatingClock(Clock.fixed(Instant.parse("2024-03-10T23:00:00Z"), ZoneOffset.UTC)));
+
+        assertEquals("max-age=3600, private",
+                ConditionalGet.until(LocalDate.of(2024, 3, 10), Duration.ofMinutes(5 * 60)).getHeaderValue());
+        assertEquals("max-age=300, private",
+                ConditionalGet.until(LocalDate.of(2024, 3, 11), Duration.ofMinutes(5)).getHeaderValue());
+        assertEquals("no-cache, private",
+                ConditionalGet.until(LocalDate.of(2024, 3, 9), Duration.ofMinutes(5)).getHeaderValue());
+    }
+
+    private static Versioned entity(Integer id, long version) {
+        return new Versioned() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.capstone.DTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    @Test
+    void extraRowGivesCursorOfLastItem() {
+        CursorPage<Integer> page = CursorPage.of(List.of(3, 5, 8), 2, Function.identity());
+
+        assertEquals(List.of(3, 5), page.items());
+        assertEquals(5, page.nextCursor());
+    }
+
+    @Test
+    void fullLastPageHasNoCursor() {
+        // Without the extra row there is no next page, so no empty page is fetched after it
+        CursorPage<Integer> page = CursorPage.of(List.of(3, 5), 2, Function.identity());
+
+        assertEquals(List.of(3, 5), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void emptyRowsGiveEmptyLastPage() {
+        assertEquals(CursorPage.empty(), CursorPage.of(List.of(), 10, Function.identity()));
+        assertEquals(List.of(), CursorPage.<Integer>empty().items());
+        assertNull(CursorPage.<Integer>empty().nextCursor());
+    }
+
+    @Test
+    void followingCursorsReadEveryRowOnce() {
+        List<Integer> ids = IntStream.rangeClosed(1, 23).map(i -> i * 3).boxed().toList();
+        List<Integer> read = new ArrayList<>();
+        int pages = 0;
+        Integer cursor = 0;
+        while (cursor != null) {
+            Integer after = cursor;
+            // The keyset query: rows after the cursor in id order, one more than the page size
+            List<Integer> rows = ids.stream().filter(id -> id > after).limit(5 + 1).toList();
+            CursorPage<Integer> page = CursorPage.of(rows, 5, Function.identity());
+            read.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        }
+
+        assertEquals(ids, read);
+        assertEquals(5, pages);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.capstone.DataAccess;
+
+import com.example.capstone.POJOS.Driver;
+import com.example.capstone.POJOS.Vehicle;
+import com.example.capstone.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class OwnedWriteCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AutoRepository autoRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+
+    @BeforeEach
+    void getCache() {
+        cache = entityManagerFactory.getCache();
+    }
+
+    @Test
+    void vehicleWritesKeepOtherVehiclesCached() {
+        User owner = user("Owner");
+        User other = user("Other");
+        Vehicle updated = vehicle(owner);
+        Vehicle deleted = vehicle(owner);
+        Vehicle untouched = vehicle(other);
+        cacheAll(updated, deleted, untouched);
+
+        assertEquals(1, autoRepository.updateByIdAndUserId(updated.getId(), owner.getId(), 2022, "Civic", "Honda"));
+        assertTrue(cache.contains(Vehicle.class, untouched.getId()));
+        assertTrue(cache.contains(Vehicle.class, deleted.getId()));
+        assertEquals(1, autoRepository.deleteByIdAndUserId(deleted.getId(), owner.getId()));
+        assertTrue(cache.contains(Vehicle.class, untouched.getId()));
+
+        Vehicle read = autoRepository.findById(updated.getId()).orElseThrow();
+        assertEquals("Honda", read.getMake());
+        assertEquals(2022, read.getYear());
+        assertFalse(autoRepository.existsById(deleted.getId()));
+    }
+
+    @Test
+    void writesOfAnotherUsersRowChangeNothing() {
+        User owner = user("Owner");
+        User other = user("Other");
+        Vehicle vehicle = vehicle(owner);
+        Driver driver = driver(owner);
+
+        assertEquals(0, autoRepository.updateByIdAndUserId(vehicle.getId(), other.getId(), 2022, "Civic", "Honda"));
+        assertEquals(0, autoRepository.deleteByIdAndUserId(vehicle.getId(), other.getId()));
+        assertEquals(0, driverRepository.updateByIdAndUserId(driver.getId(), other.getId(), 70, "Elsewhere", 3));
+        assertEquals(0, driverRepository.deleteByIdAndUserId(driver.getId(), other.getId()));
+
+        assertEquals("Corolla", autoRepository.findById(vehicle.getId()).orElseThrow().getModel());
+        assertEquals(40, driverRepository.findById(driver.getId()).orElseThrow().getAge());
+    }
+
+    @Test
+    void driverAndUserWritesKeepOtherEntriesCached() {
+        User owner = user("Owner");
+        User other = user("Other");
+        Driver driver = driver(owner);
+        Driver otherDriver = driver(other);
+        cacheAll(driver, otherDriver);
+        userRepository.findById(other.getId());
+
+        assertEquals(1, driverRepository.updateByIdAndUserId(driver.getId(), owner.getId(), 41, "2 Main St", 1));
+        assertEquals(1, userRepository.updateById(owner.getId(), "Renamed", "renamed@example.com"));
+        assertTrue(cache.contains(Driver.class, otherDriver.getId()));
+        assertTrue(cache.contains(User.class, other.getId()));
+
+        assertEquals(1, driverRepository.deleteByIdAndUserId(otherDriver.getId(), other.getId()));
+        assertEquals(1, userRepository.deleteUserById(other.getId()));
+        assertTrue(cache.contains(Driver.class, driver.getId()));
+        assertTrue(cache.contains(User.class, owner.getId()));
+        assertEquals("Renamed", userRepository.findById(owner.getId()).orElseThrow().getName());
+        assertEquals(41, driverRepository.findById(driver.getId()).orElseThrow().getAge());
+        assertFalse(userRepository.existsById(other.getId()));
+    }
+
+    private void cacheAll(Object... entities) {
+        for (Object entity : entities) {
+            if (entity instanceof Vehicle vehicle) {
+                autoRepository.findById(vehicle.getId());
+                assertTrue(cache.contains(Vehicle.class, vehicle.getId()));
+            } else if (entity instanceof Driver driver) {
+                driverRepository.findById(driver.getId());
+                assertTrue(cache.contains(Driver.class, driver.getId()));
+            }
+        }
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        return userRepository.save(user);
+    }
+
+    private Vehicle vehicle(User user) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setYear(2020);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        return autoRepository.save(vehicle);
+    }
+
+    private Driver driver(User user) {
+        Driver driver = new Driver();
+        driver.setAge(40);
+        driver.setAddress("1 Main St");
+        driver.setUser(user);
+        return driverRepository.save(driver);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.capstone.POJOS;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AutoPremiumTableTest {
+
+    @Test
+    void lookupMatchesFactorMultiplication() {
+        int currentYear = Year.now().getValue();
+        for (int age : new int[]{16, 24, 25, 70}) {
+            for (int accidents = 0; accidents <= 4; accidents++) {
+                for (int vehicleAge = 0; vehicleAge <= 12; vehicleAge++) {
+                    int vehicleYear = currentYear - vehicleAge;
+                    long expected = Money.multiply(AutoRiskRates.getPremium(), AutoRiskRates.getDriverAgeFactor(age)
+                            * AutoRiskRates.getAccidentsFactor(accidents) * AutoRiskRates.getVehicleAgeFactor(vehicleYear)
+                            * AutoRiskRates.getTax());
+                    assertEquals(expected, AutoPremiumTable.getCurrent().getTotalPremium(age, accidents, vehicleYear));
+                }
+            }
+        }
+    }
+
+    @Test
+    void youngDriverWithManyAccidentsAndOldVehicle() {
+        int vehicleYear = Year.now().getValue() - 11;
+        assertEquals(862500, AutoPremiumTable.getCurrent().getTotalPremium(20, 3, vehicleYear));
+    }
+}
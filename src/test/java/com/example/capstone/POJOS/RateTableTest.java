@@ -0,0 +1,128 @@
+package com.example.capstone.POJOS;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateTableTest {
+
+    private static final String RATES = """
+            version=test
+            auto.premium=1000.00
+            auto.tax=1
+            auto.driverAge.thresholds=24
+            auto.driverAge.factors=2,1
+            auto.accidents.thresholds=0
+            auto.accidents.factors=1,3
+            auto.vehicleAge.thresholds=5
+            auto.vehicleAge.factors=1,1.5
+            home.premium=500.00
+            home.tax=1
+            home.value.threshold=250000.00
+            home.value.rate=0.002
+            home.age.thresholds=25,50
+            home.age.factors=1,1.25,1.5
+            home.heating.ELECTRIC=1
+            home.heating.OIL=2
+            home.heating.WOOD=1.25
+            home.heating.GAS=1
+            home.heating.OTHER=1
+            home.location.URBAN=1
+            home.location.RURAL=1.15
+            """;
+
+    @Test
+    void defaultTableKeepsPublishedRates() {
+        RateTable rateTable = RateTables.getCurrent();
+        assertEquals(75000, rateTable.getAutoPremium());
+        assertEquals(2, AutoRiskRates.getDriverAgeFactor(24));
+        assertEquals(1, AutoRiskRates.getDriverAgeFactor(25));
+        assertEquals(1.25, AutoRiskRates.getAccidentsFactor(2));
+        assertEquals(2.5, AutoRiskRates.getAccidentsFactor(3));
+        assertEquals(1.5, AutoRiskRates.getVehicleAgeFactor(Year.now().getValue() - 6));
+        assertEquals(10000, HomeRiskRates.getHomeValueFactor(300000));
+        assertEquals(1.25, HomeRiskRates.getHomeAgeFactor(LocalDate.now().minusYears(26)));
+        assertEquals(2, HomeRiskRates.getHeatingFactor(HeatingType.OIL));
+        assertEquals(1.15, HomeRiskRates.getLocationFactor(Location.RURAL));
+    }
+
+    @Test
+    void installedTableRepricesQuotes() {
+        RateTable previous = RateTables.getCurrent();
+        try {
+            RateTables.install(RateTable.parse(RATES));
+            Driver driver = new Driver();
+            driver.setAge(30);
+            driver.setNumberAccidents(1);
+            Vehicle vehicle = new Vehicle();
+            vehicle.setYear(Year.now().getValue());
+            assertEquals(300000, AutoQuoteFactory.createAutoQuote(vehicle, driver).getTotalPremium());
+        } finally {
+            RateTables.install(previous);
+        }
+    }
+
+    @Test
+    void rejectsFactorCountNotMatchingThresholds() {
+        String rates = RATES.replace("auto.accidents.factors=1,3", "auto.accidents.factors=1,3,4");
+        assertThrows(IllegalArgumentException.class, () -> RateTable.parse(rates));
+    }
+
+    @Test
+    void rejectsMissingRate() {
+        String rates = RATES.replace("home.heating.OIL=2\n", "");
+        assertThrows(IllegalArgumentException.class, () -> RateTable.parse(rates));
+    }
+
+    @Test
+    void homeFactorTableMatchesFactorProduct() {
+        RateTable rateTable = RateTable.parse(RATES);
+        LocalDate dateBuilt = LocalDate.now().minusYears(30);
+        for (HeatingType heatingType : HeatingType.values()) {
+            for (Location location : Location.values()) {
+                double expected = rateTable.getHomeAgeFactor(rateTable.getHomeAgeBand(dateBuilt))
+                        * rateTable.getHeatingFactor(heatingType) * rateTable.getLocationFactor(location)
+                        * rateTable.getHomeTax();
+                assertEquals(expected, rateTable.getHomeFactorTable().getFactor(dateBuilt, heatingType, location));
+            }
+        }
+    }
+
+    @Test
+    void renewalUsesVersionInForceOnRenewalDate() {
+        List<RateTable> previous = RateTables.getVersions();
+        try {
+            RatingClock.setInstance(new RatingClock(Clock.fixed(Instant.parse("2024-01-15T12:00:00Z"), ZoneOffset.UTC)));
+            RateTables.installAll(List.of(RateTable.parse(RATES), RateTable.parse(RATES
+                    .replace("version=test", "version=next\neffectiveFrom=2025-01-15")
+                    .replace("auto.premium=1000.00", "auto.premium=2000.00"))));
+            assertEquals("test", RateTables.getCurrent().getVersion());
+            assertEquals("test", RateTables.getEffective(LocalDate.of(2025, 1, 14)).getVersion());
+            assertEquals("next", RateTables.getEffective(LocalDate.of(2025, 1, 15)).getVersion());
+
+            Driver driver = new Driver();
+            driver.setAge(30);
+            driver.setNumberAccidents(0);
+            Vehicle vehicle = new Vehicle();
+            vehicle.setYear(2024);
+            AutoPolicy autoPolicy = AutoPolicyFactory.createAutoPolicy(AutoQuoteFactory.createAutoQuote(vehicle, driver));
+            assertEquals(100000, autoPolicy.getTotalPremium());
+
+            RatingClock.setInstance(new RatingClock(Clock.fixed(Instant.parse("2024-12-01T12:00:00Z"), ZoneOffset.UTC)));
+            AutoPolicy renewed = AutoPolicyFactory.renewAutoPolicy(autoPolicy);
+            assertEquals(200000, renewed.getTotalPremium());
+            assertEquals(200000, renewed.getBasePremium());
+        } finally {
+            RatingClock.setInstance(new RatingClock(Clock.systemDefaultZone()));
+            RateTables.installAll(previous);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.capstone.POJOS;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RatingClockTest {
+
+    @AfterEach
+    void restoreSystemClock() {
+        RatingClock.setInstance(new RatingClock(Clock.systemDefaultZone()));
+    }
+
+    @Test
+    void rollsOverAtMidnight() {
+        MutableClock clock = new MutableClock(Instant.parse("2023-12-31T23:59:59Z"));
+        RatingClock ratingClock = new RatingClock(clock);
+        assertEquals(LocalDate.of(2023, 12, 31), ratingClock.today());
+        assertEquals(2023, ratingClock.year());
+        assertEquals(LocalDate.of(2024, 1, 30), ratingClock.quoteEndDate());
+
+        clock.instant = Instant.parse("2024-01-01T00:00:00Z");
+        assertEquals(LocalDate.of(2024, 1, 1), ratingClock.today());
+        assertEquals(2024, ratingClock.year());
+        assertEquals(LocalDate.of(2025, 1, 1), ratingClock.policyEndDate());
+    }
+
+    @Test
+    void ageBandsFollowFrozenDate() {
+        RatingClock.setInstance(new RatingClock(Clock.fixed(Instant.parse("2024-02-29T12:00:00Z"), ZoneOffset.UTC)));
+        RateTable rateTable = RateTables.getCurrent();
+        assertEquals(0, rateTable.getVehicleAgeBand(2019));
+        assertEquals(1, rateTable.getVehicleAgeBand(2018));
+        assertEquals(1, rateTable.getVehicleAgeBand(2014));
+        assertEquals(2, rateTable.getVehicleAgeBand(2013));
+        assertEquals(0, rateTable.getHomeAgeBand(LocalDate.of(1998, 3, 1)));
+        assertEquals(1, rateTable.getHomeAgeBand(LocalDate.of(1998, 2, 28)));
+        assertEquals(1, rateTable.getHomeAgeBand(LocalDate.of(1973, 3, 1)));
+        assertEquals(2, rateTable.getHomeAgeBand(LocalDate.of(1973, 2, 28)));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.*;
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import org.h2.tools.TriggerAdapter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class ArchiverTest {
+
+    @Autowired
+    private Archiver archiver;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private AutoRepository autoRepository;
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void renewalSupersedesOldPolicy() {
+        AutoPolicy policy = savePolicyEndingIn(10);
+
+        AutoPolicy renewal = archiver.renewAutoPolicy(policy.getId(), AutoPolicyFactory.renewAutoPolicy(policy));
+
+        assertNotNull(renewal.getId());
+        assertEquals(policy.getEndDate(), renewal.getStartDate());
+        assertFalse(autoPolicyRepository.existsById(policy.getId()));
+        assertEquals(ArchiveReason.SUPERSEDED,
+                archivedAutoPolicyRepository.findById(policy.getId()).orElseThrow().getArchiveReason());
+    }
+
+    @Test
+    void failedRenewalInsertKeepsOldPolicy() {
+        AutoPolicy policy = savePolicyEndingIn(10);
+        AutoPolicy renewal = AutoPolicyFactory.renewAutoPolicy(policy);
+        User missing = new User();
+        missing.setId(Integer.MAX_VALUE);
+        // The insert fails on the foreign key when the transaction is flushed
+        renewal.setUser(missing);
+
+        assertThrows(DataIntegrityViolationException.class, () -> archiver.renewAutoPolicy(policy.getId(), renewal));
+
+        assertTrue(autoPolicyRepository.existsById(policy.getId()));
+        assertFalse(archivedAutoPolicyRepository.existsById(policy.getId()));
+    }
+
+    @Test
+    void renewalOfArchivedPolicyInsertsNothing() {
+        AutoPolicy policy = savePolicyEndingIn(10);
+        archiver.archiveAutoPolicies(List.of(policy.getId()), ArchiveReason.CANCELLED);
+        long policies = autoPolicyRepository.count();
+
+        assertNull(archiver.renewAutoPolicy(policy.getId(), AutoPolicyFactory.renewAutoPolicy(policy)));
+        assertEquals(policies, autoPolicyRepository.count());
+    }
+
+    @Test
+    void countMismatchRollsBackCopy() {
+        AutoPolicy policy = savePolicyEndingIn(100);
+        // Deletes the live row as it is copied, like a concurrent delete between the copy and the delete
+        jdbcTemplate.execute("create trigger archive_race after insert on autopolicy_archive for each row call \""
+                + DeleteLivePolicy.class.getName() + "\"");
+        try {
+            assertThrows(IllegalStateException.class,
+                    () -> archiver.archiveAutoPolicies(List.of(policy.getId()), ArchiveReason.CANCELLED));
+        } finally {
+            jdbcTemplate.execute("drop trigger archive_race");
+        }
+
+        assertTrue(autoPolicyRepository.existsById(policy.getId()));
+        assertFalse(archivedAutoPolicyRepository.existsById(policy.getId()));
+    }
+
+    /**
+     * Deletes the live auto policy of an archived row, in the transaction of the copy
+     */
+    public static class DeleteLivePolicy extends TriggerAdapter {
+        @Override
+        public void fire(Connection connection, ResultSet oldRow, ResultSet newRow) throws SQLException {
+            try (PreparedStatement delete = connection.prepareStatement("delete from autopolicy where id = ?")) {
+                delete.setInt(1, newRow.getInt("id"));
+                delete.executeUpdate();
+            }
+        }
+    }
+
+    private AutoPolicy savePolicyEndingIn(int days) {
+        User user = new User();
+        user.setName("Archiver Test");
+        user.setEmail("archiver@example.com");
+        userRepository.save(user);
+        Driver driver = new Driver();
+        driver.setAge(40);
+        driver.setUser(user);
+        driverRepository.save(driver);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setYear(2020);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        autoRepository.save(vehicle);
+        AutoPolicy policy = new AutoPolicy.Builder(driver, vehicle, 10_000_000, 50_000, 75_000, 0.15, 86_250)
+                .startDate(RatingClock.getInstance().today().plusDays(days).minusYears(1)).build();
+        policy.setUser(user);
+        return autoPolicyRepository.save(policy);
+    }
+}
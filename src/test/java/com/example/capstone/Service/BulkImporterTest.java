@@ -0,0 +1,90 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DTO.ImportError;
+import com.example.capstone.DTO.ImportReport;
+import com.example.capstone.DataAccess.DriverRepository;
+import com.example.capstone.DataAccess.UserRepository;
+import com.example.capstone.POJOS.Driver;
+import com.example.capstone.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class BulkImporterTest {
+
+    @Autowired
+    private BulkImporter bulkImporter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Test
+    void importsUsersFromCsv() throws IOException {
+        long users = userRepository.count();
+
+        ImportReport report = bulkImporter.importRows("users", csv("""
+                name,email
+                "Smith, Jane",jane@example.com
+                Bob,bob@example.com
+                """));
+
+        assertEquals(2, report.rowsRead());
+        assertEquals(2, report.rowsImported());
+        assertEquals(0, report.rowsRejected());
+        assertEquals(users + 2, userRepository.count());
+    }
+
+    @Test
+    void rejectsBadRowsAndImportsTheRest() throws IOException {
+        User first = saveUser();
+        User second = saveUser();
+
+        ImportReport report = bulkImporter.importRows("drivers", csv("""
+                userId,age,address,numberAccidents
+                %1$d,40,"12 Main St, Springfield",0
+                %2$d,41,%4$s,0
+                %2$d,forty,1 Elm St,0
+                %3$d,30,1 Oak St,0
+                %2$d,35,"The ""Old"" Mill",1
+                %2$d,35
+                """.formatted(first.getId(), second.getId(), Integer.MAX_VALUE, "x".repeat(300))));
+
+        assertEquals(6, report.rowsRead());
+        assertEquals(2, report.rowsImported());
+        assertEquals(4, report.rowsRejected());
+        assertEquals(List.of(2L, 3L, 4L, 6L), report.errors().stream().map(ImportError::row).toList());
+        assertEquals("User " + Integer.MAX_VALUE + " not found", report.errors().get(2).message());
+        // The address too long for its column failed the chunk, its rows were then inserted one at a time
+        Driver imported = driverRepository.getDriverByUserId(first.getId()).orElseThrow();
+        assertEquals("12 Main St, Springfield", imported.getAddress());
+        assertEquals("The \"Old\" Mill", driverRepository.getDriverByUserId(second.getId()).orElseThrow().getAddress());
+    }
+
+    @Test
+    void unknownKindIsRefused() {
+        assertFalse(BulkImporter.isKind("policies"));
+        assertThrows(IllegalArgumentException.class, () -> bulkImporter.importRows("policies", csv("id\n1\n")));
+    }
+
+    private static ImportRowReader csv(String contents) {
+        return ImportRowReader.csv(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setName("Import Test");
+        user.setEmail("import@example.com");
+        return userRepository.save(user);
+    }
+}
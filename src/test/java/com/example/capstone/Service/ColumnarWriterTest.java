@@ -0,0 +1,207 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.POJOS.DwellingType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarWriterTest {
+
+    private static final long[] IDS = {7, 8, 10, 3, 1_000_000};
+    private static final long[] VARINTS = {0, -1, 63, -64, Long.MIN_VALUE};
+    private static final long[] INT64S = {1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 0};
+    private static final long[] INT32S = {8_625_000, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+    private static final double[] FLOAT64S = {0.15, -2.5, Double.MAX_VALUE, 0, 1e-9};
+    private static final DwellingType[] DWELLINGS = {DwellingType.values()[0], null,
+            DwellingType.values()[DwellingType.values().length - 1], DwellingType.values()[0], null};
+
+    @Test
+    void roundTripsEveryEncodingAcrossRowGroups() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(out)) {
+            writeRows(channel, 2);
+        }
+
+        assertDecodes(out.toByteArray(), 3);
+    }
+
+    @Test
+    void roundTripsThroughGatheringChannel(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("policies.cpol");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            writeRows(channel, 10);
+        }
+
+        assertDecodes(Files.readAllBytes(file), 1);
+    }
+
+    @Test
+    void emptyFileHoldsHeaderAndEndMarker() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarWriter writer = new ColumnarWriter(Channels.newChannel(out), "empty", 4);
+        writer.deltaColumn("id");
+        writer.close();
+
+        Decoded decoded = decode(out.toByteArray());
+        assertEquals("empty", decoded.table);
+        assertEquals(List.of("id"), decoded.names);
+        assertEquals(0, decoded.rowGroups);
+        assertEquals(List.of(), decoded.values.get(0));
+    }
+
+    @Test
+    void rejectsMisusedColumns() throws IOException {
+        ColumnarWriter writer = new ColumnarWriter(Channels.newChannel(new ByteArrayOutputStream()), "policies", 1);
+        int id = writer.deltaColumn("id");
+        int premium = writer.int32Column("premium");
+        int dwelling = writer.dictionaryColumn("dwelling", DwellingType.class);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.put(id, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> writer.put(id, DwellingType.values()[0]));
+        assertThrows(IllegalArgumentException.class, () -> writer.put(dwelling, 1L));
+        assertThrows(ArithmeticException.class, () -> writer.put(premium, Integer.MAX_VALUE + 1L));
+
+        writer.put(id, 1L);
+        writer.put(premium, 1L);
+        writer.put(dwelling, (Enum<?>) null);
+        writer.endRow();
+        assertThrows(IllegalStateException.class, () -> writer.varintColumn("late"));
+    }
+
+    private static void writeRows(WritableByteChannel channel, int rowsPerGroup) throws IOException {
+        ColumnarWriter writer = new ColumnarWriter(channel, "policies", rowsPerGroup);
+        int id = writer.deltaColumn("id");
+        int varint = writer.varintColumn("varint");
+        int int64 = writer.int64Column("int64");
+        int int32 = writer.int32Column("int32");
+        int float64 = writer.float64Column("float64");
+        int dwelling = writer.dictionaryColumn("dwelling", DwellingType.class);
+        for (int row = 0; row < IDS.length; row++) {
+            writer.put(id, IDS[row]);
+            writer.put(varint, VARINTS[row]);
+            writer.put(int64, INT64S[row]);
+            writer.put(int32, INT32S[row]);
+            writer.put(float64, FLOAT64S[row]);
+            writer.put(dwelling, DWELLINGS[row]);
+            writer.endRow();
+        }
+        assertEquals(IDS.length, writer.getRowCount());
+        writer.close();
+    }
+
+    private static void assertDecodes(byte[] file, int rowGroups) {
+        Decoded decoded = decode(file);
+        assertEquals("policies", decoded.table);
+        assertEquals(List.of("id", "varint", "int64", "int32", "float64", "dwelling"), decoded.names);
+        assertEquals(rowGroups, decoded.rowGroups);
+        assertEquals(Arrays.stream(IDS).boxed().toList(), decoded.values.get(0));
+        assertEquals(Arrays.stream(VARINTS).boxed().toList(), decoded.values.get(1));
+        assertEquals(Arrays.stream(INT64S).boxed().toList(), decoded.values.get(2));
+        assertEquals(Arrays.stream(INT32S).boxed().toList(), decoded.values.get(3));
+        assertEquals(Arrays.stream(FLOAT64S).boxed().toList(), decoded.values.get(4));
+        assertEquals(Arrays.stream(DWELLINGS).map(d -> d != null ? d.name() : null).toList(), decoded.values.get(5));
+    }
+
+    /**
+     * Reads a file back with the layout documented on ColumnarWriter
+     */
+    private static Decoded decode(byte[] file) {
+        ByteBuffer in = ByteBuffer.wrap(file).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        in.get(magic);
+        assertEquals("CPOL", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, in.get());
+        Decoded decoded = new Decoded(string(in));
+        int columnCount = (int) varint(in);
+        List<Integer> encodings = new ArrayList<>();
+        List<List<String>> dictionaries = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            decoded.names.add(string(in));
+            int encoding = in.get();
+            encodings.add(encoding);
+            List<String> dictionary = new ArrayList<>();
+            if (encoding == 5) {
+                for (long size = varint(in); size > 0; size--) {
+                    dictionary.add(string(in));
+                }
+            }
+            dictionaries.add(dictionary);
+            decoded.values.add(new ArrayList<>());
+        }
+        for (long rows = varint(in); rows > 0; rows = varint(in)) {
+            decoded.rowGroups++;
+            for (int i = 0; i < columnCount; i++) {
+                int length = (int) varint(in);
+                ByteBuffer column = in.slice(in.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+                in.position(in.position() + length);
+                long previous = 0;
+                for (long row = 0; row < rows; row++) {
+                    Object value = switch (encodings.get(i)) {
+                        case 1 -> previous += unzigzag(varint(column));
+                        case 2 -> unzigzag(varint(column));
+                        case 3 -> column.getLong();
+                        case 4 -> column.getDouble();
+                        case 5 -> {
+                            int entry = Byte.toUnsignedInt(column.get());
+                            yield entry == 0 ? null : dictionaries.get(i).get(entry - 1);
+                        }
+                        case 6 -> (long) column.getInt();
+                        default -> fail("Unknown encoding " + encodings.get(i));
+                    };
+                    decoded.values.get(i).add(value);
+                }
+                assertFalse(column.hasRemaining());
+            }
+        }
+        assertFalse(in.hasRemaining());
+        return decoded;
+    }
+
+    private static long varint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String string(ByteBuffer in) {
+        byte[] bytes = new byte[(int) varint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Decoded {
+        private final String table;
+        private final List<String> names = new ArrayList<>();
+        private final List<List<Object>> values = new ArrayList<>();
+        private int rowGroups;
+
+        private Decoded(String table) {
+            this.table = table;
+        }
+    }
+}
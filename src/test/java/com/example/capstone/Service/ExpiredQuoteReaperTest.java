@@ -0,0 +1,117 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.*;
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import org.h2.tools.TriggerAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class ExpiredQuoteReaperTest {
+
+    @Autowired
+    private ExpiredQuoteReaper expiredQuoteReaper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private AutoRepository autoRepository;
+    @Autowired
+    private AutoQuoteRepository autoQuoteRepository;
+    @Autowired
+    private ArchivedAutoQuoteRepository archivedAutoQuoteRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restoreSystemClock() {
+        RatingClock.setInstance(new RatingClock(Clock.systemDefaultZone()));
+        ReflectionTestUtils.setField(expiredQuoteReaper, "batchSize", 500);
+    }
+
+    @Test
+    void archivesExpiredQuotesInBatches() {
+        AutoQuote expired = saveQuoteStartedDaysAgo(31);
+        AutoQuote alsoExpired = saveQuoteStartedDaysAgo(40);
+        AutoQuote endsToday = saveQuoteStartedDaysAgo(30);
+        ReflectionTestUtils.setField(expiredQuoteReaper, "batchSize", 1);
+
+        expiredQuoteReaper.reapAll();
+
+        assertFalse(autoQuoteRepository.existsById(expired.getId()));
+        assertFalse(autoQuoteRepository.existsById(alsoExpired.getId()));
+        assertEquals(ArchiveReason.EXPIRED,
+                archivedAutoQuoteRepository.findById(expired.getId()).orElseThrow().getArchiveReason());
+        assertTrue(autoQuoteRepository.existsById(endsToday.getId()));
+    }
+
+    @Test
+    void failedBatchLeavesQuotesLiveForNextRun() {
+        AutoQuote expired = saveQuoteStartedDaysAgo(35);
+        jdbcTemplate.execute("create trigger archive_down before insert on autoquote_archive for each row call \""
+                + FailInsert.class.getName() + "\"");
+        try {
+            // Logged, not thrown, so the reaper thread keeps its schedule
+            expiredQuoteReaper.reapAll();
+        } finally {
+            jdbcTemplate.execute("drop trigger archive_down");
+        }
+
+        assertTrue(autoQuoteRepository.existsById(expired.getId()));
+        assertFalse(archivedAutoQuoteRepository.existsById(expired.getId()));
+
+        expiredQuoteReaper.reapAll();
+
+        assertFalse(autoQuoteRepository.existsById(expired.getId()));
+        assertTrue(archivedAutoQuoteRepository.existsById(expired.getId()));
+    }
+
+    /**
+     * Fails every insert into the archive
+     */
+    public static class FailInsert extends TriggerAdapter {
+        @Override
+        public void fire(Connection connection, ResultSet oldRow, ResultSet newRow) throws SQLException {
+            throw new SQLException("Archive unavailable");
+        }
+    }
+
+    private AutoQuote saveQuoteStartedDaysAgo(int days) {
+        User user = new User();
+        user.setName("Reaper Test");
+        user.setEmail("reaper@example.com");
+        userRepository.save(user);
+        Driver driver = new Driver();
+        driver.setAge(40);
+        driver.setUser(user);
+        driverRepository.save(driver);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setYear(2020);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        autoRepository.save(vehicle);
+        Clock now = Clock.systemDefaultZone();
+        RatingClock.setInstance(new RatingClock(Clock.offset(now, Duration.ofDays(-days))));
+        AutoQuote quote = new AutoQuote.Builder(driver, vehicle, 10_000_000, 50_000, 75_000, 0.15, 86_250).build();
+        RatingClock.setInstance(new RatingClock(now));
+        quote.setUser(user);
+        return autoQuoteRepository.save(quote);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.capstone.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRowReaderTest {
+
+    @Test
+    void readsQuotedCsvFields() throws IOException {
+        ImportRowReader reader = csv("name,email,note\r\n"
+                + "\"Smith, Jane\",jane@example.com,\"She said \"\"hi\"\"\"\r\n"
+                + "Bob,bob@example.com,\"two\nlines\"\n");
+
+        assertEquals(Map.of("name", "Smith, Jane", "email", "jane@example.com", "note", "She said \"hi\""),
+                reader.next());
+        assertEquals(1, reader.getRowNumber());
+        assertEquals(Map.of("name", "Bob", "email", "bob@example.com", "note", "two\nlines"), reader.next());
+        assertEquals(2, reader.getRowNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void malformedCsvRowIsSkipped() throws IOException {
+        ImportRowReader reader = csv("""
+                name,email
+                Jane,jane@example.com,extra
+                Bob,bob@example.com
+                "Ann,ann@example.com
+                """);
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Expected 2 fields but found 3", failure.getMessage());
+        assertEquals(1, reader.getRowNumber());
+        assertEquals(Map.of("name", "Bob", "email", "bob@example.com"), reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void readsNdjsonSkippingBlankLines() throws IOException {
+        ImportRowReader reader = ImportRowReader.ndjson(stream("""
+                {"name": "Jane", "age": 40, "address": null}
+
+                {"name": "Bob"
+                [1, 2]
+                {"name": "Ann"}
+                """), new ObjectMapper());
+
+        assertEquals(Map.of("name", "Jane", "age", "40"), reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals(2, reader.getRowNumber());
+        IllegalArgumentException notObject = assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Expected a JSON object", notObject.getMessage());
+        assertEquals(Map.of("name", "Ann"), reader.next());
+        assertEquals(4, reader.getRowNumber());
+        assertNull(reader.next());
+    }
+
+    private static ImportRowReader csv(String contents) {
+        return ImportRowReader.csv(stream(contents));
+    }
+
+    private static ByteArrayInputStream stream(String contents) {
+        return new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.*;
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class PolicyRenewalJobTest {
+
+    @Autowired
+    private PolicyRenewalJob policyRenewalJob;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private AutoRepository autoRepository;
+    @Autowired
+    private AutoPolicyRepository autoPolicyRepository;
+    @Autowired
+    private ArchivedAutoPolicyRepository archivedAutoPolicyRepository;
+    @Autowired
+    private RenewalCheckpointRepository checkpointRepository;
+
+    @Test
+    void renewsPoliciesInWindowOnce() {
+        AutoPolicy longLapsed = savePolicyEndingIn(-400);
+        AutoPolicy pastGrace = savePolicyEndingIn(-Policy.RENEWAL_GRACE_DAYS - 1);
+        AutoPolicy lapsed = savePolicyEndingIn(-10);
+        AutoPolicy due = savePolicyEndingIn(30);
+        AutoPolicy notDue = savePolicyEndingIn(90);
+
+        policyRenewalJob.renewAll();
+
+        assertTrue(autoPolicyRepository.existsById(longLapsed.getId()));
+        assertTrue(autoPolicyRepository.existsById(pastGrace.getId()));
+        assertTrue(autoPolicyRepository.existsById(notDue.getId()));
+        assertEquals(0, renewalsOf(pastGrace).size());
+        // The renew endpoint refuses it as well
+        assertSame(pastGrace, AutoPolicyFactory.renewAutoPolicy(pastGrace));
+        assertEquals(1, renewalsOf(lapsed).size());
+        assertEquals(1, renewalsOf(due).size());
+        assertEquals(ArchiveReason.SUPERSEDED,
+                archivedAutoPolicyRepository.findById(lapsed.getId()).orElseThrow().getArchiveReason());
+        assertTrue(renewalsOf(lapsed).get(0).getEndDate().isAfter(RatingClock.getInstance().today()));
+
+        // The renewals end a year later, the next run leaves them alone
+        long archived = archivedAutoPolicyRepository.count();
+        policyRenewalJob.renewAll();
+
+        assertEquals(archived, archivedAutoPolicyRepository.count());
+        assertTrue(autoPolicyRepository.existsById(renewalsOf(lapsed).get(0).getId()));
+        assertTrue(autoPolicyRepository.existsById(longLapsed.getId()));
+    }
+
+    @Test
+    void resumesAfterCheckpoint() {
+        AutoPolicy processed = savePolicyEndingIn(20);
+        AutoPolicy next = savePolicyEndingIn(20);
+        LocalDate today = RatingClock.getInstance().today();
+        RenewalCheckpoint checkpoint = new RenewalCheckpoint("autopolicy",
+                today.minusDays(Policy.RENEWAL_GRACE_DAYS), today.plusDays(Policy.RENEWAL_WINDOW_DAYS));
+        checkpoint.advance(processed.getEndDate(), processed.getId(), 1, 0);
+        checkpointRepository.save(checkpoint);
+
+        policyRenewalJob.renewAll();
+
+        assertTrue(autoPolicyRepository.existsById(processed.getId()));
+        assertFalse(autoPolicyRepository.existsById(next.getId()));
+        assertEquals(1, renewalsOf(next).size());
+        RenewalCheckpoint completed = checkpointRepository.findById("autopolicy").orElseThrow();
+        assertTrue(completed.isCompleted());
+        assertEquals(2, completed.getRenewed());
+    }
+
+    private List<AutoPolicy> renewalsOf(AutoPolicy policy) {
+        return StreamSupport.stream(autoPolicyRepository.findAll().spliterator(), false)
+                .filter(p -> p.getDriver().getId().equals(policy.getDriver().getId()))
+                .filter(p -> p.getStartDate().equals(policy.getEndDate()))
+                .toList();
+    }
+
+    private AutoPolicy savePolicyEndingIn(int days) {
+        User user = new User();
+        user.setName("Renewal Test");
+        user.setEmail("renewal@example.com");
+        userRepository.save(user);
+        Driver driver = new Driver();
+        driver.setAge(40);
+        driver.setUser(user);
+        driverRepository.save(driver);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setYear(2020);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        autoRepository.save(vehicle);
+        AutoPolicy policy = new AutoPolicy.Builder(driver, vehicle, 10_000_000, 50_000, 75_000, 0.15, 86_250)
+                .startDate(RatingClock.getInstance().today().plusDays(days).minusYears(1)).build();
+        policy.setUser(user);
+        return autoPolicyRepository.save(policy);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.Controller.MainController;
+import com.example.capstone.DataAccess.*;
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.h2.tools.TriggerAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class WriteBehindQuoteBufferTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private AutoRepository autoRepository;
+    @Autowired
+    private AutoQuoteRepository autoQuoteRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MainController mainController;
+    @TempDir
+    private Path deadLetters;
+    private WriteBehindQuoteBuffer<AutoQuote> buffer;
+
+    @AfterEach
+    void closeBuffer() throws InterruptedException {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    @Test
+    void insertsQuotesUnderTheirReservedIds() {
+        buffer = newBuffer();
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            // More than one block of ids
+            ids.add(buffer.add(newQuote()));
+        }
+        Integer last = buffer.add(newQuote());
+        ids.add(last);
+        assertEquals(61, ids.size());
+        assertTrue(buffer.find(last).isPresent() || autoQuoteRepository.existsById(last));
+
+        ids.forEach(buffer::awaitInserted);
+
+        assertEquals(0, buffer.size());
+        ids.forEach(id -> assertTrue(autoQuoteRepository.existsById(id)));
+        // A quote saved the ordinary way draws from the same id space
+        assertFalse(ids.contains(autoQuoteRepository.save(newQuote()).getId()));
+        assertEquals(0, buffer.getDeadLettered());
+        assertFalse(Files.exists(buffer.getDeadLetterFile()));
+    }
+
+    @Test
+    void transientFailureIsRetried() {
+        buffer = newBuffer();
+        // The batch insert and the first single insert fail
+        FailTransiently.remaining.set(2);
+        jdbcTemplate.execute("create trigger quote_deadlock before insert on autoquote for each row call \""
+                + FailTransiently.class.getName() + "\"");
+        Integer id;
+        try {
+            id = buffer.add(newQuote());
+            buffer.awaitInserted(id);
+        } finally {
+            jdbcTemplate.execute("drop trigger quote_deadlock");
+        }
+
+        assertTrue(autoQuoteRepository.existsById(id));
+        assertEquals(1, buffer.getRetried());
+        assertEquals(0, buffer.getDeadLettered());
+    }
+
+    @Test
+    void failedQuoteIsDeadLetteredNotDropped() throws Exception {
+        buffer = newBuffer();
+        Integer good = buffer.add(newQuote());
+        AutoQuote bad = newQuote();
+        User missing = new User();
+        missing.setId(Integer.MAX_VALUE);
+        // Fails on the foreign key, which no retry fixes
+        bad.setUser(missing);
+        Integer id = buffer.add(bad);
+
+        assertFalse(buffer.awaitInserted(id));
+        assertTrue(buffer.awaitInserted(good));
+        Object controllerBuffer = ReflectionTestUtils.getField(mainController, "autoQuoteBuffer");
+        ReflectionTestUtils.setField(mainController, "autoQuoteBuffer", buffer);
+        try {
+            assertEquals("Auto quote not found.", mainController.deleteAutoQuote(missing.getId(), id));
+        } finally {
+            ReflectionTestUtils.setField(mainController, "autoQuoteBuffer", controllerBuffer);
+        }
+
+        assertTrue(autoQuoteRepository.existsById(good));
+        assertFalse(autoQuoteRepository.existsById(id));
+        assertEquals(0, buffer.getRetried());
+        assertEquals(1, buffer.getDeadLettered());
+        List<String> lines = Files.readAllLines(buffer.getDeadLetterFile());
+        assertEquals(1, lines.size());
+        assertEquals(id, objectMapper.readTree(lines.get(0)).get("id").asInt());
+        assertEquals(bad.getVehicle().getId(),
+                objectMapper.readTree(lines.get(0)).get("quote").get("vehicle").get("id").asInt());
+    }
+
+    /**
+     * Fails inserts with a deadlock error until remaining runs out
+     */
+    public static class FailTransiently extends TriggerAdapter {
+        static final AtomicInteger remaining = new AtomicInteger();
+
+        @Override
+        public void fire(Connection connection, ResultSet oldRow, ResultSet newRow) throws SQLException {
+            if (remaining.getAndDecrement() > 0) {
+                throw new SQLException("Deadlock detected", "40001", 40001);
+            }
+        }
+    }
+
+    private WriteBehindQuoteBuffer<AutoQuote> newBuffer() {
+        return new WriteBehindQuoteBuffer<>("test-flusher", AutoQuote.class, entityManager, transactionManager,
+                100, Duration.ofMillis(20), 50, 3, Duration.ofMillis(10), objectMapper, deadLetters);
+    }
+
+    private AutoQuote newQuote() {
+        User user = new User();
+        user.setName("Buffer Test");
+        user.setEmail("buffer@example.com");
+        userRepository.save(user);
+        Driver driver = new Driver();
+        driver.setAge(40);
+        driver.setUser(user);
+        driverRepository.save(driver);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setYear(2020);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        autoRepository.save(vehicle);
+        AutoQuote quote = new AutoQuote.Builder(driver, vehicle, 10_000_000, 50_000, 75_000, 0.15, 86_250).build();
+        quote.setUser(user);
+        return quote;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.capstone.Service;
+
+import com.example.capstone.DataAccess.*;
+import com.example.capstone.POJOS.*;
+import com.example.capstone.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class WriteCombinerTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriverRepository driverRepository;
+    @Autowired
+    private AutoRepository autoRepository;
+    @Autowired
+    private AutoQuoteRepository autoQuoteRepository;
+    private WriteCombiner<AutoQuote> combiner;
+
+    @AfterEach
+    void closeCombiner() throws InterruptedException {
+        if (combiner != null) {
+            combiner.close();
+        }
+    }
+
+    @Test
+    void concurrentSavesShareOneTransaction() {
+        combiner = newCombiner();
+        List<AutoQuote> quotes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            quotes.add(newQuote());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long transactions = statistics.getTransactionCount();
+
+        List<AutoQuote> saved = saveConcurrently(quotes).stream().map(CompletableFuture::join).toList();
+
+        assertEquals(1, statistics.getTransactionCount() - transactions);
+        for (int i = 0; i < quotes.size(); i++) {
+            assertSame(quotes.get(i), saved.get(i));
+            assertNotNull(saved.get(i).getId());
+            assertTrue(autoQuoteRepository.existsById(saved.get(i).getId()));
+        }
+    }
+
+    @Test
+    void failedInsertOnlyFailsItsCaller() {
+        combiner = newCombiner();
+        List<AutoQuote> quotes = new ArrayList<>(List.of(newQuote(), newQuote(), newQuote()));
+        User missing = new User();
+        missing.setId(Integer.MAX_VALUE);
+        // Fails the batch on the foreign key, then only its own insert
+        quotes.get(1).setUser(missing);
+
+        List<CompletableFuture<AutoQuote>> results = saveConcurrently(quotes);
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> results.get(1).join());
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        assertTrue(autoQuoteRepository.existsById(results.get(0).join().getId()));
+        assertTrue(autoQuoteRepository.existsById(results.get(2).join().getId()));
+    }
+
+    @Test
+    void saveAfterCloseInsertsDirectly() throws InterruptedException {
+        combiner = newCombiner();
+        combiner.close();
+
+        AutoQuote saved = combiner.save(newQuote());
+
+        assertTrue(autoQuoteRepository.existsById(saved.getId()));
+    }
+
+    private List<CompletableFuture<AutoQuote>> saveConcurrently(List<AutoQuote> quotes) {
+        List<CompletableFuture<AutoQuote>> results = new ArrayList<>();
+        for (AutoQuote quote : quotes) {
+            results.add(CompletableFuture.supplyAsync(() -> combiner.save(quote)));
+        }
+        return results;
+    }
+
+    private WriteCombiner<AutoQuote> newCombiner() {
+        // A window long enough for every concurrent save of a test to join the first one
+        return new WriteCombiner<>("test-writer", autoQuoteRepository, transactionManager,
+                autoQuote -> autoQuote.setId(null), Duration.ofMillis(500), 50);
+    }
+
+    private AutoQuote newQuote() {
+        User user = new User();
+        user.setName("Combiner Test");
+        user.setEmail("combiner@example.com");
+        userRepository.save(user);
+        Driver driver = new Driver();
+        driver.setAge(40);
+        driver.setUser(user);
+        driverRepository.save(driver);
+        Vehicle vehicle = new Vehicle();
+        vehicle.setYear(2020);
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setUser(user);
+        autoRepository.save(vehicle);
+        AutoQuote quote = new AutoQuote.Builder(driver, vehicle, 10_000_000, 50_000, 75_000, 0.15, 86_250).build();
+        quote.setUser(user);
+        return quote;
+    }
+}
@@ -0,0 +1,64 @@
+-- The schema and rows the baseline code left in a database through ddl-auto=update, before money was held
+-- in cents and before quote and policy dates were stored. Upgrades start from here
+create sequence user_seq start with 101 increment by 50;
+create sequence auto_seq start with 51 increment by 50;
+create sequence driver_seq start with 51 increment by 50;
+create sequence home_seq start with 51 increment by 50;
+create sequence homeowner_seq start with 51 increment by 50;
+create sequence autoquote_seq start with 101 increment by 50;
+create sequence homequote_seq start with 101 increment by 50;
+create sequence autopolicy_seq start with 51 increment by 50;
+create sequence homepolicy_seq start with 51 increment by 50;
+
+create table user (id integer not null, email varchar(255), name varchar(255), primary key (id));
+create table auto (id integer not null, make varchar(255), model varchar(255), year integer not null,
+    user_id integer, primary key (id));
+create table driver (id integer not null, address varchar(255), age integer not null,
+    number_accidents integer not null, user_id integer, primary key (id));
+create table home (id integer not null, date_built date, dwelling_type smallint, heating_type smallint,
+    location smallint, value float(53) not null, user_id integer, primary key (id));
+create table homeowner (id integer not null, address varchar(255), age integer not null, user_id integer,
+    primary key (id));
+create table autoquote (id integer not null, base_premium float(53) not null, deductible float(53) not null,
+    liability_limit float(53) not null, tax float(53) not null, total_premium float(53) not null,
+    driver_id integer, user_id integer, vehicle_id integer, primary key (id));
+create table autopolicy (id integer not null, base_premium float(53) not null, deductible float(53) not null,
+    liability_limit float(53) not null, tax float(53) not null, total_premium float(53) not null,
+    driver_id integer, user_id integer, vehicle_id integer, primary key (id));
+create table homequote (id integer not null, base_premium float(53) not null,
+    contents_deductible float(53) not null, contents_insurance_limit float(53) not null,
+    deductible float(53) not null, liability_limit float(53) not null, tax float(53) not null,
+    total_premium float(53) not null, home_id integer, home_owner_id integer, user_id integer, primary key (id));
+create table homepolicy (id integer not null, base_premium float(53) not null,
+    contents_deductible float(53) not null, contents_insurance_limit float(53) not null,
+    deductible float(53) not null, liability_limit float(53) not null, tax float(53) not null,
+    total_premium float(53) not null, home_id integer, home_owner_id integer, user_id integer, primary key (id));
+
+alter table auto add constraint fk_auto_user foreign key (user_id) references user (id);
+alter table driver add constraint fk_driver_user foreign key (user_id) references user (id);
+alter table home add constraint fk_home_user foreign key (user_id) references user (id);
+alter table homeowner add constraint fk_homeowner_user foreign key (user_id) references user (id);
+alter table autoquote add constraint fk_autoquote_driver foreign key (driver_id) references driver (id);
+alter table autoquote add constraint fk_autoquote_user foreign key (user_id) references user (id);
+alter table autoquote add constraint fk_autoquote_vehicle foreign key (vehicle_id) references auto (id);
+alter table autopolicy add constraint fk_autopolicy_driver foreign key (driver_id) references driver (id);
+alter table autopolicy add constraint fk_autopolicy_user foreign key (user_id) references user (id);
+alter table autopolicy add constraint fk_autopolicy_vehicle foreign key (vehicle_id) references auto (id);
+alter table homequote add constraint fk_homequote_home foreign key (home_id) references home (id);
+alter table homequote add constraint fk_homequote_owner foreign key (home_owner_id) references homeowner (id);
+alter table homequote add constraint fk_homequote_user foreign key (user_id) references user (id);
+alter table homepolicy add constraint fk_homepolicy_home foreign key (home_id) references home (id);
+alter table homepolicy add constraint fk_homepolicy_owner foreign key (home_owner_id) references homeowner (id);
+alter table homepolicy add constraint fk_homepolicy_user foreign key (user_id) references user (id);
+
+insert into user values (1, 'legacy@example.com', 'Legacy'), (2, 'legacy2@example.com', 'Legacy Two');
+insert into auto values (1, 'Honda', 'Civic', 2018, 1);
+insert into driver values (1, '1 Main St', 45, 0, 1);
+insert into home values (1, date '2000-01-01', 0, 3, 0, 350000.0, 1);
+insert into homeowner values (1, '1 Main St', 45, 1);
+insert into autoquote values (1, 750.0, 500.0, 1000000.0, 1.15, 1293.75, 1, 1, 1),
+    (2, 17.38, 0.1, 0.29, 1.15, 19.99, 1, 1, 1);
+insert into autopolicy values (1, 750.0, 500.0, 1000000.0, 1.15, 1293.75, 1, 1, 1);
+insert into homequote values (1, 500.0, 500.0, 50000.0, 1000.0, 2000000.0, 1.15, 1006.25, 1, 1, 1),
+    (2, 500.0, 500.0, 50000.0, 1000.0, 2000000.0, 1.15, 1006.25, 1, 1, 1);
+insert into homepolicy values (1, 500.0, 500.0, 50000.0, 1000.0, 2000000.0, 1.15, 1006.25, 1, 1, 1);